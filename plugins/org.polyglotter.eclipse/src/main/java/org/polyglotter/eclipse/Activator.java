@@ -57,6 +57,8 @@ public class Activator extends AbstractUIPlugin {
 
     // private Polyglotter polyglotter;
 
+    private final ResourceRegistry resources = new ResourceRegistry();
+
     /**
      * @param path
      *        path to image
@@ -69,6 +71,13 @@ public class Activator extends AbstractUIPlugin {
         return getImageRegistry().get( path );
     }
 
+    /**
+     * @return the registry of colors, fonts, and images shared by this plug-in's widgets
+     */
+    public ResourceRegistry resources() {
+        return resources;
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -91,6 +100,7 @@ public class Activator extends AbstractUIPlugin {
         // Close Polyglotter
         // if ( polyglotter != null ) polyglotter.close();
         // Stop plug-in
+        resources.dispose();
         plugin = null;
         super.stop( context );
     }
@@ -72,13 +72,15 @@ public final class EclipseI18n {
     public static final I18n focusTreeNextPathButtonToolTip = new I18n( "Show next path button" );
     public static final I18n focusTreeParentNameToolTip =
         new I18n( "%s\n\nThe parent of the children in this column.\n" + focusTreeHeaderToolTip );
+    public static final I18n focusTreePathBarToolTip =
+        new I18n( "Double-click to show an item by entering its qualified name, e.g., its path" );
     public static final I18n focusTreePathButtonToolTip = new I18n( "%s\n\nClick to scroll this column visible" );
     public static final I18n focusTreePreviousPathButtonToolTip = new I18n( "Show previous path button" );
     public static final I18n focusTreeResizeColumnToolTip =
         new I18n( "Change this column's size by dragging.\n" +
                   "Double-click to expand column to show complete text in all cells." );
     public static final I18n focusTreeRotateToolTip = new I18n( "Rotate this tree 90°" );
-    public static final I18n focusTreeSearchToolTip = new I18n( "Search this tree" );
+    public static final I18n focusTreeSearchToolTip = new I18n( "Search this tree for items whose names start with the entered text" );
     public static final I18n focusTreeShowColumnToolTip = new I18n( "Show the \"%s\" column" );
     public static final I18n focusTreeZoomToolTip = new I18n( "Zoom this tree in or out" );
 
@@ -89,6 +91,18 @@ public final class EclipseI18n {
     public static final I18n focusTreeDuplicateMenuItem = new I18n( "Duplicate tree" );
     public static final I18n focusTreeFocusMenuItem = new I18n( "Scroll to focus cell of focus column" );
 
+    // Progress
+    public static final I18n focusTreeLoadingChildren = new I18n( "Loading..." );
+    public static final I18n focusTreeLoadingChildrenJob = new I18n( "Loading children of \"%s\"" );
+    public static final I18n focusTreeLoadingCapabilitiesJob = new I18n( "Loading capabilities of items" );
+    public static final I18n focusTreeIndexingJob = new I18n( "Indexing the names of items under \"%s\"" );
+    public static final I18n fileSystemModelCheckingFoldersJob = new I18n( "Checking shown folders for changes" );
+
+    // Search
+    public static final I18n focusTreeSearchMessage = new I18n( "Search" );
+    public static final I18n focusTreeSearchResults = new I18n( "%d matches" );
+    public static final I18n focusTreeSearchResultsIndexing = new I18n( "%d matches so far (indexing...)" );
+
     // Exceptions
     public static final I18n focusTreeColumnNotFound = new I18n( "Column not found" );
     public static final I18n focusTreeNullReturnedFromCreateChildAt =
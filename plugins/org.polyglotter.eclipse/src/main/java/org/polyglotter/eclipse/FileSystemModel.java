@@ -0,0 +1,769 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.widgets.Display;
+import org.polyglotter.common.CheckArg;
+import org.polyglotter.common.PolyglotterException;
+import org.polyglotter.eclipse.focustree.FocusTree;
+import org.polyglotter.eclipse.focustree.FocusTree.Model;
+
+/**
+ * A {@link Model model} of a file system, whose items are {@link Path paths}. The {@link BasicFileAttributes attributes} of a
+ * folder's children are read once, while its children are listed, and cached along with the children until {@link #invalidate(Path)
+ * invalidated}, so the many attribute requests made while painting cells don't each require a file system call. If {@link
+ * #watch(FocusTree) watching} a tree, changes made to the folders shown in the tree's columns by other applications are applied
+ * to the cache and reported to {@link #addListener(org.polyglotter.eclipse.focustree.FocusTree.ModelListener) listeners} as they
+ * occur.
+ */
+public class FileSystemModel extends Model {
+
+    static final RGB FOLDER_COLOR = new RGB( 0, 64, 128 );
+
+    /**
+     * The period, in milliseconds, without file system changes that ends a burst of changes
+     */
+    static final long BURST_QUIET_PERIOD = 100;
+
+    /**
+     * The maximum period, in milliseconds, over which file system changes are coalesced before being applied
+     */
+    static final long MAXIMUM_BURST_PERIOD = 1000;
+
+    final Map< Path, BasicFileAttributes > attributesByPath = new ConcurrentHashMap<>();
+    final Map< Path, Path[] > childrenByPath = new ConcurrentHashMap<>();
+    final Map< Path, Boolean > hasChildrenByPath = new ConcurrentHashMap<>();
+    final Map< Path, Boolean > writableByPath = new ConcurrentHashMap<>();
+    final Map< Path, WatchKey > keysByFolder = new ConcurrentHashMap<>();
+    /**
+     * The number of columns showing each folder, in all trees using this model, e.g., duplicates of the watched tree
+     */
+    final Map< Path, Integer > columnCountsByFolder = new HashMap<>();
+    boolean treeDisposed;
+    Display display;
+    WatchService watchService;
+    FolderChecker folderChecker;
+
+    /**
+     * Applies the supplied changes, read by the watcher thread, to the cache and notifies listeners. Must be called from the UI
+     * thread.
+     * 
+     * @param changesByFolder
+     *        the attributes, or <code>null</code> for deleted paths, of changed paths, by the watched folder containing them
+     * @param overflowedFolders
+     *        watched folders for which changes were lost
+     */
+    void applyChanges( final Map< Path, Map< Path, BasicFileAttributes > > changesByFolder,
+                       final Set< Path > overflowedFolders ) {
+        for ( final Entry< Path, Map< Path, BasicFileAttributes > > entry : changesByFolder.entrySet() ) {
+            final Path folder = entry.getKey();
+            // Ignore folders no longer shown
+            if ( !keysByFolder.containsKey( folder ) ) continue;
+            final Path[] children = childrenByPath.get( folder );
+            if ( children == null || overflowedFolders.contains( folder ) ) {
+                // Children shown in the folder's column can't be compared to what changed, so reload them
+                invalidate( folder );
+                fireChildrenChanged( folder );
+            } else applyChanges( folder, new ArrayList<>( Arrays.asList( children ) ), entry.getValue() );
+        }
+    }
+
+    private void applyChanges( final Path folder,
+                               final List< Path > children,
+                               final Map< Path, BasicFileAttributes > changes ) {
+        final List< Path > removedPaths = new ArrayList<>();
+        final List< Path > createdPaths = new ArrayList<>();
+        for ( final Entry< Path, BasicFileAttributes > entry : changes.entrySet() ) {
+            final Path path = entry.getKey();
+            final BasicFileAttributes attributes = entry.getValue();
+            final int index = children.indexOf( path );
+            if ( index < 0 ) {
+                if ( attributes != null ) createdPaths.add( path );
+            } else if ( attributes == null ) removedPaths.add( path );
+            else {
+                attributesByPath.put( path, attributes );
+                hasChildrenByPath.remove( path );
+                writableByPath.remove( path );
+                fireItemChanged( folder, index, path );
+            }
+        }
+        // Treat a removed and created path for the same file as a rename, so the file keeps its position
+        for ( final Iterator< Path > removedIter = removedPaths.iterator(); removedIter.hasNext(); ) {
+            final Path removedPath = removedIter.next();
+            final BasicFileAttributes removedAttributes = attributesByPath.get( removedPath );
+            final Object fileKey = removedAttributes == null ? null : removedAttributes.fileKey();
+            if ( fileKey == null ) continue;
+            for ( final Iterator< Path > createdIter = createdPaths.iterator(); createdIter.hasNext(); ) {
+                final Path createdPath = createdIter.next();
+                if ( fileKey.equals( changes.get( createdPath ).fileKey() ) ) {
+                    removedIter.remove();
+                    createdIter.remove();
+                    final int index = children.indexOf( removedPath );
+                    children.set( index, createdPath );
+                    invalidate( removedPath );
+                    attributesByPath.put( createdPath, changes.get( createdPath ) );
+                    setChildren( folder, children );
+                    fireItemChanged( folder, index, createdPath );
+                    break;
+                }
+            }
+        }
+        for ( final Path removedPath : removedPaths ) {
+            final int index = children.indexOf( removedPath );
+            children.remove( index );
+            invalidate( removedPath );
+            setChildren( folder, children );
+            fireItemsRemoved( folder, index, 1 );
+        }
+        if ( !createdPaths.isEmpty() ) {
+            final int index = children.size();
+            for ( final Path createdPath : createdPaths ) {
+                children.add( createdPath );
+                attributesByPath.put( createdPath, changes.get( createdPath ) );
+            }
+            setChildren( folder, children );
+            fireItemsInserted( folder, index, createdPaths.toArray() );
+        }
+    }
+
+    /**
+     * @param path
+     *        a path in the tree
+     * @return the cached attributes of the supplied path, reading them if necessary, or <code>null</code> if the path no longer
+     *         exists or its attributes can't be read
+     */
+    BasicFileAttributes attributes( final Path path ) {
+        BasicFileAttributes attributes = attributesByPath.get( path );
+        if ( attributes == null ) {
+            try {
+                attributes = Files.readAttributes( path, BasicFileAttributes.class );
+                attributesByPath.put( path, attributes );
+            } catch ( final IOException e ) {
+                return null;
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#cellBackgroundColor(java.lang.Object)
+     */
+    @Override
+    public Color cellBackgroundColor( final Object item ) {
+        return folder( item ) ? Activator.plugin().resources().color( FOLDER_COLOR ) : DEFAULT_CELL_BACKGROUND_COLOR;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#childCount(java.lang.Object)
+     */
+    @Override
+    public int childCount( final Object item ) {
+        try {
+            return children( item ).length;
+        } catch ( final PolyglotterException e ) {
+            return 0;
+        }
+    }
+
+    /**
+     * Lists the children of the supplied folder in a single pass, reading and caching each child's attributes as it's listed.
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#children(java.lang.Object)
+     */
+    @Override
+    public Object[] children( final Object item ) throws PolyglotterException {
+        final Path folder = ( Path ) item;
+        Path[] children = childrenByPath.get( folder );
+        if ( children != null ) return children;
+        if ( !folder( folder ) ) return NO_CHILDREN;
+        try {
+            children = list( folder );
+        } catch ( final AccessDeniedException | NoSuchFileException e ) {
+            return NO_CHILDREN;
+        } catch ( final IOException e ) {
+            throw new PolyglotterException( e );
+        }
+        childrenByPath.put( folder, children );
+        hasChildrenByPath.put( folder, children.length > 0 );
+        return children;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#childrenAddable(java.lang.Object)
+     */
+    @Override
+    public boolean childrenAddable( final Object item ) {
+        return folder( item ) && writable( ( Path ) item );
+    }
+
+    /**
+     * @return the index of the supplied child within the supplied folder's cached children, or -1 if they aren't cached
+     */
+    private int childIndex( final Path folder,
+                            final Path child ) {
+        final Path[] children = childrenByPath.get( folder );
+        return children == null ? -1 : Arrays.asList( children ).indexOf( child );
+    }
+
+    private void childReplaced( final Path folder,
+                                final Path oldChild,
+                                final Path newChild ) {
+        final Path[] children = childrenByPath.get( folder );
+        if ( children == null ) return;
+        final List< Path > childList = new ArrayList<>( Arrays.asList( children ) );
+        final int index = oldChild == null ? -1 : childList.indexOf( oldChild );
+        if ( newChild == null ) {
+            if ( index >= 0 ) childList.remove( index );
+        } else if ( index >= 0 ) childList.set( index, newChild );
+        else childList.add( newChild );
+        setChildren( folder, childList );
+    }
+
+    /**
+     * Starts watching the supplied folder if {@link #watch(FocusTree) watching} a tree. If the folder's children were listed
+     * before it was watched, they're re-listed in the background, and listeners notified if they've changed.
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#columnAdded(java.lang.Object)
+     */
+    @Override
+    public void columnAdded( final Object item ) {
+        if ( watchService == null || !folder( item ) ) return;
+        final Path folder = ( Path ) item;
+        // Watch each folder once, however many trees show it
+        final Integer columnCount = columnCountsByFolder.get( folder );
+        columnCountsByFolder.put( folder, columnCount == null ? 1 : columnCount + 1 );
+        if ( columnCount != null ) return;
+        try {
+            keysByFolder.put( folder, folder.register( watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY ) );
+        } catch ( final IOException | ClosedWatchServiceException e ) {
+            // Changes to folders that can't be watched simply won't be shown
+            return;
+        }
+        // Changes made while the folder wasn't watched, e.g., after its children were prefetched or its column was removed,
+        // weren't reported
+        final Path[] children = childrenByPath.get( folder );
+        if ( children != null ) folderChecker.check( folder, children );
+    }
+
+    /**
+     * Stops watching the supplied folder once no tree shows it. Its cached children are kept, e.g., for a restored column, so they
+     * may become stale until the folder is watched again.
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#columnRemoved(java.lang.Object)
+     */
+    @Override
+    public void columnRemoved( final Object item ) {
+        final Integer columnCount = columnCountsByFolder.get( item );
+        if ( columnCount == null ) return;
+        if ( columnCount > 1 ) {
+            columnCountsByFolder.put( ( Path ) item, columnCount - 1 );
+            return;
+        }
+        columnCountsByFolder.remove( item );
+        final WatchKey key = keysByFolder.remove( item );
+        if ( key != null ) key.cancel();
+        stopWatchingIfUnused();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#createChildAt(java.lang.Object, int)
+     */
+    @Override
+    public Object createChildAt( final Object item,
+                                 final int index ) throws PolyglotterException {
+        final Path folder = ( Path ) item;
+        try {
+            // TODO handle file exists
+            final Path child = Files.createFile( folder.resolve( "Unnamed" ) );
+            childReplaced( folder, null, child );
+            // New files are appended rather than inserted at the requested index
+            final Path[] children = childrenByPath.get( folder );
+            if ( children != null ) fireItemsInserted( folder, children.length - 1, child );
+            return child;
+        } catch ( final FileAlreadyExistsException e ) {
+            throw new PolyglotterException( EclipseI18n.focusTreeUnableToCreateFile, folder, index );
+        } catch ( final IOException e ) {
+            throw new PolyglotterException( e );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#deletable(java.lang.Object)
+     */
+    @Override
+    public boolean deletable( final Object item ) {
+        return writable( ( Path ) item );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#delete(java.lang.Object)
+     */
+    @Override
+    public boolean delete( final Object item ) {
+        final Path path = ( Path ) item;
+        try {
+            Files.delete( path );
+        } catch ( final IOException e ) {
+            return false;
+        }
+        final Path folder = path.getParent();
+        if ( folder == null ) return true;
+        final int index = childIndex( folder, path );
+        childReplaced( folder, path, null );
+        invalidate( path );
+        if ( index >= 0 ) fireItemsRemoved( folder, index, 1 );
+        return true;
+    }
+
+    boolean folder( final Object item ) {
+        final BasicFileAttributes attributes = attributes( ( Path ) item );
+        return attributes != null && attributes.isDirectory();
+    }
+
+    /**
+     * Determines if the supplied folder has children by reading only its first entry, unless its children have already been
+     * listed.
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#hasChildren(java.lang.Object)
+     */
+    @Override
+    public boolean hasChildren( final Object item ) throws PolyglotterException {
+        final Path folder = ( Path ) item;
+        Boolean hasChildren = hasChildrenByPath.get( folder );
+        if ( hasChildren != null ) return hasChildren;
+        if ( !folder( folder ) ) return false;
+        try ( DirectoryStream< Path > stream = Files.newDirectoryStream( folder ) ) {
+            hasChildren = stream.iterator().hasNext();
+        } catch ( final AccessDeniedException | NoSuchFileException e ) {
+            hasChildren = false;
+        } catch ( final IOException e ) {
+            throw new PolyglotterException( e );
+        }
+        hasChildrenByPath.put( folder, hasChildren );
+        return hasChildren;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#icon(java.lang.Object)
+     */
+    @Override
+    public Image icon( final Object item ) {
+        return Activator.plugin().image( folder( item ) ? "folder.gif" : "file.gif" );
+    }
+
+    /**
+     * Discards the cached attributes and children of the supplied path, along with the cached attributes of its children, so they
+     * are re-read the next time they're requested.
+     * 
+     * @param path
+     *        a path in the tree
+     */
+    public void invalidate( final Path path ) {
+        final Path[] children = childrenByPath.remove( path );
+        if ( children != null ) for ( final Path child : children ) {
+            attributesByPath.remove( child );
+            writableByPath.remove( child );
+        }
+        attributesByPath.remove( path );
+        hasChildrenByPath.remove( path );
+        writableByPath.remove( path );
+    }
+
+    /**
+     * Discards everything cached by this model
+     */
+    public void invalidateAll() {
+        attributesByPath.clear();
+        childrenByPath.clear();
+        hasChildrenByPath.clear();
+        writableByPath.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#itemWithQualifiedName(java.lang.String)
+     */
+    @Override
+    public Object itemWithQualifiedName( final String qualifiedName ) {
+        try {
+            final Path path = Paths.get( qualifiedName );
+            return Files.exists( path ) ? path : null;
+        } catch ( final InvalidPathException e ) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the children of the supplied folder, whose attributes are cached as they're read
+     */
+    private Path[] list( final Path folder ) throws IOException {
+        final List< Path > children = new ArrayList<>();
+        try ( DirectoryStream< Path > stream = Files.newDirectoryStream( folder ) ) {
+            for ( final Path child : stream ) {
+                children.add( child );
+                try {
+                    attributesByPath.put( child, Files.readAttributes( child, BasicFileAttributes.class ) );
+                } catch ( final IOException ignored ) {
+                    // Broken links, etc., are treated as files
+                }
+            }
+        }
+        return children.toArray( new Path[ children.size() ] );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#name(java.lang.Object)
+     */
+    @Override
+    public String name( final Object item ) {
+        final Path path = ( Path ) item;
+        final Path name = path.getFileName();
+        return name == null ? path.toString() : name.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#nameEditable(java.lang.Object)
+     */
+    @Override
+    public boolean nameEditable( final Object item ) {
+        return writable( ( Path ) item );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#nameProblem(java.lang.Object, java.lang.String)
+     */
+    @Override
+    public String nameProblem( final Object item,
+                               final String name ) {
+        final Path path = ( Path ) item;
+        final Path sibling = path.resolveSibling( name );
+        if ( !sibling.equals( path ) && Files.exists( sibling ) ) return "A file with this name already exists";
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#parent(java.lang.Object)
+     */
+    @Override
+    public Object parent( final Object item ) {
+        return ( ( Path ) item ).getParent();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#qualifiedName(java.lang.Object)
+     */
+    @Override
+    public String qualifiedName( final Object item ) {
+        return ( ( Path ) item ).toAbsolutePath().toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#setName(java.lang.Object, java.lang.String)
+     */
+    @Override
+    public Object setName( final Object item,
+                           final String name ) throws PolyglotterException {
+        final Path path = ( Path ) item;
+        final Path renamedPath = path.resolveSibling( name );
+        try {
+            Files.move( path, renamedPath );
+        } catch ( final IOException e ) {
+            throw new PolyglotterException( EclipseI18n.testUnableToRenameFile, path, renamedPath );
+        }
+        final Path folder = path.getParent();
+        if ( folder == null ) return renamedPath;
+        final int index = childIndex( folder, path );
+        childReplaced( folder, path, renamedPath );
+        invalidate( path );
+        if ( index >= 0 ) fireItemChanged( folder, index, renamedPath );
+        return renamedPath;
+    }
+
+    private void setChildren( final Path folder,
+                              final List< Path > children ) {
+        childrenByPath.put( folder, children.toArray( new Path[ children.size() ] ) );
+        hasChildrenByPath.put( folder, !children.isEmpty() );
+    }
+
+    /**
+     * Closes the watch service once the watched tree is disposed and no other tree using this model shows a folder
+     */
+    private void stopWatchingIfUnused() {
+        if ( !treeDisposed || !columnCountsByFolder.isEmpty() ) return;
+        keysByFolder.clear();
+        folderChecker.cancel();
+        try {
+            watchService.close();
+        } catch ( final IOException e ) {
+            Activator.logger().log( Util.createErrorStatus( e ) );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#type(java.lang.Object)
+     */
+    @Override
+    public String type( final Object item ) {
+        return folder( item ) ? "Folder" : "File";
+    }
+
+    /**
+     * Keeps the columns of the supplied tree up to date with changes made to the file system by other applications, by watching
+     * the folders whose children are shown in the tree's columns. Bursts of changes are coalesced and reported to the tree
+     * together as incremental notifications, so the tree's columns are updated in place rather than rebuilt. The columns of other
+     * trees using this model, e.g., the tree's duplicates, are kept up to date too. A folder's watch is released once no tree
+     * shows it, and the watch service is closed once the tree is disposed and no other tree shows a folder.
+     * 
+     * @param tree
+     *        a tree using this model, which must not yet have any columns
+     */
+    public void watch( final FocusTree tree ) {
+        CheckArg.notNull( tree, "tree" );
+        if ( watchService != null ) throw new IllegalStateException( "Already watching a tree" );
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch ( final IOException e ) {
+            Activator.logger().log( Util.createErrorStatus( e ) );
+            return;
+        }
+        display = tree.getDisplay();
+        folderChecker = new FolderChecker();
+        final Thread watcher = new Thread( new Runnable() {
+
+            @Override
+            public void run() {
+                watchForChanges();
+            }
+        }, "Polyglotter file system watcher" );
+        watcher.setDaemon( true );
+        watcher.start();
+        tree.addDisposeListener( new DisposeListener() {
+
+            @Override
+            public void widgetDisposed( final DisposeEvent event ) {
+                treeDisposed = true;
+                stopWatchingIfUnused();
+            }
+        } );
+    }
+
+    void watchForChanges() {
+        try {
+            while ( true ) {
+                // Wait for a change, then coalesce changes until a quiet or maximum period elapses
+                final Map< Path, Set< Path > > changedPathsByFolder = new LinkedHashMap<>();
+                final Set< Path > overflowedFolders = new HashSet<>();
+                WatchKey key = watchService.take();
+                final long burstEnd = System.currentTimeMillis() + MAXIMUM_BURST_PERIOD;
+                while ( key != null ) {
+                    final Path folder = ( Path ) key.watchable();
+                    Set< Path > changedPaths = changedPathsByFolder.get( folder );
+                    if ( changedPaths == null ) {
+                        changedPaths = new LinkedHashSet<>();
+                        changedPathsByFolder.put( folder, changedPaths );
+                    }
+                    for ( final WatchEvent< ? > event : key.pollEvents() ) {
+                        if ( event.kind() == OVERFLOW ) overflowedFolders.add( folder );
+                        else changedPaths.add( folder.resolve( ( Path ) event.context() ) );
+                    }
+                    key.reset();
+                    final long remaining = burstEnd - System.currentTimeMillis();
+                    key = remaining > 0 ? watchService.poll( Math.min( BURST_QUIET_PERIOD, remaining ), TimeUnit.MILLISECONDS )
+                                        : null;
+                }
+                // Read the attributes of changed paths here rather than on the UI thread
+                final Map< Path, Map< Path, BasicFileAttributes > > changesByFolder = new LinkedHashMap<>();
+                for ( final Entry< Path, Set< Path > > entry : changedPathsByFolder.entrySet() ) {
+                    final Map< Path, BasicFileAttributes > changes = new HashMap<>();
+                    for ( final Path path : entry.getValue() ) {
+                        try {
+                            changes.put( path, Files.readAttributes( path, BasicFileAttributes.class ) );
+                        } catch ( final IOException e ) {
+                            changes.put( path, null );
+                        }
+                    }
+                    changesByFolder.put( entry.getKey(), changes );
+                }
+                display.asyncExec( new Runnable() {
+
+                    @Override
+                    public void run() {
+                        applyChanges( changesByFolder, overflowedFolders );
+                    }
+                } );
+            }
+        } catch ( final ClosedWatchServiceException | InterruptedException e ) {
+            // Tree has been disposed
+        }
+    }
+
+    boolean writable( final Path path ) {
+        Boolean writable = writableByPath.get( path );
+        if ( writable == null ) {
+            writable = Files.isWritable( path );
+            writableByPath.put( path, writable );
+        }
+        return writable;
+    }
+
+    /**
+     * Re-lists folders in the background whose children were cached before the folders were watched, notifying listeners on the
+     * UI thread of any that have changed.
+     */
+    class FolderChecker extends Job {
+
+        private final Map< Path, Path[] > uncheckedChildrenByFolder = new LinkedHashMap<>();
+
+        FolderChecker() {
+            super( EclipseI18n.fileSystemModelCheckingFoldersJob.text() );
+            setSystem( true );
+            setPriority( DECORATE );
+        }
+
+        /**
+         * Must be called from the UI thread.
+         * 
+         * @param folder
+         *        a newly watched folder
+         * @param children
+         *        the folder's cached children
+         */
+        void check( final Path folder,
+                    final Path[] children ) {
+            synchronized ( this ) {
+                uncheckedChildrenByFolder.put( folder, children );
+            }
+            schedule();
+        }
+
+        /**
+         * {@inheritDoc}
+         * 
+         * @see org.eclipse.core.runtime.jobs.Job#run(org.eclipse.core.runtime.IProgressMonitor)
+         */
+        @Override
+        protected IStatus run( final IProgressMonitor monitor ) {
+            while ( !monitor.isCanceled() ) {
+                final Entry< Path, Path[] > entry;
+                synchronized ( this ) {
+                    final Iterator< Entry< Path, Path[] > > iter = uncheckedChildrenByFolder.entrySet().iterator();
+                    if ( !iter.hasNext() ) break;
+                    entry = iter.next();
+                    iter.remove();
+                }
+                final Path folder = entry.getKey();
+                try {
+                    if ( Arrays.equals( entry.getValue(), list( folder ) ) ) continue;
+                } catch ( final IOException e ) {
+                    // Let the children be re-read when requested
+                }
+                if ( display.isDisposed() ) break;
+                display.asyncExec( new Runnable() {
+
+                    @Override
+                    public void run() {
+                        // Ignore folders no longer shown, whose children will be checked again if shown again
+                        if ( !keysByFolder.containsKey( folder ) ) return;
+                        invalidate( folder );
+                        fireChildrenChanged( folder );
+                    }
+                } );
+            }
+            return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Widget;
+import org.polyglotter.common.CheckArg;
+
+/**
+ * A plug-in-wide registry of shared SWT colors, fonts, and images, keyed by their {@link RGB RGB}, {@link FontData font data},
+ * or an image key respectively, so that equal resources are only allocated once. The registry is reference-counted by its
+ * {@link #connect(Widget) connected} clients, such as focus trees and tree spinners: once the last client has been disposed, all
+ * resources are disposed, to be allocated again as needed by later clients. Resources obtained from this registry must therefore
+ * never be disposed by callers.
+ * <p>
+ * Instances are thread-safe, although resources are always allocated on the default display.
+ */
+public final class ResourceRegistry {
+
+    private final Map< RGB, Color > colorsByRgb = new HashMap<>();
+    private final Map< FontData, Font > fontsByData = new HashMap<>();
+    private final Map< String, Image > imagesByKey = new HashMap<>();
+    private int clientCount;
+
+    /**
+     * @param font
+     *        a font
+     * @return the bold version of the supplied font
+     */
+    public Font boldFont( final Font font ) {
+        CheckArg.notNull( font, "font" );
+        final FontData fontData = font.getFontData()[ 0 ];
+        return font( new FontData( fontData.getName(), fontData.getHeight(), fontData.getStyle() | SWT.BOLD ) );
+    }
+
+    /**
+     * @return the number of connected clients that haven't yet been disposed
+     */
+    public synchronized int clientCount() {
+        return clientCount;
+    }
+
+    /**
+     * @param rgb
+     *        the red, green, and blue components of a color
+     * @return the shared color with the supplied components
+     */
+    public synchronized Color color( final RGB rgb ) {
+        CheckArg.notNull( rgb, "rgb" );
+        Color color = colorsByRgb.get( rgb );
+        if ( color == null ) {
+            color = new Color( Display.getDefault(), rgb );
+            colorsByRgb.put( rgb, color );
+        }
+        return color;
+    }
+
+    /**
+     * @return the number of allocated colors
+     */
+    public synchronized int colorCount() {
+        return colorsByRgb.size();
+    }
+
+    /**
+     * Adds a reference to this registry for the supplied client, which is removed once the client is disposed
+     * 
+     * @param client
+     *        a client of this registry
+     */
+    public synchronized void connect( final Widget client ) {
+        CheckArg.notNull( client, "client" );
+        clientCount++;
+        client.addDisposeListener( new DisposeListener() {
+
+            @Override
+            public void widgetDisposed( final DisposeEvent event ) {
+                disconnect();
+            }
+        } );
+    }
+
+    private synchronized void disconnect() {
+        if ( --clientCount == 0 ) dispose();
+    }
+
+    /**
+     * Disposes all allocated resources
+     */
+    public synchronized void dispose() {
+        for ( final Color color : colorsByRgb.values() )
+            color.dispose();
+        colorsByRgb.clear();
+        for ( final Font font : fontsByData.values() )
+            font.dispose();
+        fontsByData.clear();
+        for ( final Image image : imagesByKey.values() )
+            image.dispose();
+        imagesByKey.clear();
+    }
+
+    /**
+     * @param fontData
+     *        the description of a font
+     * @return the shared font with the supplied description
+     */
+    public synchronized Font font( final FontData fontData ) {
+        CheckArg.notNull( fontData, "fontData" );
+        Font font = fontsByData.get( fontData );
+        if ( font == null ) {
+            font = new Font( Display.getDefault(), fontData );
+            fontsByData.put( fontData, font );
+        }
+        return font;
+    }
+
+    /**
+     * @return the number of allocated fonts
+     */
+    public synchronized int fontCount() {
+        return fontsByData.size();
+    }
+
+    /**
+     * @param key
+     *        the key of an image
+     * @param descriptor
+     *        the descriptor from which to create the image if it hasn't already been allocated
+     * @return the shared image with the supplied key
+     */
+    public synchronized Image image( final String key,
+                                     final ImageDescriptor descriptor ) {
+        CheckArg.notNull( key, "key" );
+        Image image = imagesByKey.get( key );
+        if ( image == null ) {
+            CheckArg.notNull( descriptor, "descriptor" );
+            image = descriptor.createImage( Display.getDefault() );
+            imagesByKey.put( key, image );
+        }
+        return image;
+    }
+
+    /**
+     * @return the number of allocated images
+     */
+    public synchronized int imageCount() {
+        return imagesByKey.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public synchronized String toString() {
+        return "ResourceRegistry[clients=" + clientCount + ", colors=" + colorsByRgb.size() + ", fonts=" + fontsByData.size()
+               + ", images=" + imagesByKey.size() + "]";
+    }
+}
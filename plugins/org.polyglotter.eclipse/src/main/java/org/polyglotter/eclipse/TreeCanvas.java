@@ -38,12 +38,14 @@ import org.eclipse.draw2d.MouseEvent;
 import org.eclipse.draw2d.MouseListener;
 import org.eclipse.draw2d.Panel;
 import org.eclipse.draw2d.PositionConstants;
+import org.eclipse.draw2d.ScalableLayeredPane;
 import org.eclipse.draw2d.Shape;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Insets;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 import org.polyglotter.common.PolyglotterException;
@@ -52,19 +54,31 @@ import org.polyglotter.eclipse.TreeSpinner.Column;
 class TreeCanvas extends FigureCanvas {
 
     static final Color DEFAULT_BACKGROUND_COLOR = Display.getCurrent().getSystemColor( SWT.COLOR_WHITE );
-    static final Color DEFAULT_FOCUS_COLOR = new Color( Display.getCurrent(), 0, 128, 255 );
-    static final Color DEFAULT_SELECTED_COLUMN_BACKGROUND_COLOR = new Color( Display.getCurrent(), 194, 223, 255 );
+    static final RGB DEFAULT_FOCUS_COLOR = new RGB( 0, 128, 255 );
+    static final RGB DEFAULT_SELECTED_COLUMN_BACKGROUND_COLOR = new RGB( 194, 223, 255 );
 
     static final int DEFAULT_FOCUS_LINE_OFFSET = 75;
 
     static final int FOCUS_HEIGHT = 3;
 
+    /**
+     * The scale below which cells other than focus cells are painted as bars of their background colors
+     */
+    static final double BAR_DETAIL_SCALE = 0.6;
+    /**
+     * The scale below which cells other than focus cells are painted together in strips at least {@link #STRIP_HEIGHT} pixels
+     * high on screen, each in the background color of its first cell
+     */
+    static final double STRIP_DETAIL_SCALE = 0.25;
+    static final int STRIP_HEIGHT = 2;
+
     TreeSpinner treeSpinner;
     TreeSpinnerContentProvider provider;
 
     final FreeformLayer canvas = new FreeformLayer();
+    final ScalableLayeredPane zoomPane = new ScalableLayeredPane();
     final Panel focusLine = new Panel();
-    final Border focusBorder = new LineBorder( DEFAULT_FOCUS_COLOR, FOCUS_HEIGHT ) {
+    final Border focusBorder = new LineBorder( Activator.plugin().resources().color( DEFAULT_FOCUS_COLOR ), FOCUS_HEIGHT ) {
 
         @Override
         public void paint( final IFigure figure,
@@ -98,7 +112,8 @@ class TreeCanvas extends FigureCanvas {
         this.treeSpinner = treeSpinner;
         // TODO get background color from preferences
         setBackground( Display.getCurrent().getSystemColor( SWT.COLOR_WHITE ) );
-        setContents( this.canvas );
+        this.zoomPane.add( this.canvas );
+        setContents( this.zoomPane );
         getViewport().setContentsTracksHeight( true );
         this.canvas.addMouseListener( new MouseListener() {
 
@@ -143,8 +158,10 @@ class TreeCanvas extends FigureCanvas {
                                         TreeCanvas.this.selectedColumn = column;
                                     }
                                     // Scroll so that focus line is at focus line offset from top of view and last column is visible
-                                    scrollToY( TreeCanvas.this.focusLine.getLocation().y - DEFAULT_FOCUS_LINE_OFFSET );
-                                    treeSpinner.scroll( TreeCanvas.this.canvas.getSize().width );
+                                    final double scale = TreeCanvas.this.zoomPane.getScale();
+                                    scrollToY( ( int ) ( ( TreeCanvas.this.focusLine.getLocation().y - DEFAULT_FOCUS_LINE_OFFSET )
+                                                         * scale ) );
+                                    treeSpinner.scroll( ( int ) ( TreeCanvas.this.canvas.getSize().width * scale ) );
                                     break;
                                 }
                             if ( columnFound ) break;
@@ -162,7 +179,7 @@ class TreeCanvas extends FigureCanvas {
         } );
         this.canvas.add( this.focusLine );
         // TODO get focus line color from preferences
-        this.focusLine.setBackgroundColor( DEFAULT_FOCUS_COLOR );
+        this.focusLine.setBackgroundColor( Activator.plugin().resources().color( DEFAULT_FOCUS_COLOR ) );
         this.focusLine.setBounds( new Rectangle( 0, 0, 0, FOCUS_HEIGHT ) );
         this.focusLine.addLayoutListener( new LayoutListener.Stub() {
 
@@ -180,8 +197,15 @@ class TreeCanvas extends FigureCanvas {
         column.backgroundColumn = new Figure();
         // Add columns to beginning of canvas's children to ensure their backgrounds are painted first
         this.canvas.add( column.backgroundColumn, 0 );
-        column.backgroundColumn.setBackgroundColor( DEFAULT_SELECTED_COLUMN_BACKGROUND_COLOR );
-        column.childColumn = new Figure();
+        column.backgroundColumn.setBackgroundColor( Activator.plugin().resources().color( DEFAULT_SELECTED_COLUMN_BACKGROUND_COLOR ) );
+        column.childColumn = new Figure() {
+
+            @Override
+            protected void paintChildren( final Graphics graphics ) {
+                if ( TreeCanvas.this.zoomPane.getScale() < BAR_DETAIL_SCALE ) paintReducedDetail( column, graphics );
+                else super.paintChildren( graphics );
+            }
+        };
         this.canvas.add( column.childColumn );
         final GridLayout layout = new GridLayout();
         layout.marginHeight = 0;
@@ -277,6 +301,7 @@ class TreeCanvas extends FigureCanvas {
             minY -= topMargin;
         }
         final Rectangle viewBounds = getViewport().getClientArea();
+        viewBounds.height = ( int ) ( viewBounds.height / this.zoomPane.getScale() );
         final int bottomMargin = focusLineBounds.y + viewBounds.height - DEFAULT_FOCUS_LINE_OFFSET - maxY;
         if ( bottomMargin > 0 ) newCanvasHeight += bottomMargin;
         final Rectangle canvasBounds = this.canvas.getBounds();
@@ -317,8 +342,42 @@ class TreeCanvas extends FigureCanvas {
         cell.setConstraint( label, gridData );
     }
 
+    /**
+     * Paints the cells of the supplied column in reduced detail, other than its focus cell, for when this canvas is zoomed out too
+     * far for their text to be legible
+     */
+    void paintReducedDetail( final Column column,
+                             final Graphics graphics ) {
+        final Rectangle clip = graphics.getClip( new Rectangle() );
+        final double scale = this.zoomPane.getScale();
+        final int stripHeight = scale < STRIP_DETAIL_SCALE ? ( int ) Math.ceil( STRIP_HEIGHT / scale ) : 0;
+        int stripBottom = Integer.MIN_VALUE;
+        for ( final Object child : column.childColumn.getChildren() ) {
+            final IFigure cell = ( IFigure ) child;
+            final Rectangle bounds = cell.getBounds();
+            if ( cell == column.focusCell || !bounds.intersects( clip ) || bounds.y < stripBottom ) continue;
+            graphics.setBackgroundColor( cell.getBackgroundColor() );
+            if ( stripHeight == 0 ) graphics.fillRectangle( bounds );
+            else {
+                // Cells starting within a strip are represented by the strip's first cell
+                graphics.fillRectangle( bounds.x, bounds.y, bounds.width, stripHeight );
+                stripBottom = bounds.y + stripHeight;
+            }
+        }
+        if ( column.focusCell != null && column.focusCell.getBounds().intersects( clip ) ) column.focusCell.paint( graphics );
+    }
+
     void removeColumn( final Column column ) {
         this.canvas.remove( column.backgroundColumn );
         this.canvas.remove( column.childColumn );
     }
+
+    /**
+     * @param scale
+     *        the scale at which to show this canvas, where 1 is actual size
+     */
+    void setScale( final double scale ) {
+        this.zoomPane.setScale( scale );
+        this.canvas.repaint();
+    }
 }
@@ -36,8 +36,8 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.ScrolledComposite;
 import org.eclipse.swt.events.PaintEvent;
 import org.eclipse.swt.events.PaintListener;
-import org.eclipse.swt.graphics.Font;
-import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.layout.GridLayout;
@@ -94,6 +94,7 @@ public class TreeSpinner extends Composite {
      */
     public TreeSpinner( final Composite parent ) {
         super( parent, SWT.NONE );
+        Activator.plugin().resources().connect( this );
         GridLayoutFactory.fillDefaults().numColumns( 4 ).applyTo( this );
         ( ( GridLayout ) getLayout() ).verticalSpacing = 0;
 
@@ -117,6 +118,14 @@ public class TreeSpinner extends Composite {
         slider.setSelection( 50 );
         slider.setThumb( 1 );
         slider.setToolTipText( "Zoom view in or out" );
+        slider.addSelectionListener( new SelectionAdapter() {
+
+            @Override
+            public void widgetSelected( final SelectionEvent event ) {
+                // Middle of slider is actual size
+                zoom( Math.max( slider.getSelection(), 1 ) / 50.0 );
+            }
+        } );
 
         // Construct search field
         final Text text = new Text( this, SWT.SEARCH | SWT.ICON_SEARCH | SWT.ICON_CANCEL );
@@ -189,9 +198,7 @@ public class TreeSpinner extends Composite {
         childCount.setText( String.valueOf( this.provider.childCount( item ) ) );
         final Label label = new Label( column.header, SWT.CENTER );
         label.setText( this.provider.name( item ) );
-        final FontData fontData = label.getFont().getFontData()[ 0 ];
-        fontData.setStyle( SWT.BOLD );
-        label.setFont( new Font( Display.getCurrent(), fontData ) );
+        label.setFont( Activator.plugin().resources().boldFont( label.getFont() ) );
         GridDataFactory.swtDefaults().align( SWT.FILL, SWT.FILL ).grab( true, true ).applyTo( label );
         final Label minimizeButton = new Label( column.header, SWT.NONE );
         minimizeButton.setImage( Activator.plugin().image( "minimize.gif" ) );
@@ -208,8 +215,8 @@ public class TreeSpinner extends Composite {
         // Add column to inner canvas
         this.innerCanvas.addColumn( column );
 
-        // Update width of header to match child column width
-        width = column.childColumn.getSize().width;
+        // Update width of header to match child column width, as zoomed
+        width = ( int ) ( column.childColumn.getSize().width * this.innerCanvas.zoomPane.getScale() );
         GridDataFactory.swtDefaults().hint( width, SWT.DEFAULT ).applyTo( column.header );
         this.headerBar.layout();
 
@@ -283,6 +290,21 @@ public class TreeSpinner extends Composite {
         addColumn( root );
     }
 
+    /**
+     * Zooms the tree, scaling the headers to match their columns
+     * 
+     * @param scale
+     *        the scale at which to show the tree, where 1 is actual size
+     */
+    void zoom( final double scale ) {
+        this.innerCanvas.setScale( scale );
+        for ( final Column column : this.columns )
+            GridDataFactory.swtDefaults().hint( ( int ) ( column.childColumn.getSize().width * scale ), SWT.DEFAULT )
+                           .applyTo( column.header );
+        this.headerBar.layout();
+        this.outerCanvas.setSize( this.outerCanvas.computeSize( SWT.DEFAULT, this.outerCanvas.getSize().y ) );
+    }
+
     class Column {
 
         Object item;
@@ -27,6 +27,7 @@ import org.eclipse.draw2d.RoundedRectangle;
 import org.eclipse.draw2d.Shape;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.widgets.Display;
 import org.polyglotter.common.PolyglotterException;
 
@@ -36,10 +37,16 @@ import org.polyglotter.common.PolyglotterException;
 public abstract class TreeSpinnerContentProvider {
 
     /**
-     * 
+     * @deprecated use {@link #DEFAULT_CHILD_INDEX_RGB}, whose color is shared through the plug-in's resource registry
      */
+    @Deprecated
     public static final Color DEFAULT_CHILD_INDEX_COLOR = new Color( Display.getCurrent(), 0, 128, 255 );
 
+    /**
+     * 
+     */
+    public static final RGB DEFAULT_CHILD_INDEX_RGB = new RGB( 0, 128, 255 );
+
     /**
      * @param item
      *        an item in a tree
@@ -61,10 +68,10 @@ public abstract class TreeSpinnerContentProvider {
     /**
      * @param item
      *        an item in a tree
-     * @return the color of the child index shown in the supplied item's cell. Default is {@value #DEFAULT_CHILD_INDEX_COLOR}.
+     * @return the color of the child index shown in the supplied item's cell. Default is {@link #DEFAULT_CHILD_INDEX_RGB}.
      */
     public Color childIndexColor( final Object item ) {
-        return DEFAULT_CHILD_INDEX_COLOR;
+        return Activator.plugin().resources().color( DEFAULT_CHILD_INDEX_RGB );
     }
 
     /**
@@ -1,24 +1,28 @@
 package org.polyglotter.eclipse;
 
-import java.io.File;
-import java.io.IOException;
-
-import org.apache.poi.ss.usermodel.Color;
-import org.polyglotter.common.PolyglotterException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.ui.IMemento;
+import org.eclipse.ui.IViewSite;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.part.ViewPart;
 import org.polyglotter.eclipse.focustree.FocusTree;
 import org.polyglotter.eclipse.focustree.FocusTree.Indicator;
-import org.polyglotter.eclipse.focustree.FocusTree.Model;
 
 /**
  * 
  */
 public class View extends ViewPart {
 
-    static final Color FOLDER_COLOR = new Color( Display.getCurrent(), 0, 64, 128 );
+    static final Image TRANSFORMATION_INDICATOR_IMAGE = Activator.plugin().image( "transformation.png" );
 
-    static final Object[] NO_ITEMS = new Object[ 0 ];
+    private static final String FOCUS_TREE_TAG = "focusTree";
 
-    static final Image TRANSFORMATION_INDICATOR_IMAGE = Activator.plugin().image( "transformation.png" );
+    private FocusTree focusTree;
+    private IMemento memento;
 
     /**
      * {@inheritDoc}
@@ -27,65 +31,9 @@ public class View extends ViewPart {
      */
     @Override
     public void createPartControl( final Composite parent ) {
-        final FocusTree focusTree = new FocusTree( parent );
-        final File root = new File( "/" );
-        final Model model = new Model() {
-
-            @Override
-            public Color cellBackgroundColor( final Object file ) {
-                if ( ( ( File ) file ).isDirectory() ) return FOLDER_COLOR;
-                return Display.getCurrent().getSystemColor( SWT.COLOR_WHITE );
-            }
-
-            @Override
-            public int childCount( final Object file ) {
-                return children( file ).length;
-            }
-
-            @Override
-            public Object[] children( final Object file ) {
-                final Object[] children = ( ( File ) file ).listFiles();
-                return children == null ? NO_ITEMS : children;
-            }
-
-            @Override
-            public boolean childrenAddable( final Object item ) {
-                final File file = ( File ) item;
-                return file.isDirectory() && file.canWrite();
-            }
-
-            @Override
-            public Object createChildAt( final Object folder,
-                                         final int index ) throws PolyglotterException {
-                try {
-                    // TODO handle file exists
-                    final File file = new File( ( ( File ) folder ), "Unnamed" );
-                    if ( !file.createNewFile() ) throw new PolyglotterException( EclipseI18n.focusTreeUnableToCreateFile, folder, index );
-                    return file;
-                } catch ( final IOException e ) {
-                    throw new PolyglotterException( e );
-                }
-            }
-
-            @Override
-            public boolean deletable( final Object file ) {
-                return ( ( File ) file ).canWrite();
-            }
-
-            @Override
-            public boolean delete( final Object file ) {
-                return ( ( File ) file ).delete();
-            }
-
-            @Override
-            public boolean hasChildren( final Object item ) {
-                return children( item ).length > 0;
-            }
-
-            @Override
-            public Image icon( final Object file ) {
-                return Activator.plugin().image( ( ( File ) file ).isDirectory() ? "folder.gif" : "file.gif" );
-            }
+        focusTree = new FocusTree( parent );
+        final Path root = Paths.get( "/" );
+        final FileSystemModel model = new FileSystemModel() {
 
             @Override
             public Indicator[] indicators( final Object item ) {
@@ -99,52 +47,39 @@ public class View extends ViewPart {
                     }
                 } };
             }
-
-            @Override
-            public String name( final Object file ) {
-                final String name = ( ( File ) file ).getName();
-                return name.isEmpty() ? "/" : name;
-            }
-
-            @Override
-            public boolean nameEditable( final Object file ) {
-                return ( ( File ) file ).canWrite();
-            }
-
-            @Override
-            public String nameProblem( final Object file,
-                                       final String name ) {
-                for ( final File sibling : ( ( File ) file ).getParentFile().listFiles() )
-                    if ( !sibling.equals( file ) && sibling.getName().equals( name ) )
-                        return "A file with this name already exists";
-                return null;
-            }
-
-            @Override
-            public String qualifiedName( final Object file ) {
-                return ( ( File ) file ).getAbsolutePath();
-            }
-
-            @Override
-            public Object setName( final Object item,
-                                   final String name ) throws PolyglotterException {
-                final File file = ( File ) item;
-                final File renamedFile = new File( file.getParentFile(), name );
-                if ( file.renameTo( renamedFile ) ) return renamedFile;
-                throw new PolyglotterException( EclipseI18n.testUnableToRenameFile, file, renamedFile );
-            }
-
-            @Override
-            public String type( final Object file ) {
-                return ( ( File ) file ).isDirectory() ? "Folder" : "File";
-            }
         };
         setPartName( model.name( root ) );
         setTitleImage( model.icon( root ) );
         focusTree.setInitialIndexIsOne( true );
         focusTree.setInitialCellWidth( 100 );
+        focusTree.setChildrenLoadedInBackground( true );
+        focusTree.setCellsRendered( true );
+        model.watch( focusTree );
         focusTree.setModel( model );
         focusTree.setRoot( root );
+        if ( memento != null ) focusTree.restoreState( memento.getChild( FOCUS_TREE_TAG ) );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.eclipse.ui.part.ViewPart#init(org.eclipse.ui.IViewSite, org.eclipse.ui.IMemento)
+     */
+    @Override
+    public void init( final IViewSite site,
+                      final IMemento memento ) throws PartInitException {
+        super.init( site, memento );
+        this.memento = memento;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.eclipse.ui.part.ViewPart#saveState(org.eclipse.ui.IMemento)
+     */
+    @Override
+    public void saveState( final IMemento memento ) {
+        if ( focusTree != null && !focusTree.isDisposed() ) focusTree.saveState( memento.createChild( FOCUS_TREE_TAG ) );
     }
 
     /**
@@ -0,0 +1,869 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Image;
+import org.polyglotter.common.CheckArg;
+import org.polyglotter.common.PolyglotterException;
+import org.polyglotter.eclipse.focustree.FocusTree.Cell;
+import org.polyglotter.eclipse.focustree.FocusTree.Indicator;
+import org.polyglotter.eclipse.focustree.FocusTree.Model;
+import org.polyglotter.eclipse.focustree.FocusTree.ModelListener;
+
+/**
+ * A {@link Model model} that decorates another model, remembering the attributes and children it returns for a bounded number
+ * of the most recently used items. Concurrent requests for the same uncached attribute of an item, such as those made by
+ * background {@link FocusTree#setChildrenLoadedInBackground(boolean) child loading}, wait for a single call to the decorated
+ * model rather than each calling it. Changes made through this model, or {@link ModelListener reported} by the decorated model,
+ * invalidate the affected items; other changes must be reported via {@link #invalidate(Object)} or
+ * {@link #invalidateSubtree(Object)}.
+ */
+public class CachingModel extends Model {
+
+    /**
+     * The default maximum number of items whose attributes are cached
+     */
+    public static final int DEFAULT_MAXIMUM_ITEMS = 10000;
+
+    final Model delegate;
+    final Map< Object, Map< Attribute, FutureTask< Object > > > cache;
+    final AtomicLong hitCount = new AtomicLong();
+    final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * @param delegate
+     *        the model whose attributes are to be cached
+     */
+    public CachingModel( final Model delegate ) {
+        this( delegate, DEFAULT_MAXIMUM_ITEMS );
+    }
+
+    /**
+     * @param delegate
+     *        the model whose attributes are to be cached
+     * @param maximumItems
+     *        the maximum number of items whose attributes are cached; the least recently used items are evicted first
+     */
+    public CachingModel( final Model delegate,
+                         final int maximumItems ) {
+        CheckArg.notNull( delegate, "delegate" );
+        if ( maximumItems < 1 ) throw new IllegalArgumentException( "maximumItems" );
+        this.delegate = delegate;
+        cache = new LinkedHashMap< Object, Map< Attribute, FutureTask< Object > > >( 16, 0.75f, true ) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry< Object, Map< Attribute, FutureTask< Object > > > eldest ) {
+                return size() > maximumItems;
+            }
+        };
+        // Discard what the decorated model reports as changed before passing its notifications on
+        delegate.addListener( new ModelListener() {
+
+            @Override
+            public void childrenChanged( final Object parent ) {
+                invalidateSubtree( parent );
+                fireChildrenChanged( parent );
+            }
+
+            @Override
+            public void childrenReordered( final Object parent,
+                                           final int[] newIndexes ) {
+                invalidateChildren( parent );
+                fireChildrenReordered( parent, newIndexes );
+            }
+
+            @Override
+            public void itemChanged( final Object parent,
+                                     final int index,
+                                     final Object item ) {
+                final Object[] children = completedChildren( parent );
+                if ( children != null && index < children.length && !item.equals( children[ index ] ) )
+                    invalidateSubtree( children[ index ] );
+                invalidateChildren( parent );
+                invalidate( item );
+                fireItemChanged( parent, index, item );
+            }
+
+            @Override
+            public void itemsInserted( final Object parent,
+                                       final int index,
+                                       final Object[] items ) {
+                invalidateChildren( parent );
+                fireItemsInserted( parent, index, items );
+            }
+
+            @Override
+            public void itemsRemoved( final Object parent,
+                                      final int index,
+                                      final int count ) {
+                final Object[] children = completedChildren( parent );
+                if ( children != null ) for ( int ndx = index; ndx < index + count && ndx < children.length; ndx++ )
+                    invalidateSubtree( children[ ndx ] );
+                invalidateChildren( parent );
+                fireItemsRemoved( parent, index, count );
+            }
+        } );
+    }
+
+    private Object cached( final Object item,
+                           final Attribute attribute,
+                           final Callable< Object > loader ) throws PolyglotterException {
+        final FutureTask< Object > task;
+        boolean loading = false;
+        synchronized ( cache ) {
+            Map< Attribute, FutureTask< Object > > attributes = cache.get( item );
+            if ( attributes == null ) {
+                attributes = new EnumMap<>( Attribute.class );
+                cache.put( item, attributes );
+            }
+            final FutureTask< Object > cachedTask = attributes.get( attribute );
+            if ( cachedTask == null ) {
+                task = new FutureTask<>( loader );
+                attributes.put( attribute, task );
+                loading = true;
+            } else task = cachedTask;
+        }
+        if ( loading ) {
+            missCount.incrementAndGet();
+            task.run();
+        } else hitCount.incrementAndGet();
+        try {
+            return task.get();
+        } catch ( final InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new PolyglotterException( e );
+        } catch ( final ExecutionException e ) {
+            synchronized ( cache ) {
+                final Map< Attribute, FutureTask< Object > > attributes = cache.get( item );
+                if ( attributes != null && attributes.get( attribute ) == task ) attributes.remove( attribute );
+            }
+            final Throwable cause = e.getCause();
+            if ( cause instanceof PolyglotterException ) throw ( PolyglotterException ) cause;
+            if ( cause instanceof RuntimeException ) throw ( RuntimeException ) cause;
+            if ( cause instanceof Error ) throw ( Error ) cause;
+            throw new PolyglotterException( cause );
+        }
+    }
+
+    private Object cachedUnchecked( final Object item,
+                                    final Attribute attribute,
+                                    final Callable< Object > loader ) {
+        try {
+            return cached( item, attribute, loader );
+        } catch ( final PolyglotterException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#cellBackgroundColor(java.lang.Object)
+     */
+    @Override
+    public Color cellBackgroundColor( final Object item ) {
+        return ( Color ) cachedUnchecked( item, Attribute.CELL_BACKGROUND_COLOR, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.cellBackgroundColor( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#cellForegroundColor(java.lang.Object)
+     */
+    @Override
+    public Color cellForegroundColor( final Object item ) {
+        return ( Color ) cachedUnchecked( item, Attribute.CELL_FOREGROUND_COLOR, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.cellForegroundColor( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#childCount(java.lang.Object)
+     */
+    @Override
+    public int childCount( final Object item ) {
+        return ( Integer ) cachedUnchecked( item, Attribute.CHILD_COUNT, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.childCount( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#childIndexColor(java.lang.Object)
+     */
+    @Override
+    public Color childIndexColor( final Object item ) {
+        return ( Color ) cachedUnchecked( item, Attribute.CHILD_INDEX_COLOR, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.childIndexColor( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#children(java.lang.Object)
+     */
+    @Override
+    public Object[] children( final Object item ) throws PolyglotterException {
+        return ( Object[] ) cached( item, Attribute.CHILDREN, new Callable< Object >() {
+
+            @Override
+            public Object call() throws PolyglotterException {
+                return delegate.children( item );
+            }
+        } );
+    }
+
+    /**
+     * Returns a slice of the supplied item's children if they have already been cached; otherwise obtains the page from the
+     * decorated model without caching it.
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#children(java.lang.Object, int, int)
+     */
+    @Override
+    public Object[] children( final Object item,
+                              final int offset,
+                              final int limit ) throws PolyglotterException {
+        final Object[] children = completedChildren( item );
+        if ( children == null ) return delegate.children( item, offset, limit );
+        hitCount.incrementAndGet();
+        if ( offset >= children.length ) return NO_CHILDREN;
+        return Arrays.copyOfRange( children, offset, Math.min( children.length, offset + limit ) );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#childrenAddable(java.lang.Object)
+     */
+    @Override
+    public boolean childrenAddable( final Object item ) {
+        return ( Boolean ) cachedUnchecked( item, Attribute.CHILDREN_ADDABLE, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.childrenAddable( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#childrenPaged(java.lang.Object)
+     */
+    @Override
+    public boolean childrenPaged( final Object item ) {
+        return ( Boolean ) cachedUnchecked( item, Attribute.CHILDREN_PAGED, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.childrenPaged( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#columnAdded(java.lang.Object)
+     */
+    @Override
+    public void columnAdded( final Object item ) {
+        delegate.columnAdded( item );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#columnRemoved(java.lang.Object)
+     */
+    @Override
+    public void columnRemoved( final Object item ) {
+        delegate.columnRemoved( item );
+    }
+
+    /**
+     * @param item
+     *        an item in the tree
+     * @return the supplied item's children if they have been completely loaded and cached; <code>null</code> otherwise
+     */
+    Object[] completedChildren( final Object item ) {
+        final FutureTask< Object > task;
+        synchronized ( cache ) {
+            final Map< Attribute, FutureTask< Object > > attributes = cache.get( item );
+            task = attributes == null ? null : attributes.get( Attribute.CHILDREN );
+        }
+        if ( task == null || !task.isDone() ) return null;
+        try {
+            return ( Object[] ) task.get();
+        } catch ( final InterruptedException | ExecutionException e ) {
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#createCell(java.lang.Object)
+     */
+    @Override
+    public Cell createCell( final Object item ) {
+        return delegate.createCell( item );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#createChildAt(java.lang.Object, int)
+     */
+    @Override
+    public Object createChildAt( final Object parent,
+                                 final int index ) throws PolyglotterException {
+        try {
+            return delegate.createChildAt( parent, index );
+        } finally {
+            invalidate( parent );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#deletable(java.lang.Object)
+     */
+    @Override
+    public boolean deletable( final Object item ) {
+        return ( Boolean ) cachedUnchecked( item, Attribute.DELETABLE, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.deletable( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#delete(java.lang.Object)
+     */
+    @Override
+    public boolean delete( final Object item ) {
+        try {
+            return delegate.delete( item );
+        } finally {
+            invalidateParents( item );
+            invalidateSubtree( item );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#hasChildren(java.lang.Object)
+     */
+    @Override
+    public boolean hasChildren( final Object item ) throws PolyglotterException {
+        final Object[] children = completedChildren( item );
+        if ( children != null ) {
+            hitCount.incrementAndGet();
+            return children.length > 0;
+        }
+        return ( Boolean ) cached( item, Attribute.HAS_CHILDREN, new Callable< Object >() {
+
+            @Override
+            public Object call() throws PolyglotterException {
+                return delegate.hasChildren( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#hasValue(java.lang.Object)
+     */
+    @Override
+    public boolean hasValue( final Object item ) {
+        return ( Boolean ) cachedUnchecked( item, Attribute.HAS_VALUE, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.hasValue( item );
+            }
+        } );
+    }
+
+    /**
+     * @return the number of requests answered from the cache, including those that waited on a load already in progress
+     */
+    public long hitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#icon(java.lang.Object)
+     */
+    @Override
+    public Image icon( final Object item ) {
+        return ( Image ) cachedUnchecked( item, Attribute.ICON, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.icon( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#indicators(java.lang.Object)
+     */
+    @Override
+    public Indicator[] indicators( final Object item ) {
+        return ( Indicator[] ) cachedUnchecked( item, Attribute.INDICATORS, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.indicators( item );
+            }
+        } );
+    }
+
+    /**
+     * Discards the cached attributes and children of the supplied item, but not those of its descendants
+     * 
+     * @param item
+     *        an item in the tree
+     */
+    public void invalidate( final Object item ) {
+        synchronized ( cache ) {
+            cache.remove( item );
+        }
+    }
+
+    /**
+     * Discards everything cached by this model
+     */
+    public void invalidateAll() {
+        synchronized ( cache ) {
+            cache.clear();
+        }
+    }
+
+    private void invalidateChildren( final Object item ) {
+        synchronized ( cache ) {
+            final Map< Attribute, FutureTask< Object > > attributes = cache.get( item );
+            if ( attributes != null ) {
+                attributes.remove( Attribute.CHILDREN );
+                attributes.remove( Attribute.CHILD_COUNT );
+                attributes.remove( Attribute.HAS_CHILDREN );
+            }
+        }
+    }
+
+    private void invalidateParents( final Object item ) {
+        synchronized ( cache ) {
+            for ( final Map< Attribute, FutureTask< Object > > attributes : cache.values() ) {
+                final FutureTask< Object > task = attributes.get( Attribute.CHILDREN );
+                if ( task == null || !task.isDone() ) continue;
+                try {
+                    for ( final Object child : ( Object[] ) task.get() ) {
+                        if ( item.equals( child ) ) {
+                            attributes.clear();
+                            break;
+                        }
+                    }
+                } catch ( final InterruptedException | ExecutionException ignored ) {
+                    attributes.remove( Attribute.CHILDREN );
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards the cached attributes and children of the supplied item and of its descendants whose children have been cached.
+     * 
+     * @param item
+     *        an item in the tree
+     */
+    public void invalidateSubtree( final Object item ) {
+        final Object[] children = completedChildren( item );
+        invalidate( item );
+        if ( children != null ) for ( final Object child : children )
+            invalidateSubtree( child );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#itemWithQualifiedName(java.lang.String)
+     */
+    @Override
+    public Object itemWithQualifiedName( final String qualifiedName ) throws PolyglotterException {
+        return delegate.itemWithQualifiedName( qualifiedName );
+    }
+
+    /**
+     * @return the number of requests that had to be obtained from the decorated model
+     */
+    public long missCount() {
+        return missCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#name(java.lang.Object)
+     */
+    @Override
+    public String name( final Object item ) throws PolyglotterException {
+        return ( String ) cached( item, Attribute.NAME, new Callable< Object >() {
+
+            @Override
+            public Object call() throws PolyglotterException {
+                return delegate.name( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#nameEditable(java.lang.Object)
+     */
+    @Override
+    public boolean nameEditable( final Object item ) {
+        return ( Boolean ) cachedUnchecked( item, Attribute.NAME_EDITABLE, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.nameEditable( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#nameProblem(java.lang.Object, java.lang.String)
+     */
+    @Override
+    public String nameProblem( final Object item,
+                               final String name ) {
+        return delegate.nameProblem( item, name );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#parent(java.lang.Object)
+     */
+    @Override
+    public Object parent( final Object item ) throws PolyglotterException {
+        return cached( item, Attribute.PARENT, new Callable< Object >() {
+
+            @Override
+            public Object call() throws PolyglotterException {
+                return delegate.parent( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#pathButtonBackgroundColor(java.lang.Object)
+     */
+    @Override
+    public Color pathButtonBackgroundColor( final Object item ) {
+        return ( Color ) cachedUnchecked( item, Attribute.PATH_BUTTON_BACKGROUND_COLOR, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.pathButtonBackgroundColor( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#pathButtonForegroundColor(java.lang.Object)
+     */
+    @Override
+    public Color pathButtonForegroundColor( final Object item ) {
+        return ( Color ) cachedUnchecked( item, Attribute.PATH_BUTTON_FOREGROUND_COLOR, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.pathButtonForegroundColor( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#pathButtonHiddenBackgroundColor(java.lang.Object)
+     */
+    @Override
+    public Color pathButtonHiddenBackgroundColor( final Object item ) {
+        return ( Color ) cachedUnchecked( item, Attribute.PATH_BUTTON_HIDDEN_BACKGROUND_COLOR, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.pathButtonHiddenBackgroundColor( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#pathButtonHiddenForegroundColor(java.lang.Object)
+     */
+    @Override
+    public Color pathButtonHiddenForegroundColor( final Object item ) {
+        return ( Color ) cachedUnchecked( item, Attribute.PATH_BUTTON_HIDDEN_FOREGROUND_COLOR, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.pathButtonHiddenForegroundColor( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#qualifiedName(java.lang.Object)
+     */
+    @Override
+    public String qualifiedName( final Object item ) {
+        return ( String ) cachedUnchecked( item, Attribute.QUALIFIED_NAME, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.qualifiedName( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#setName(java.lang.Object, java.lang.String)
+     */
+    @Override
+    public Object setName( final Object item,
+                           final String name ) throws PolyglotterException {
+        try {
+            return delegate.setName( item, name );
+        } finally {
+            invalidateParents( item );
+            invalidateSubtree( item );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#setType(java.lang.Object, java.lang.String)
+     */
+    @Override
+    public Object setType( final Object item,
+                           final String type ) throws PolyglotterException {
+        try {
+            return delegate.setType( item, type );
+        } finally {
+            invalidate( item );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#setValue(java.lang.Object, java.lang.String)
+     */
+    @Override
+    public Object setValue( final Object item,
+                            final String value ) throws PolyglotterException {
+        try {
+            return delegate.setValue( item, value );
+        } finally {
+            invalidate( item );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#type(java.lang.Object)
+     */
+    @Override
+    public String type( final Object item ) throws PolyglotterException {
+        return ( String ) cached( item, Attribute.TYPE, new Callable< Object >() {
+
+            @Override
+            public Object call() throws PolyglotterException {
+                return delegate.type( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#typeEditable(java.lang.Object)
+     */
+    @Override
+    public boolean typeEditable( final Object item ) {
+        return ( Boolean ) cachedUnchecked( item, Attribute.TYPE_EDITABLE, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.typeEditable( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#typeProblem(java.lang.Object, java.lang.String)
+     */
+    @Override
+    public String typeProblem( final Object item,
+                               final String type ) {
+        return delegate.typeProblem( item, type );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#value(java.lang.Object)
+     */
+    @Override
+    public String value( final Object item ) throws PolyglotterException {
+        return ( String ) cached( item, Attribute.VALUE, new Callable< Object >() {
+
+            @Override
+            public Object call() throws PolyglotterException {
+                return delegate.value( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#valueEditable(java.lang.Object)
+     */
+    @Override
+    public boolean valueEditable( final Object item ) {
+        return ( Boolean ) cachedUnchecked( item, Attribute.VALUE_EDITABLE, new Callable< Object >() {
+
+            @Override
+            public Object call() {
+                return delegate.valueEditable( item );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.Model#valueProblem(java.lang.Object, java.lang.String)
+     */
+    @Override
+    public String valueProblem( final Object item,
+                                final String value ) {
+        return delegate.valueProblem( item, value );
+    }
+
+    private enum Attribute {
+        CELL_BACKGROUND_COLOR,
+        CELL_FOREGROUND_COLOR,
+        CHILD_COUNT,
+        CHILD_INDEX_COLOR,
+        CHILDREN,
+        CHILDREN_ADDABLE,
+        CHILDREN_PAGED,
+        DELETABLE,
+        HAS_CHILDREN,
+        HAS_VALUE,
+        ICON,
+        INDICATORS,
+        NAME,
+        NAME_EDITABLE,
+        PARENT,
+        PATH_BUTTON_BACKGROUND_COLOR,
+        PATH_BUTTON_FOREGROUND_COLOR,
+        PATH_BUTTON_HIDDEN_BACKGROUND_COLOR,
+        PATH_BUTTON_HIDDEN_FOREGROUND_COLOR,
+        QUALIFIED_NAME,
+        TYPE,
+        TYPE_EDITABLE,
+        VALUE,
+        VALUE_EDITABLE
+    }
+}
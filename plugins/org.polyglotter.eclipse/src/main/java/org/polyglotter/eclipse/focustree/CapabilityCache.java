@@ -0,0 +1,291 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.polyglotter.eclipse.Activator;
+import org.polyglotter.eclipse.EclipseI18n;
+import org.polyglotter.eclipse.Util;
+import org.polyglotter.eclipse.focustree.FocusTree.Model;
+import org.polyglotter.eclipse.focustree.FocusTree.ModelListener;
+
+/**
+ * A bounded cache of the capabilities of the items shown in a {@link FocusTree focus tree}, such as whether they can be deleted,
+ * so that hovering over cells, which checks these capabilities on every mouse move, never queries the model. Capabilities are
+ * requested when cells are bound, loaded in the background if the tree {@link FocusTree#childrenLoadedInBackground() loads
+ * children in the background}, and invalidated by the model's {@link ModelListener change notifications}.
+ * <p>
+ * All methods other than those of the loader must be called from the UI thread.
+ */
+final class CapabilityCache implements ModelListener {
+
+    static final int MAXIMUM_ITEMS = 10000;
+
+    final FocusTree focusTree;
+    final Map< Object, Capabilities > capabilitiesByItem = new LinkedHashMap< Object, Capabilities >( 16, 0.75f, true ) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry< Object, Capabilities > eldest ) {
+            return size() > MAXIMUM_ITEMS;
+        }
+    };
+    final Set< Object > requestedItems = new HashSet<>();
+    final ConcurrentLinkedQueue< Request > requests = new ConcurrentLinkedQueue<>();
+    final Loader loader = new Loader();
+    /**
+     * Incremented whenever entries are invalidated, so results loaded before the invalidation can be discarded
+     */
+    int generation;
+    Runnable loadedListener;
+
+    CapabilityCache( final FocusTree focusTree ) {
+        this.focusTree = focusTree;
+    }
+
+    /**
+     * @param item
+     *        an item
+     * @param parent
+     *        the supplied item's parent, or <code>null</code> if the item is the tree's root
+     * @return the supplied item's capabilities if cached, otherwise <code>null</code> if they're being loaded in the background,
+     *         after which the {@link #setLoadedListener(Runnable) loaded listener} will be notified.
+     */
+    Capabilities capabilities( final Object item,
+                               final Object parent ) {
+        final Capabilities capabilities = capabilitiesByItem.get( item );
+        if ( capabilities != null || requestedItems.contains( item ) ) return capabilities;
+        if ( !focusTree.childrenLoadedInBackground() ) return capabilitiesNow( item, parent );
+        requestedItems.add( item );
+        requests.add( new Request( item, parent, generation ) );
+        loader.schedule();
+        return null;
+    }
+
+    /**
+     * @param item
+     *        an item
+     * @param parent
+     *        the supplied item's parent, or <code>null</code> if the item is the tree's root
+     * @return the supplied item's capabilities, loading them immediately if not cached
+     */
+    Capabilities capabilitiesNow( final Object item,
+                                  final Object parent ) {
+        Capabilities capabilities = capabilitiesByItem.get( item );
+        if ( capabilities == null ) {
+            capabilities = new Capabilities( focusTree.model, item, parent );
+            capabilitiesByItem.put( item, capabilities );
+        }
+        return capabilities;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.ModelListener#childrenChanged(java.lang.Object)
+     */
+    @Override
+    public void childrenChanged( final Object parent ) {
+        invalidate( parent );
+        for ( final Iterator< Capabilities > iter = capabilitiesByItem.values().iterator(); iter.hasNext(); )
+            if ( parent.equals( iter.next().parent ) ) iter.remove();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.ModelListener#childrenReordered(java.lang.Object, int[])
+     */
+    @Override
+    public void childrenReordered( final Object parent,
+                                   final int[] newIndexes ) {}
+
+    /**
+     * Discards all cached capabilities, e.g., when the tree's model changes
+     */
+    void clear() {
+        loader.cancel();
+        requests.clear();
+        requestedItems.clear();
+        capabilitiesByItem.clear();
+        generation++;
+    }
+
+    private void invalidate( final Object item ) {
+        capabilitiesByItem.remove( item );
+        generation++;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.ModelListener#itemChanged(java.lang.Object, int, java.lang.Object)
+     */
+    @Override
+    public void itemChanged( final Object parent,
+                             final int index,
+                             final Object item ) {
+        invalidate( item );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.ModelListener#itemsInserted(java.lang.Object, int, java.lang.Object[])
+     */
+    @Override
+    public void itemsInserted( final Object parent,
+                               final int index,
+                               final Object[] items ) {
+        // Adding children may change whether more can be added
+        invalidate( parent );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.ModelListener#itemsRemoved(java.lang.Object, int, int)
+     */
+    @Override
+    public void itemsRemoved( final Object parent,
+                              final int index,
+                              final int count ) {
+        // Removed items are no longer shown, so their entries will simply age out
+        invalidate( parent );
+    }
+
+    /**
+     * Caches capabilities loaded in the background, unless invalidated while they were being loaded
+     */
+    void loaded( final List< Capabilities > loadedCapabilities,
+                 final List< Request > loadedRequests ) {
+        for ( int ndx = 0; ndx < loadedRequests.size(); ndx++ ) {
+            final Request request = loadedRequests.get( ndx );
+            requestedItems.remove( request.item );
+            if ( request.generation == generation ) capabilitiesByItem.put( request.item, loadedCapabilities.get( ndx ) );
+        }
+        if ( loadedListener != null ) loadedListener.run();
+    }
+
+    /**
+     * @param loadedListener
+     *        notified on the UI thread whenever capabilities have been loaded in the background
+     */
+    void setLoadedListener( final Runnable loadedListener ) {
+        this.loadedListener = loadedListener;
+    }
+
+    /**
+     * The capabilities of an item
+     */
+    static final class Capabilities {
+
+        final Object parent;
+        final boolean childrenAddable;
+        final boolean deletable;
+        final boolean hasValue;
+        final boolean nameEditable;
+        final boolean typeEditable;
+        final boolean valueEditable;
+
+        Capabilities( final Model model,
+                      final Object item,
+                      final Object parent ) {
+            this.parent = parent;
+            childrenAddable = model.childrenAddable( item );
+            deletable = model.deletable( item );
+            hasValue = model.hasValue( item );
+            nameEditable = model.nameEditable( item );
+            typeEditable = model.typeEditable( item );
+            valueEditable = model.valueEditable( item );
+        }
+    }
+
+    class Loader extends Job {
+
+        Loader() {
+            super( EclipseI18n.focusTreeLoadingCapabilitiesJob.text() );
+            setSystem( true );
+            setPriority( SHORT );
+        }
+
+        /**
+         * {@inheritDoc}
+         * 
+         * @see org.eclipse.core.runtime.jobs.Job#run(org.eclipse.core.runtime.IProgressMonitor)
+         */
+        @Override
+        protected IStatus run( final IProgressMonitor monitor ) {
+            final Model model = focusTree.model;
+            final List< Request > loadedRequests = new ArrayList<>();
+            final List< Capabilities > loadedCapabilities = new ArrayList<>();
+            for ( Request request = requests.poll(); request != null && !monitor.isCanceled(); request = requests.poll() ) {
+                try {
+                    loadedCapabilities.add( new Capabilities( model, request.item, request.parent ) );
+                    loadedRequests.add( request );
+                } catch ( final RuntimeException e ) {
+                    // Leave item requested so it isn't repeatedly re-requested, and consequently never shows its capabilities
+                    Activator.logger().log( Util.createErrorStatus( e ) );
+                }
+            }
+            if ( loadedRequests.isEmpty() ) return Status.OK_STATUS;
+            focusTree.getDisplay().asyncExec( new Runnable() {
+
+                @Override
+                public void run() {
+                    if ( !focusTree.isDisposed() ) loaded( loadedCapabilities, loadedRequests );
+                }
+            } );
+            return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+        }
+    }
+
+    static final class Request {
+
+        final Object item;
+        final Object parent;
+        final int generation;
+
+        Request( final Object item,
+                 final Object parent,
+                 final int generation ) {
+            this.item = item;
+            this.parent = parent;
+            this.generation = generation;
+        }
+    }
+}
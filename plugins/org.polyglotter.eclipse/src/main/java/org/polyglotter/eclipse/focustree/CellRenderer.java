@@ -0,0 +1,254 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import org.eclipse.draw2d.FigureUtilities;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.Image;
+import org.polyglotter.common.PolyglotterException;
+import org.polyglotter.eclipse.focustree.FocusTree.Indicator;
+import org.polyglotter.eclipse.focustree.FocusTree.Model;
+
+/**
+ * A stateless renderer that paints the rows of a cell column directly, rather than via a {@link FocusTree.Cell cell's} figures,
+ * so that only rows that are focused, edited, or hovered over require figures. Rows are painted with the same arrangement as
+ * cells: the index, icon, and indicators across the top, followed by the name, type, and, if present, value. When the tree is
+ * zoomed out too far for text to be legible, rows are instead painted in reduced detail, as {@link #paintBar colored bars} or
+ * {@link #paintStrip strips}.
+ */
+class CellRenderer {
+
+    /**
+     * The spacing between the parts of a row, which matches the default spacing of the grid layout used by cells
+     */
+    static final int SPACING = 5;
+    static final int CORNER_SIZE = 8;
+
+    private int drawCentered( final Graphics graphics,
+                              final String text,
+                              final Rectangle area,
+                              final int y,
+                              final int lineHeight ) {
+        if ( text != null ) {
+            final int width = FigureUtilities.getTextExtents( text, graphics.getFont() ).width;
+            graphics.drawText( text, area.x + Math.max( 0, ( area.width - width ) / 2 ), y );
+        }
+        return y + lineHeight;
+    }
+
+    private int indicatorsWidth( final Indicator[] indicators ) {
+        int width = 0;
+        for ( final Indicator indicator : indicators )
+            width += indicator.image.getBounds().width;
+        return width;
+    }
+
+    /**
+     * @param font
+     *        the font used to paint rows
+     * @param inset
+     *        the width of the border within each row
+     * @param model
+     *        the model of the focus tree
+     * @param item
+     *        the item shown in the row
+     * @param index
+     *        the index shown in the row
+     * @return the minimum width of the supplied item's row, which fits its index, icon, and indicators
+     */
+    int minimumWidth( final Font font,
+                      final int inset,
+                      final Model model,
+                      final Object item,
+                      final String index ) {
+        final Image icon = model.icon( item );
+        final int width = Math.max( FigureUtilities.getTextExtents( index, font ).width, indicatorsWidth( model.indicators( item ) ) );
+        return 2 * width + ( icon == null ? 0 : icon.getBounds().width ) + 2 * SPACING + 2 * inset;
+    }
+
+    /**
+     * Paints the supplied item's row. Errors retrieving the item's name, type, or value are reported once a cell is materialized
+     * for the row, so here they only cause the remaining text to be omitted.
+     * 
+     * @param graphics
+     *        the graphics with which to paint
+     * @param bounds
+     *        the bounds of the row
+     * @param inset
+     *        the width of the border within each row
+     * @param model
+     *        the model of the focus tree
+     * @param parent
+     *        the parent of the supplied item
+     * @param item
+     *        the item shown in the row
+     * @param index
+     *        the index shown in the row
+     */
+    void paint( final Graphics graphics,
+                final Rectangle bounds,
+                final int inset,
+                final Model model,
+                final Object parent,
+                final Object item,
+                final String index ) {
+        graphics.pushState();
+        try {
+            graphics.setBackgroundColor( model.cellBackgroundColor( item ) );
+            graphics.fillRoundRectangle( bounds, CORNER_SIZE, CORNER_SIZE );
+            graphics.drawRoundRectangle( new Rectangle( bounds.x, bounds.y, bounds.width - 1, bounds.height - 1 ),
+                                         CORNER_SIZE, CORNER_SIZE );
+            final Rectangle area = new Rectangle( bounds ).shrink( inset, inset );
+            graphics.clipRect( area );
+            // Paint index, icon, and indicators across the top
+            final int lineHeight = FigureUtilities.getFontMetrics( graphics.getFont() ).getHeight();
+            final Image icon = model.icon( item );
+            final int topHeight = Math.max( lineHeight, icon == null ? 0 : icon.getBounds().height );
+            graphics.setForegroundColor( model.childIndexColor( parent ) );
+            graphics.drawText( index, area.x, area.y + ( topHeight - lineHeight ) / 2 );
+            if ( icon != null ) {
+                final org.eclipse.swt.graphics.Rectangle iconBounds = icon.getBounds();
+                graphics.drawImage( icon, area.x + ( area.width - iconBounds.width ) / 2, area.y + ( topHeight - iconBounds.height ) / 2 );
+            }
+            int x = area.x + area.width;
+            final Indicator[] indicators = model.indicators( item );
+            for ( int ndx = indicators.length; --ndx >= 0; ) {
+                final org.eclipse.swt.graphics.Rectangle imageBounds = indicators[ ndx ].image.getBounds();
+                x -= imageBounds.width;
+                graphics.drawImage( indicators[ ndx ].image, x, area.y + ( topHeight - imageBounds.height ) / 2 );
+            }
+            // Paint name, type, and value
+            graphics.setForegroundColor( model.cellForegroundColor( item ) );
+            int y = area.y + topHeight + SPACING;
+            y = drawCentered( graphics, model.name( item ), area, y, lineHeight ) + SPACING;
+            y = drawCentered( graphics, model.type( item ), area, y, lineHeight ) + SPACING;
+            if ( model.hasValue( item ) ) drawCentered( graphics, model.value( item ), area, y, lineHeight );
+        } catch ( final PolyglotterException ignored ) {
+            // Reported when the row's cell is materialized
+        } finally {
+            graphics.popState();
+        }
+    }
+
+    /**
+     * Paints the supplied item's row in reduced detail, as a bar of its cell's background color crossed by a bar of its text
+     * color in place of its name.
+     * 
+     * @param graphics
+     *        the graphics with which to paint
+     * @param bounds
+     *        the bounds of the row
+     * @param model
+     *        the model of the focus tree
+     * @param item
+     *        the item shown in the row
+     */
+    void paintBar( final Graphics graphics,
+                   final Rectangle bounds,
+                   final Model model,
+                   final Object item ) {
+        graphics.pushState();
+        try {
+            graphics.setBackgroundColor( model.cellBackgroundColor( item ) );
+            graphics.fillRectangle( bounds );
+            graphics.setBackgroundColor( model.cellForegroundColor( item ) );
+            graphics.fillRectangle( bounds.x + bounds.width / 4, bounds.y + bounds.height * 2 / 5, bounds.width / 2,
+                                    Math.max( bounds.height / 5, 1 ) );
+        } finally {
+            graphics.popState();
+        }
+    }
+
+    /**
+     * Paints a strip of consecutive rows in the least detail, as a single rectangle of the background color of the supplied
+     * item's cell, which represents all of them.
+     * 
+     * @param graphics
+     *        the graphics with which to paint
+     * @param bounds
+     *        the bounds of the strip
+     * @param model
+     *        the model of the focus tree
+     * @param item
+     *        the item shown in the first row of the strip
+     */
+    void paintStrip( final Graphics graphics,
+                     final Rectangle bounds,
+                     final Model model,
+                     final Object item ) {
+        graphics.pushState();
+        try {
+            graphics.setBackgroundColor( model.cellBackgroundColor( item ) );
+            graphics.fillRectangle( bounds );
+        } finally {
+            graphics.popState();
+        }
+    }
+
+    /**
+     * Errors retrieving the item's name, type, or value are reported once a cell is materialized for the row, so here they only
+     * cause the corresponding text to be ignored.
+     * 
+     * @param font
+     *        the font used to paint rows
+     * @param inset
+     *        the width of the border within each row
+     * @param model
+     *        the model of the focus tree
+     * @param item
+     *        the item shown in the row
+     * @param index
+     *        the index shown in the row
+     * @return the preferred size of the supplied item's row
+     */
+    Dimension preferredSize( final Font font,
+                             final int inset,
+                             final Model model,
+                             final Object item,
+                             final String index ) {
+        final int lineHeight = FigureUtilities.getFontMetrics( font ).getHeight();
+        final Image icon = model.icon( item );
+        int width = minimumWidth( font, inset, model, item, index ) - 2 * inset;
+        int height = Math.max( lineHeight, icon == null ? 0 : icon.getBounds().height ) + 2 * ( SPACING + lineHeight );
+        try {
+            width = Math.max( width, textWidth( model.name( item ), font ) );
+            width = Math.max( width, textWidth( model.type( item ), font ) );
+            if ( model.hasValue( item ) ) {
+                width = Math.max( width, textWidth( model.value( item ), font ) );
+                height += SPACING + lineHeight;
+            }
+        } catch ( final PolyglotterException ignored ) {
+            // Reported when the row's cell is materialized
+        }
+        return new Dimension( width + 2 * inset, height + 2 * inset );
+    }
+
+    private int textWidth( final String text,
+                           final Font font ) {
+        return text == null ? 0 : FigureUtilities.getTextExtents( text, font ).width;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.polyglotter.eclipse.focustree.FocusTree.Model;
+
+/**
+ * A bounded history of the item last focused in each column of a {@link FocusTree focus tree}, used to focus the same item again
+ * when its parent is later expanded. Once the history reaches its {@link #capacity() capacity}, the least recently used parents
+ * are evicted. Focused items are only weakly referenced, and parents may optionally be {@link #keyedByName() keyed} by their
+ * {@link Model#qualifiedName(Object) qualified names} rather than referenced, so the history never prevents items from being
+ * garbage collected. The focus of a collected item is restored if an item with the same qualified name is still in the same row.
+ * <p>
+ * All methods must be called from the UI thread.
+ */
+final class FocusHistory {
+
+    final FocusTree focusTree;
+    int capacity = FocusTree.DEFAULT_FOCUS_HISTORY_CAPACITY;
+    boolean keyedByName;
+    final Map< Object, Focus > focusByParent = new LinkedHashMap< Object, Focus >( 16, 0.75f, true ) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry< Object, Focus > eldest ) {
+            return size() > capacity;
+        }
+    };
+
+    FocusHistory( final FocusTree focusTree ) {
+        this.focusTree = focusTree;
+    }
+
+    /**
+     * @return the maximum number of parents for which the focused item is remembered
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Forgets the focused items of all parents
+     */
+    void clear() {
+        focusByParent.clear();
+    }
+
+    /**
+     * @param parent
+     *        the parent of the items in a column
+     * @param items
+     *        the supplied parent's children, some of which may not yet be loaded
+     * @return the row of the item last focused among the supplied parent's children, or -1 if unknown or no longer a child
+     */
+    int focusRow( final Object parent,
+                  final RowList items ) {
+        final Focus focus = focusByParent.get( key( parent ) );
+        if ( focus == null ) return -1;
+        final Object item = focus.item.get();
+        if ( item != null ) {
+            final int row = items.indexOf( item );
+            if ( row >= 0 ) return row;
+        }
+        // The item was collected or replaced, so check whether an item with the same name is where it was
+        if ( focus.qualifiedName != null && focus.row < items.size() ) {
+            final Object candidate = items.get( focus.row );
+            if ( candidate != null && focus.qualifiedName.equals( focusTree.model.qualifiedName( candidate ) ) ) return focus.row;
+        }
+        return -1;
+    }
+
+    /**
+     * @param parent
+     *        the parent of the items in a column
+     * @param item
+     *        the newly focused child of the supplied parent
+     * @param row
+     *        the row of the supplied item within the supplied parent's children
+     */
+    void focused( final Object parent,
+                  final Object item,
+                  final int row ) {
+        final Focus focus = focusByParent.get( key( parent ) );
+        if ( focus != null && focus.row == row && focus.item.get() == item ) return;
+        focusByParent.put( key( parent ),
+                           new Focus( item, row, keyedByName ? focusTree.model.qualifiedName( item ) : null ) );
+    }
+
+    private Object key( final Object parent ) {
+        return keyedByName ? focusTree.model.qualifiedName( parent ) : parent;
+    }
+
+    /**
+     * @return <code>true</code> if parents are identified by their {@link Model#qualifiedName(Object) qualified names} rather
+     *         than referenced
+     */
+    boolean keyedByName() {
+        return keyedByName;
+    }
+
+    /**
+     * @param capacity
+     *        the maximum number of parents for which the focused item is to be remembered, or the
+     *        {@link FocusTree#DEFAULT_FOCUS_HISTORY_CAPACITY default capacity} if not positive
+     */
+    void setCapacity( final int capacity ) {
+        this.capacity = capacity <= 0 ? FocusTree.DEFAULT_FOCUS_HISTORY_CAPACITY : capacity;
+        // Evict least recently used parents beyond the new capacity
+        for ( final Iterator< Object > iter = focusByParent.keySet().iterator(); focusByParent.size() > this.capacity; ) {
+            iter.next();
+            iter.remove();
+        }
+    }
+
+    /**
+     * Note, changing how parents are identified clears the history.
+     * 
+     * @param keyedByName
+     *        <code>true</code> if parents are to be identified by their {@link Model#qualifiedName(Object) qualified names}
+     *        rather than referenced
+     */
+    void setKeyedByName( final boolean keyedByName ) {
+        if ( keyedByName == this.keyedByName ) return;
+        this.keyedByName = keyedByName;
+        focusByParent.clear();
+    }
+
+    /**
+     * @param parent
+     *        the parent of the items in a column
+     * @param items
+     *        the supplied parent's children, some of which may not yet be loaded
+     * @return the row last focused among the supplied parent's children if it's in a page that has yet to be loaded, and
+     *         where the item last focused may be found once the page is loaded, otherwise -1
+     */
+    int unloadedFocusRow( final Object parent,
+                          final RowList items ) {
+        final Focus focus = focusByParent.get( key( parent ) );
+        return focus != null && focus.row < items.size() && items.get( focus.row ) == null ? focus.row : -1;
+    }
+
+    static final class Focus {
+
+        final WeakReference< Object > item;
+        final int row;
+        /**
+         * The qualified name of the focused item if the history is {@link FocusHistory#keyedByName() keyed by name}, otherwise
+         * <code>null</code>
+         */
+        final String qualifiedName;
+
+        Focus( final Object item,
+               final int row,
+               final String qualifiedName ) {
+            this.item = new WeakReference<>( item );
+            this.row = row;
+            this.qualifiedName = qualifiedName;
+        }
+    }
+}
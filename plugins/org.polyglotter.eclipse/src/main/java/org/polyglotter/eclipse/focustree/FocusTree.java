@@ -24,21 +24,61 @@
 package org.polyglotter.eclipse.focustree;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-
-import org.apache.poi.ss.usermodel.Color;
-import org.hibernate.search.spatial.impl.Point;
-import org.hibernate.search.spatial.impl.Rectangle;
-import org.modeshape.common.annotation.Label;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.draw2d.Border;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.LayoutManager;
+import org.eclipse.draw2d.RoundedRectangle;
+import org.eclipse.jface.layout.GridDataFactory;
+import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.ScrolledComposite;
+import org.eclipse.swt.dnd.Clipboard;
+import org.eclipse.swt.dnd.TextTransfer;
+import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
+import org.eclipse.swt.events.MouseAdapter;
+import org.eclipse.swt.events.MouseEvent;
+import org.eclipse.swt.events.MouseTrackAdapter;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.events.SelectionListener;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.layout.RowLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Menu;
+import org.eclipse.swt.widgets.MenuItem;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Slider;
+import org.eclipse.swt.widgets.ToolBar;
+import org.eclipse.swt.widgets.ToolItem;
+import org.eclipse.ui.IMemento;
 import org.polyglotter.common.CheckArg;
 import org.polyglotter.common.I18n;
 import org.polyglotter.common.PolyglotterException;
 import org.polyglotter.eclipse.Activator;
 import org.polyglotter.eclipse.EclipseI18n;
-import org.polyglotter.eclipse.focustree.FocusTreeCanvas.AddPanel;
 import org.polyglotter.eclipse.focustree.FocusTreeCanvas.CellColumn;
 import org.polyglotter.eclipse.focustree.FocusTreeCanvas.DeleteButton;
+import org.polyglotter.eclipse.focustree.HeaderBar.Header;
+import org.polyglotter.eclipse.focustree.PathButtonBar.PathButton;
 
 //TODO icon view
 //TODO cell editors
@@ -46,20 +86,17 @@ import org.polyglotter.eclipse.focustree.FocusTreeCanvas.DeleteButton;
 //TODO edit index via double-click
 //TODO move position of cells
 //TODO resize bug
-//TODO zoom, search
 //TODO context menu contributions; indicator context menu contributions
 // TODO keyboard arrows
 // TODO tab traversal
 // TODO rotate
 // TODO user override double-click cell
-// TODO listen for model updates
 //TODO swt vertical scroll bar
 // TODO tutorial
 //TODO filter mapped properties
 //TODO filter referencing operations in sync'd tree
-// TODO color registry?
 // TODO separate view from controller
-//TODO renderers for cells, add and delete buttons (background column, cell columns, headers?) to save memory
+//TODO renderers for background columns to save memory
 /**
  * 
  */
@@ -68,16 +105,39 @@ public class FocusTree extends Composite {
     /**
      * 
      */
+    public static final double DEFAULT_BAR_DETAIL_SCALE = 0.6;
+
+    /**
+     * @deprecated use {@link #DEFAULT_FOCUS_CELL_BORDER_RGB}, whose color is shared through the plug-in's resource registry
+     */
+    @Deprecated
     public static final Color DEFAULT_FOCUS_CELL_BORDER_COLOR = new Color( Display.getCurrent(), 0, 128, 255 );
 
     /**
      * 
      */
+    public static final RGB DEFAULT_FOCUS_CELL_BORDER_RGB = new RGB( 0, 128, 255 );
+
+    /**
+     * @deprecated use {@link #DEFAULT_FOCUS_COLUMN_RGB}, whose color is shared through the plug-in's resource registry
+     */
+    @Deprecated
     public static final Color DEFAULT_FOCUS_COLUMN_COLOR = new Color( Display.getCurrent(), 194, 223, 255 );
 
     /**
      * 
      */
+    public static final RGB DEFAULT_FOCUS_COLUMN_RGB = new RGB( 194, 223, 255 );
+
+    /**
+     * 
+     */
+    public static final int DEFAULT_FOCUS_HISTORY_CAPACITY = 256;
+
+    /**
+     * @deprecated use {@link #DEFAULT_FOCUS_LINE_RGB}, whose color is shared through the plug-in's resource registry
+     */
+    @Deprecated
     public static final Color DEFAULT_FOCUS_LINE_COLOR = DEFAULT_FOCUS_CELL_BORDER_COLOR;
 
     /**
@@ -85,6 +145,11 @@ public class FocusTree extends Composite {
      */
     public static final int DEFAULT_FOCUS_LINE_HEIGHT = 5;
 
+    /**
+     * 
+     */
+    public static final RGB DEFAULT_FOCUS_LINE_RGB = DEFAULT_FOCUS_CELL_BORDER_RGB;
+
     /**
      *
      */
@@ -95,11 +160,33 @@ public class FocusTree extends Composite {
      */
     public static final int DEFAULT_FOCUS_LINE_OFFSET = 75;
 
+    /**
+     * 
+     */
+    public static final double DEFAULT_STRIP_DETAIL_SCALE = 0.25;
+
+    /**
+     * 
+     */
+    public static final double MAXIMUM_ZOOM = 2;
+
+    /**
+     * 
+     */
+    public static final double MINIMUM_ZOOM = 0.05;
+
     static final Clipboard CLIPBOARD = new Clipboard( Display.getCurrent() );
 
     static final int HEADER_MARGIN = 2;
 
-    private static final String HIDE_BUTTON_PROPERTY = "org.polyglotter.hideButton";
+    // Memento tags and attributes
+    private static final String COLUMN_TAG = "column";
+    private static final String FOCUS_COLUMN_ATTRIBUTE = "focusColumn";
+    private static final String FOCUS_ITEM_ATTRIBUTE = "focusItem";
+    private static final String HIDDEN_ATTRIBUTE = "hidden";
+    private static final String ITEM_ATTRIBUTE = "item";
+    private static final String WIDTH_ATTRIBUTE = "width";
+    private static final String ZOOM_ATTRIBUTE = "zoom";
 
     /**
      * @param arguments
@@ -124,35 +211,70 @@ public class FocusTree extends Composite {
     }
 
     Object root;
-    final Composite pathButtonBar;
-    final Composite headerBar;
+    final InteractionScheduler interactionScheduler = new InteractionScheduler( this );
+    final CapabilityCache capabilityCache = new CapabilityCache( this );
+    final FocusHistory focusHistory = new FocusHistory( this );
+    final PathButtonBar pathButtonBar;
+    final HeaderBar headerBar;
     final FocusTreeCanvas focusTreeCanvas;
     final Composite headeredCanvas;
     final ScrolledComposite scroller;
     final List< Column > columns = new ArrayList<>();
     final Label leftPathBarButton, rightPathBarButton;
-    final PaintListener pathButtonPaintListener = new PaintListener() {
+    final SearchField searchField;
+    final Slider zoomSlider;
+
+    Model model;
+    // Recently removed columns and prefetched children can no longer be reused once their items' children change
+    final ModelListener modelListener = new ModelListener() {
 
         @Override
-        public void paintControl( final PaintEvent event ) {
-            event.gc.setBackground( pathButtonBar.getBackground() );
-            event.gc.fillRectangle( event.x, event.y, event.width, event.height );
-            final Label label = ( Label ) event.widget;
-            event.gc.setBackground( label.getBackground() );
-            event.gc.fillRoundRectangle( event.x, event.y, event.width, event.height, event.height, event.height );
-            event.gc.drawString( label.getText(), event.height / 2, event.y );
+        public void childrenChanged( final Object parent ) {
+            final Column column = column( parent );
+            focusTreeCanvas.removedColumnsByItem.remove( parent );
+            focusTreeCanvas.prefetchedLoadersByItem.remove( parent );
+            if ( column != null ) focusTreeCanvas.childrenChanged( column );
         }
-    };
-    final PaintListener headerPaintListener = new PaintListener() {
 
         @Override
-        public void paintControl( final PaintEvent event ) {
-            final Rectangle bounds = ( ( Composite ) event.widget ).getBounds();
-            event.gc.drawRectangle( 0, 0, bounds.width - 1, bounds.height - 1 );
+        public void childrenReordered( final Object parent,
+                                       final int[] newIndexes ) {
+            final Column column = column( parent );
+            focusTreeCanvas.removedColumnsByItem.remove( parent );
+            focusTreeCanvas.prefetchedLoadersByItem.remove( parent );
+            if ( column != null ) focusTreeCanvas.childrenReordered( column, newIndexes );
         }
-    };
 
-    Model model;
+        @Override
+        public void itemChanged( final Object parent,
+                                 final int index,
+                                 final Object item ) {
+            final Column column = column( parent );
+            focusTreeCanvas.removedColumnsByItem.remove( parent );
+            focusTreeCanvas.prefetchedLoadersByItem.remove( parent );
+            if ( column != null ) focusTreeCanvas.itemChanged( column, index, item );
+        }
+
+        @Override
+        public void itemsInserted( final Object parent,
+                                   final int index,
+                                   final Object[] items ) {
+            final Column column = column( parent );
+            focusTreeCanvas.removedColumnsByItem.remove( parent );
+            focusTreeCanvas.prefetchedLoadersByItem.remove( parent );
+            if ( column != null ) focusTreeCanvas.itemsInserted( column, index, items );
+        }
+
+        @Override
+        public void itemsRemoved( final Object parent,
+                                  final int index,
+                                  final int count ) {
+            final Column column = column( parent );
+            focusTreeCanvas.removedColumnsByItem.remove( parent );
+            focusTreeCanvas.prefetchedLoadersByItem.remove( parent );
+            if ( column != null ) focusTreeCanvas.itemsRemoved( column, index, count );
+        }
+    };
     Column focusColumn;
 
     /**
@@ -175,6 +297,7 @@ public class FocusTree extends Composite {
     public FocusTree( final Composite parent,
                       final boolean closable ) {
         super( parent, SWT.NONE );
+        Activator.plugin().resources().connect( this );
         ( ( FillLayout ) parent.getLayout() ).type = SWT.VERTICAL;
         GridLayoutFactory.fillDefaults().spacing( 0, 0 ).applyTo( this );
 
@@ -191,33 +314,17 @@ public class FocusTree extends Composite {
         final MenuItem copyPathMenuItem = new MenuItem( popup, SWT.PUSH );
         copyPathMenuItem.setText( EclipseI18n.focusTreeCopyPathMenuItem.text() );
 
-        // // Construct zoom slider
-        // final Composite sliderPanel = new Composite( toolBar, SWT.BORDER );
-        // GridDataFactory.swtDefaults().applyTo( sliderPanel );
-        // GridLayoutFactory.fillDefaults().applyTo( sliderPanel );
-        // final Slider zoomSlider = new Slider( sliderPanel, SWT.NONE );
-        // zoomSlider.setSelection( 50 );
-        // zoomSlider.setThumb( 1 );
-        // zoomSlider.setToolTipText( EclipseI18n.focusTreeZoomToolTip.text() );
-        // // Construct search field
-        // final Text searchText = new Text( toolBar, SWT.SEARCH | SWT.ICON_SEARCH | SWT.ICON_CANCEL );
-        // GridDataFactory.swtDefaults().align( SWT.FILL, SWT.CENTER ).grab( true, false ).applyTo( searchText );
-        // searchText.setToolTipText( EclipseI18n.focusTreeSearchToolTip.text() );
-
         // Construct path bar
         final Composite pathBar = new Composite( this, SWT.NONE );
         GridDataFactory.swtDefaults().align( SWT.FILL, SWT.CENTER ).grab( true, false ).applyTo( pathBar );
-        GridLayoutFactory.fillDefaults().numColumns( 5 ).applyTo( pathBar );
+        GridLayoutFactory.fillDefaults().numColumns( 7 ).applyTo( pathBar );
         ToolBar subToolBar = new ToolBar( pathBar, SWT.NONE );
         final SelectionAdapter copyPathSelectionListener = new SelectionAdapter() {
 
             @Override
             public void widgetSelected( final SelectionEvent event ) {
                 final TextTransfer textTransfer = TextTransfer.getInstance();
-                final StringBuilder path = new StringBuilder();
-                for ( final Control control : pathButtonBar.getChildren() )
-                    path.append( '/' ).append( ( ( Label ) control ).getText() );
-                CLIPBOARD.setContents( new Object[] { path.toString() }, new Transfer[] { textTransfer } );
+                CLIPBOARD.setContents( new Object[] { pathButtonBar.text() }, new Transfer[] { textTransfer } );
             }
         };
         newToolBarButton( subToolBar, SWT.PUSH, "copy.gif", EclipseI18n.focusTreeCopyPathToolTip, copyPathSelectionListener );
@@ -227,9 +334,8 @@ public class FocusTree extends Composite {
         leftPathBarButton.setImage( newArrowImage( arrowSize, true ) );
         leftPathBarButton.setToolTipText( EclipseI18n.focusTreePreviousPathButtonToolTip.text() );
         leftPathBarButton.setVisible( false );
-        pathButtonBar = new Composite( pathBar, SWT.NONE );
+        pathButtonBar = new PathButtonBar( this, pathBar );
         GridDataFactory.swtDefaults().align( SWT.FILL, SWT.CENTER ).grab( true, false ).applyTo( pathButtonBar );
-        RowLayoutFactory.fillDefaults().fill( true ).wrap( false ).applyTo( pathButtonBar );
         rightPathBarButton = new Label( pathBar, SWT.NONE );
         rightPathBarButton.setImage( newArrowImage( arrowSize, false ) );
         rightPathBarButton.setVisible( false );
@@ -238,51 +344,34 @@ public class FocusTree extends Composite {
 
             @Override
             public void mouseUp( final MouseEvent event ) {
-                final Control[] pathButtons = pathButtonBar.getChildren();
-                // Show last hidden path button on left
-                for ( int ndx = 0; ndx < pathButtons.length; ++ndx ) {
-                    Control pathButton = pathButtons[ ndx ];
-                    if ( pathButton.isVisible() ) {
-                        // Show previous path button
-                        pathButton = pathButtons[ --ndx ];
-                        pathButton.setVisible( true );
-                        ( ( RowData ) pathButton.getLayoutData() ).exclude = false;
-                        break;
-                    }
-                }
-                // Hide last shown path button on right until all buttons fit in button bar
-                final int width = pathButtonBar.getBounds().width;
-                for ( int ndx = pathButtons.length; --ndx >= 0 && pathButtonBar.computeSize( SWT.DEFAULT, SWT.DEFAULT ).x > width; ) {
-                    final Control pathButton = pathButtons[ ndx ];
-                    if ( pathButton.isVisible() ) {
-                        pathButton.setVisible( false );
-                        ( ( RowData ) pathButton.getLayoutData() ).exclude = true;
-                    }
-                }
-                pathButtonBar.layout();
-                leftPathBarButton.setVisible( !pathButtons[ 0 ].isVisible() );
-                rightPathBarButton.setVisible( true );
-                return;
+                pathButtonBar.showPreviousButton();
             }
         } );
         rightPathBarButton.addMouseListener( new MouseAdapter() {
 
             @Override
             public void mouseUp( final MouseEvent event ) {
-                final Control[] pathButtons = pathButtonBar.getChildren();
-                // Show first hidden path button on right
-                for ( int ndx = pathButtons.length; --ndx >= 0; ) {
-                    Control pathButton = pathButtons[ ndx ];
-                    if ( pathButton.isVisible() ) {
-                        // Show next path button
-                        pathButton = pathButtons[ ++ndx ];
-                        pathButton.setVisible( true );
-                        ( ( RowData ) pathButton.getLayoutData() ).exclude = false;
-                        break;
+                pathButtonBar.showNextButton();
+            }
+        } );
+        searchField = new SearchField( this, pathBar );
+
+        // Construct zoom slider, in percent
+        zoomSlider = new Slider( pathBar, SWT.NONE );
+        zoomSlider.setValues( 100, ( int ) ( MINIMUM_ZOOM * 100 ), ( int ) ( MAXIMUM_ZOOM * 100 ) + 1, 1, 5, 25 );
+        zoomSlider.setToolTipText( EclipseI18n.focusTreeZoomToolTip.text() );
+        zoomSlider.addSelectionListener( new SelectionAdapter() {
+
+            @Override
+            public void widgetSelected( final SelectionEvent event ) {
+                // Apply only the latest zoom once per frame
+                interactionScheduler.schedule( this, new Runnable() {
+
+                    @Override
+                    public void run() {
+                        setZoom( zoomSlider.getSelection() / 100.0 );
                     }
-                }
-                // Hide first shown path button on left until all buttons fit in button bar
-                hideExcessiveLeftMostPathButtons();
+                } );
             }
         } );
         subToolBar = new ToolBar( pathBar, SWT.NONE );
@@ -302,20 +391,6 @@ public class FocusTree extends Composite {
             closeMenuItem.setText( EclipseI18n.focusTreeCloseTreeMenuItem.text() );
             closeMenuItem.addSelectionListener( closeSelectionListener );
         }
-        pathButtonBar.addListener( SWT.Resize, new Listener() {
-
-            @Override
-            public void handleEvent( final Event event ) {
-                // Show all path buttons
-                final Control[] pathButtons = pathButtonBar.getChildren();
-                for ( final Control pathButton : pathButtons ) {
-                    pathButton.setVisible( true );
-                    ( ( RowData ) pathButton.getLayoutData() ).exclude = false;
-                }
-                // Hide first shown path button on left until all buttons fit in button bar
-                hideExcessiveLeftMostPathButtons();
-            }
-        } );
 
         // Construct horizontally-scrolling diagram area
         scroller = new ScrolledComposite( this, SWT.H_SCROLL | SWT.V_SCROLL );
@@ -331,9 +406,8 @@ public class FocusTree extends Composite {
         scroller.setBackground( Display.getCurrent().getSystemColor( SWT.COLOR_WHITE ) );
 
         // Construct header bar
-        headerBar = new Composite( headeredCanvas, SWT.NONE );
+        headerBar = new HeaderBar( this, headeredCanvas );
         GridDataFactory.swtDefaults().align( SWT.FILL, SWT.CENTER ).grab( true, false ).applyTo( headerBar );
-        GridLayoutFactory.fillDefaults().spacing( 0, 0 ).numColumns( 0 ).applyTo( headerBar );
 
         // Construct inner canvas
         focusTreeCanvas = new FocusTreeCanvas( this, headeredCanvas, SWT.BORDER | SWT.DOUBLE_BUFFERED );
@@ -348,7 +422,8 @@ public class FocusTree extends Composite {
             @Override
             public void mouseHover( final MouseEvent event ) {
                 final Point origin = scroller.getOrigin();
-                if ( !focusTreeCanvas.iconViewShown() && event.x - origin.x < focusTreeCanvas.toolBar.getSize().width ) {
+                if ( !focusTreeCanvas.iconViewShown()
+                     && event.x - origin.x < focusTreeCanvas.scaled( focusTreeCanvas.toolBar.getSize().width ) ) {
                     focusTreeCanvas.moveToolBar( origin.x );
                     focusTreeCanvas.toolBar.setVisible( true );
                 }
@@ -378,214 +453,73 @@ public class FocusTree extends Composite {
                 duplicate( root );
             }
         } );
+
+        // Detach from the model when disposed, since duplicate trees may share the model with trees that remain open
+        addDisposeListener( new DisposeListener() {
+
+            @Override
+            public void widgetDisposed( final DisposeEvent event ) {
+                if ( model == null ) return;
+                model.removeListener( modelListener );
+                model.removeListener( capabilityCache );
+                removeColumns();
+            }
+        } );
     }
 
     void addColumn( final Object item ) {
 
-        // Save previous column for use when resizing column
-        final Column previousColumn = columns.isEmpty() ? null : columns.get( columns.size() - 1 );
+        // Let the model start tracking changes to the item's children before they're loaded
+        model.columnAdded( item );
 
         // Add a new column
         final Column column = new Column();
         columns.add( column );
         column.item = item;
 
-        // Create listener for path bar button and header
-        final MouseAdapter headerControlMouseListener = new MouseAdapter() {
-
-            @Override
-            public void mouseUp( final MouseEvent event ) {
-                focusColumn( column );
-            }
-        };
-
-        final Color pathButtonBackgroundColor = model.pathButtonBackgroundColor( column.item );
-        final Color pathButtonForegroundColor = model.pathButtonForegroundColor( column.item );
-
-        // Add button for column to path button bar
-        createPathBarButton( column, pathButtonForegroundColor, pathButtonBackgroundColor, headerControlMouseListener );
-
-        // Construct header
-        createHeader( column, previousColumn, pathButtonForegroundColor, pathButtonBackgroundColor, headerControlMouseListener );
+        // Add button for column to path button bar, and construct header
+        final String name = model.name( column.item );
+        final String qualifiedName = model.qualifiedName( column.item );
+        column.pathButton = pathButtonBar.addButton( column, name, qualifiedName, model.pathButtonForegroundColor( column.item ),
+                                                     model.pathButtonBackgroundColor( column.item ) );
+        column.header = headerBar.addHeader( column, name, qualifiedName );
 
         // Add column to inner canvas
         focusTreeCanvas.addColumn( column );
-
-        // Update width of header to match child column width
-        GridDataFactory.swtDefaults().hint( column.cellColumn.getSize().width, SWT.DEFAULT ).applyTo( column.header );
-        headerBar.layout();
     }
 
-    boolean columnShown( final Column column ) {
-        return ( ( GridLayout ) column.header.getLayout() ).numColumns > 1;
+    /**
+     * @return the {@link #zoom() zoom} below which rows other than those that are focused, edited, or hovered over are painted
+     *         as colored bars rather than text and icons. Default is {@value #DEFAULT_BAR_DETAIL_SCALE}.
+     */
+    public double barDetailScale() {
+        return focusTreeCanvas.barDetailScale;
     }
 
-    private void createHeader( final Column column,
-                               final Column previousColumn,
-                               final Color pathButtonForegroundColor,
-                               final Color pathButtonBackgroundColor,
-                               final MouseListener headerControlMouseListener ) {
-        ( ( GridLayout ) headerBar.getLayout() ).numColumns++;
-        column.header = new Composite( headerBar, SWT.NONE );
-        GridLayoutFactory.fillDefaults().numColumns( 3 ).margins( HEADER_MARGIN, 1 ).applyTo( column.header );
-        column.header.setBackground( Display.getCurrent().getSystemColor( SWT.COLOR_GRAY ) );
-        column.header.addPaintListener( headerPaintListener );
-        final ColumnHeaderMouseListener columnHeaderMouseListener = new ColumnHeaderMouseListener( column, previousColumn );
-        column.header.addMouseListener( columnHeaderMouseListener );
-        column.header.addMouseMoveListener( columnHeaderMouseListener );
-        column.header.addMouseTrackListener( columnHeaderMouseListener );
-        column.header.addDragDetectListener( columnHeaderMouseListener );
-        column.header.setToolTipText( EclipseI18n.focusTreeHeaderToolTip.text() );
-        final Label childCount = new Label( column.header, SWT.NONE );
-        GridDataFactory.swtDefaults().applyTo( childCount );
-        childCount.setText( String.valueOf( model.childCount( column.item ) ) );
-        childCount.setToolTipText( EclipseI18n.focusTreeChildCountToolTip.text() );
-        childCount.addMouseListener( headerControlMouseListener );
-        childCount.setVisible( false );
-        final Label ItemName = new Label( column.header, SWT.CENTER );
-        GridDataFactory.swtDefaults().align( SWT.FILL, SWT.FILL ).grab( true, true ).applyTo( ItemName );
-        final String name = model.name( column.item );
-        ItemName.setText( name );
-        ItemName.setToolTipText( EclipseI18n.focusTreeParentNameToolTip.text( model.qualifiedName( column.item ) ) );
-        final FontData fontData = ItemName.getFont().getFontData()[ 0 ];
-        fontData.setStyle( SWT.BOLD );
-        ItemName.setFont( new Font( Display.getCurrent(), fontData ) );
-        ItemName.addMouseListener( headerControlMouseListener );
-        final Composite hideButtonPanel = new Composite( column.header, SWT.NONE );
-        GridDataFactory.swtDefaults().applyTo( hideButtonPanel );
-        GridLayoutFactory.fillDefaults().applyTo( hideButtonPanel );
-        hideButtonPanel.setToolTipText( EclipseI18n.focusTreeHeaderToolTip.text() );
-        final Label hideButton = new Label( hideButtonPanel, SWT.NONE );
-        GridDataFactory.swtDefaults().align( SWT.RIGHT, SWT.CENTER ).grab( true, false ).applyTo( hideButton );
-        hideButton.setImage( Activator.plugin().image( "minimize.gif" ) );
-        hideButton.setAlignment( SWT.RIGHT );
-        hideButton.setToolTipText( EclipseI18n.focusTreeHideColumnToolTip.text() );
-        hideButton.setVisible( false );
-        column.header.setData( HIDE_BUTTON_PROPERTY, hideButton );
-        final Label showButton = new Label( column.header, SWT.NONE );
-        GridDataFactory.swtDefaults().exclude( true ).applyTo( showButton );
-        showButton.setImage( Activator.plugin().image( "maximize.gif" ) );
-        showButton.setToolTipText( EclipseI18n.focusTreeShowColumnToolTip.text( name ) );
-        showButton.setVisible( false );
-
-        // Wire extra header info to show on mouse over
-        final MouseTrackListener headerMouseTrackListener = new MouseTrackAdapter() {
-
-            @Override
-            public void mouseEnter( final MouseEvent event ) {
-                if ( columnShown( column ) ) {
-                    childCount.setVisible( true );
-                    if ( !focusTreeCanvas.iconViewShown() ) hideButton.setVisible( true );
-                }
-            }
-
-            @Override
-            public void mouseExit( final MouseEvent event ) {
-                childCount.setVisible( false );
-                hideButton.setVisible( false );
-            }
-        };
-        column.header.addMouseTrackListener( headerMouseTrackListener );
-        ItemName.addMouseTrackListener( headerMouseTrackListener );
-        childCount.addMouseTrackListener( headerMouseTrackListener );
-        hideButtonPanel.addMouseTrackListener( headerMouseTrackListener );
-        hideButton.addMouseTrackListener( headerMouseTrackListener );
-
-        // Wire drill-into ability
-        final MouseListener headerMouseListener = new MouseAdapter() {
-
-            @Override
-            public void mouseDoubleClick( final MouseEvent event ) {
-                if ( focusTreeCanvas.iconViewShown() ) {
-                    focusTreeCanvas.hideIconView( column );
-                    hideIconView( column );
-                } else {
-                    focusTreeCanvas.showIconView( column );
-                    showIconView( column );
-                }
-            }
-        };
-        column.header.addMouseListener( headerMouseListener );
-        ItemName.addMouseListener( headerMouseListener );
-        childCount.addMouseListener( headerMouseListener );
-        hideButtonPanel.addMouseListener( headerMouseListener );
-
-        // Wire show and hide buttons
-        final Color pathButtonHiddenBackgroundColor = model.pathButtonHiddenBackgroundColor( column.item );
-        final Color pathButtonHiddenForegroundColor = model.pathButtonHiddenForegroundColor( column.item );
-        hideButton.addMouseListener( new MouseAdapter() {
-
-            @Override
-            public void mouseUp( final MouseEvent event ) {
-                // Hide column header
-                ( ( GridData ) childCount.getLayoutData() ).exclude = true;
-                childCount.setVisible( false );
-                ( ( GridData ) ItemName.getLayoutData() ).exclude = true;
-                ItemName.setVisible( false );
-                ( ( GridData ) hideButtonPanel.getLayoutData() ).exclude = true;
-                hideButtonPanel.setVisible( false );
-                ( ( GridData ) showButton.getLayoutData() ).exclude = false;
-                showButton.setVisible( true );
-                // Save current width for later re-show
-                final GridData gridData = ( ( GridData ) column.header.getLayoutData() );
-                column.widthBeforeHiding = gridData.widthHint;
-                // Change layout to use new preferred width
-                ( ( GridLayout ) column.header.getLayout() ).numColumns = 1;
-                final int width = column.header.computeSize( SWT.DEFAULT, SWT.DEFAULT ).x;
-                gridData.widthHint = width;
-                headerBar.layout();
-                // Hide column's canvas figures
-                focusTreeCanvas.hideColumn( column, width );
-                column.pathButton.setBackground( pathButtonHiddenBackgroundColor );
-                column.pathButton.setForeground( pathButtonHiddenForegroundColor );
-            }
-        } );
-        showButton.addMouseListener( new MouseAdapter() {
+    /**
+     * @return <code>true</code> if cells other than those that are focused, edited, or hovered over are painted by a shared
+     *         renderer rather than being constructed from figures. Default is <code>false</code>.
+     */
+    public boolean cellsRendered() {
+        return focusTreeCanvas.cellsRendered;
+    }
 
-            @Override
-            public void mouseUp( final MouseEvent event ) {
-                // Show column header
-                ( ( GridData ) childCount.getLayoutData() ).exclude = false;
-                childCount.setVisible( true );
-                ( ( GridData ) ItemName.getLayoutData() ).exclude = false;
-                ItemName.setVisible( true );
-                ( ( GridData ) hideButtonPanel.getLayoutData() ).exclude = false;
-                hideButtonPanel.setVisible( true );
-                ( ( GridData ) showButton.getLayoutData() ).exclude = true;
-                showButton.setVisible( false );
-                // Change layout to use new preferred width
-                ( ( GridLayout ) column.header.getLayout() ).numColumns = 3;
-                ( ( GridData ) column.header.getLayoutData() ).widthHint = column.widthBeforeHiding;
-                headerBar.layout();
-                // Show column's canvas figures
-                focusTreeCanvas.showColumn( column, column.widthBeforeHiding );
-                column.pathButton.setBackground( pathButtonBackgroundColor );
-                column.pathButton.setForeground( pathButtonForegroundColor );
-            }
-        } );
+    /**
+     * @return <code>true</code> if the children of expanded cells are loaded from the {@link #setModel(Model) model} in the
+     *         background. Default is <code>false</code>.
+     */
+    public boolean childrenLoadedInBackground() {
+        return focusTreeCanvas.childrenLoadedInBackground;
+    }
 
-        // Make child count and hide buttons the same size so arrow is centered
-        final int width = Math.max( childCount.computeSize( SWT.DEFAULT, SWT.DEFAULT ).x,
-                                    hideButtonPanel.computeSize( SWT.DEFAULT, SWT.DEFAULT ).x );
-        GridDataFactory.swtDefaults().hint( width, SWT.DEFAULT ).applyTo( childCount );
-        GridDataFactory.swtDefaults().hint( width, SWT.DEFAULT ).applyTo( hideButtonPanel );
+    private Column column( final Object item ) {
+        for ( final Column column : columns )
+            if ( column.item.equals( item ) ) return column;
+        return null;
     }
 
-    private void createPathBarButton( final Column column,
-                                      final Color pathButtonForegroundColor,
-                                      final Color pathButtonBackgroundColor,
-                                      final MouseListener listener ) {
-        column.pathButton = new Label( pathButtonBar, SWT.NONE );
-        column.pathButton.setBackground( pathButtonBackgroundColor );
-        column.pathButton.setForeground( pathButtonForegroundColor );
-        column.pathButton.setText( model.name( column.item ) );
-        final Point size = column.pathButton.computeSize( SWT.DEFAULT, SWT.DEFAULT );
-        column.pathButton.setAlignment( SWT.CENTER );
-        column.pathButton.setLayoutData( new RowData( size.x + 10, size.y ) );
-        column.pathButton.addPaintListener( pathButtonPaintListener );
-        column.pathButton.addMouseListener( listener );
-        column.pathButton.setToolTipText( EclipseI18n.focusTreePathButtonToolTip.text( model.qualifiedName( column.item ) ) );
-        hideExcessiveLeftMostPathButtons();
+    boolean columnShown( final Column column ) {
+        return !column.header.hidden;
     }
 
     void duplicate( final Object root ) {
@@ -597,7 +531,33 @@ public class FocusTree extends Composite {
     }
 
     /**
-     * @return the border color of focus cells. Default is {link {@link #DEFAULT_FOCUS_CELL_BORDER_COLOR} .
+     * Expands the cells of the supplied path of items, loading each column's children as necessary, then focuses on the cell of
+     * the last item. If children are {@link #childrenLoadedInBackground() loaded in the background}, the children of all items
+     * in the path are loaded concurrently. The path's columns are added in a single layout pass.
+     * 
+     * @param path
+     *        the items from this tree's root to the item to be shown
+     */
+    public void expandTo( final Object[] path ) {
+        CheckArg.notNull( path, "path" );
+        focusTreeCanvas.expandTo( path );
+    }
+
+    /**
+     * Expands the cells of the path to the item with the supplied qualified name, as {@link #expandTo(Object[])} does, after
+     * resolving the item via {@link Model#itemWithQualifiedName(String)} and its ancestors via {@link Model#parent(Object)} in
+     * the background.
+     * 
+     * @param qualifiedName
+     *        the {@link Model#qualifiedName(Object) qualified name} of an item under this tree's root
+     */
+    public void expandTo( final String qualifiedName ) {
+        CheckArg.notNull( qualifiedName, "qualifiedName" );
+        focusTreeCanvas.expandTo( qualifiedName );
+    }
+
+    /**
+     * @return the border color of focus cells. Default is {link {@link #DEFAULT_FOCUS_CELL_BORDER_RGB} .
      */
     public Color focusCellBorderColor() {
         return focusTreeCanvas.focusBorder.getColor();
@@ -620,14 +580,31 @@ public class FocusTree extends Composite {
     }
 
     /**
-     * @return the color of the focus column. Default is {@link #DEFAULT_FOCUS_COLUMN_COLOR}.
+     * @return the color of the focus column. Default is {@link #DEFAULT_FOCUS_COLUMN_RGB}.
      */
     public Color focusColumnColor() {
         return focusTreeCanvas.focusColumnColor;
     }
 
     /**
-     * @return the color of the focus line. Default is {@link #DEFAULT_FOCUS_LINE_COLOR}.
+     * @return the maximum number of parents for which the last focused child is remembered. Default is
+     *         {@value #DEFAULT_FOCUS_HISTORY_CAPACITY}.
+     */
+    public int focusHistoryCapacity() {
+        return focusHistory.capacity();
+    }
+
+    /**
+     * @return <code>true</code> if the last focused child of each parent is remembered by the parent's
+     *         {@link Model#qualifiedName(Object) qualified name} rather than by referencing the parent. Default is
+     *         <code>false</code>.
+     */
+    public boolean focusHistoryKeyedByName() {
+        return focusHistory.keyedByName();
+    }
+
+    /**
+     * @return the color of the focus line. Default is {@link #DEFAULT_FOCUS_LINE_RGB}.
      */
     public Color focusLineColor() {
         return focusTreeCanvas.focusLine.getBackgroundColor();
@@ -644,36 +621,21 @@ public class FocusTree extends Composite {
      * @return the initial offset of the focus line. Default is {@value #DEFAULT_FOCUS_LINE_OFFSET}.
      */
     public int focusLineOffset() {
-        return focusTreeCanvas.focusLineOffset;
-    }
-
-    void hideExcessiveLeftMostPathButtons() {
-        final Control[] pathButtons = pathButtonBar.getChildren();
-        final int width = pathButtonBar.getBounds().width;
-        for ( int ndx = 0; ndx < pathButtons.length &&
-                           pathButtonBar.computeSize( SWT.DEFAULT, SWT.DEFAULT ).x > width; ++ndx ) {
-            leftPathBarButton.setVisible( true );
-            final Control pathButton = pathButtons[ ndx ];
-            if ( pathButton.isVisible() ) {
-                pathButton.setVisible( false );
-                ( ( RowData ) pathButton.getLayoutData() ).exclude = true;
-            }
-        }
-        leftPathBarButton.setVisible( ( ( RowData ) ( ( Label ) pathButtons[ 0 ] ).getLayoutData() ).exclude );
-        rightPathBarButton.setVisible( ( ( RowData ) ( ( Label ) pathButtons[ pathButtons.length - 1 ] ).getLayoutData() ).exclude );
-        pathButtonBar.layout();
-        pathButtonBar.getParent().layout();
+        return focusTreeCanvas.layout.focusLineOffset;
     }
 
-    void hideIconView( final Column column ) {
-        for ( final Control control : headerBar.getChildren() ) {
-            ( ( GridData ) control.getLayoutData() ).exclude = false;
-            control.setVisible( true );
-        }
-        final GridData gridData = ( GridData ) column.header.getLayoutData();
-        gridData.grabExcessHorizontalSpace = false;
-        gridData.horizontalAlignment = SWT.BEGINNING;
-        headerBar.layout();
+    /**
+     * Hides the supplied column, leaving only a narrow header with a button to show the column again
+     * 
+     * @param column
+     *        a column
+     */
+    void hideColumn( final Column column ) {
+        // Save current width for later re-show
+        column.widthBeforeHiding = column.cellColumn.layout.width;
+        focusTreeCanvas.hideColumn( column, column.header.hide() );
+        column.pathButton.setColors( model.pathButtonHiddenForegroundColor( column.item ),
+                                     model.pathButtonHiddenBackgroundColor( column.item ) );
     }
 
     /**
@@ -693,14 +655,15 @@ public class FocusTree extends Composite {
 
     private void initialize() {
         // Dispose of all controls dependent upon old model
-        for ( final Control control : pathButtonBar.getChildren() )
-            control.dispose();
-        for ( final Control control : headerBar.getChildren() )
-            control.dispose();
+        pathButtonBar.clear();
+        headerBar.clear();
 
         focusColumn = null;
+        searchField.reset();
+        capabilityCache.clear();
 
         focusTreeCanvas.modelChanged();
+        columns.clear();
 
         // Add new first column for root
         if ( root != null && model != null ) addColumn( root );
@@ -708,19 +671,28 @@ public class FocusTree extends Composite {
 
     private Image newArrowImage( final int size,
                                  final boolean leftArrow ) {
-        final Image image = new Image( Display.getDefault(), size / 2 + 1, size );
-        final GC gc = new GC( image );
-        gc.setAntialias( SWT.ON );
-        gc.setForeground( Display.getCurrent().getSystemColor( SWT.COLOR_BLACK ) );
-        if ( leftArrow ) for ( int x = 0, y = size / 2; y >= 0; x++, y-- )
-            gc.drawLine( x, y, x, y + x * 2 );
-        else for ( int y = 0, x = 0; y <= size / 2; x++, y++ )
-            gc.drawLine( x, y, x, y + size - 1 - x * 2 );
-        gc.dispose();
-        final ImageData data = image.getImageData();
-        image.dispose();
-        data.transparentPixel = data.palette.getPixel( new RGB( 255, 255, 255 ) );
-        return new Image( Display.getCurrent(), data );
+        // Arrow images are shared by all trees, so they're only drawn if not already registered
+        final ImageDescriptor descriptor = new ImageDescriptor() {
+
+            @Override
+            public ImageData getImageData() {
+                final Image image = new Image( Display.getDefault(), size / 2 + 1, size );
+                final GC gc = new GC( image );
+                gc.setAntialias( SWT.ON );
+                gc.setForeground( Display.getCurrent().getSystemColor( SWT.COLOR_BLACK ) );
+                if ( leftArrow ) for ( int x = 0, y = size / 2; y >= 0; x++, y-- )
+                    gc.drawLine( x, y, x, y + x * 2 );
+                else for ( int y = 0, x = 0; y <= size / 2; x++, y++ )
+                    gc.drawLine( x, y, x, y + size - 1 - x * 2 );
+                gc.dispose();
+                final ImageData data = image.getImageData();
+                image.dispose();
+                data.transparentPixel = data.palette.getPixel( new RGB( 255, 255, 255 ) );
+                return data;
+            }
+        };
+        return Activator.plugin().resources().image( ( leftArrow ? "focusTree.leftArrow." : "focusTree.rightArrow." ) + size,
+                                                     descriptor );
     }
 
     private ToolItem newToolBarButton( final ToolBar toolBar,
@@ -752,44 +724,181 @@ public class FocusTree extends Composite {
     void removeColumnsAfter( final Column column ) {
         int ndx = columns.size() - 1;
         for ( Column col = columns.get( ndx ); col != column; col = columns.get( --ndx ) ) {
-            col.header.dispose();
-            ( ( GridLayout ) headerBar.getLayout() ).numColumns--;
-            col.pathButton.dispose();
+            headerBar.removeHeader( col );
+            pathButtonBar.removeButton( col.pathButton );
             focusTreeCanvas.removeColumn( col );
             columns.remove( ndx );
+            model.columnRemoved( col.item );
         }
         column.focusCellExpanded = false;
-        headerBar.layout();
-        pathButtonBar.layout();
+    }
+
+    private void removeColumns() {
+        if ( model == null ) return;
+        // Detach the columns before notifying the model, so any changes it reports as a result aren't applied to them
+        for ( final Column column : columns )
+            if ( column.cellColumn != null ) column.cellColumn.cancelLoading();
+        final Column[] removedColumns = columns.toArray( new Column[ columns.size() ] );
+        columns.clear();
+        for ( final Column column : removedColumns )
+            model.columnRemoved( column.item );
+    }
+
+    /**
+     * Restores the focus path, column widths, and hidden columns {@link #saveState(IMemento) saved} in a previous session, if
+     * the saved path begins with this tree's root. The items in the path are resolved via
+     * {@link Model#itemWithQualifiedName(String)}, and their children loaded, concurrently in the background, so the
+     * {@link Model#children(Object)} method of this tree's {@link #setModel(Model) model} must be thread-safe. The path's columns
+     * are then added in a single layout pass.
+     * 
+     * @param memento
+     *        a memento in which this tree's state was saved, or <code>null</code> if none
+     */
+    public void restoreState( final IMemento memento ) {
+        if ( memento == null || model == null || columns.isEmpty() ) return;
+        final Float zoom = memento.getFloat( ZOOM_ATTRIBUTE );
+        if ( zoom != null ) setZoom( zoom );
+        final IMemento[] columnMementos = memento.getChildren( COLUMN_TAG );
+        final List< String > path = new ArrayList<>();
+        for ( final IMemento columnMemento : columnMementos )
+            path.add( columnMemento.getString( ITEM_ATTRIBUTE ) );
+        final String focusItem = memento.getString( FOCUS_ITEM_ATTRIBUTE );
+        if ( focusItem != null ) path.add( focusItem );
+        if ( path.contains( null ) ) return;
+        focusTreeCanvas.restoreFocusPath( path.toArray( new String[ path.size() ] ), new Runnable() {
+
+            @Override
+            public void run() {
+                // Restore the widths of the restored columns, and hide those that were hidden, in a single layout pass
+                focusTreeCanvas.beginLayoutBatch();
+                try {
+                    for ( int ndx = 0; ndx < columnMementos.length && ndx < columns.size(); ndx++ ) {
+                        final Column column = columns.get( ndx );
+                        final Integer width = columnMementos[ ndx ].getInteger( WIDTH_ATTRIBUTE );
+                        if ( width != null ) focusTreeCanvas.updateColumnWidth( column, width, true );
+                        if ( Boolean.TRUE.equals( columnMementos[ ndx ].getBoolean( HIDDEN_ATTRIBUTE ) ) ) hideColumn( column );
+                    }
+                } finally {
+                    focusTreeCanvas.endLayoutBatch();
+                }
+                final Integer focusColumnIndex = memento.getInteger( FOCUS_COLUMN_ATTRIBUTE );
+                if ( focusColumnIndex != null && focusColumnIndex >= 0 && focusColumnIndex < columns.size() )
+                    focusColumn( columns.get( focusColumnIndex ) );
+            }
+        } );
+    }
+
+    /**
+     * Saves this tree's focus path, along with its zoom, the widths of its columns, and which are hidden, so they can be
+     * {@link #restoreState(IMemento) restored} in a later session. Items are saved via their {@link Model#qualifiedName(Object)
+     * qualified names}.
+     * 
+     * @param memento
+     *        the memento in which to save this tree's state
+     */
+    public void saveState( final IMemento memento ) {
+        CheckArg.notNull( memento, "memento" );
+        if ( model == null || columns.isEmpty() ) return;
+        for ( final Column column : columns ) {
+            final IMemento columnMemento = memento.createChild( COLUMN_TAG );
+            columnMemento.putString( ITEM_ATTRIBUTE, model.qualifiedName( column.item ) );
+            final boolean hidden = !columnShown( column );
+            columnMemento.putInteger( WIDTH_ATTRIBUTE, hidden ? column.widthBeforeHiding : column.cellColumn.layout.width );
+            columnMemento.putBoolean( HIDDEN_ATTRIBUTE, hidden );
+        }
+        final Column lastColumn = columns.get( columns.size() - 1 );
+        if ( lastColumn.focusCell != null ) memento.putString( FOCUS_ITEM_ATTRIBUTE, model.qualifiedName( lastColumn.focusCell.item ) );
+        if ( focusColumn != null ) memento.putInteger( FOCUS_COLUMN_ATTRIBUTE, columns.indexOf( focusColumn ) );
+        memento.putFloat( ZOOM_ATTRIBUTE, ( float ) zoom() );
     }
 
     void scrollToFocusColumn() {
-        if ( focusColumn != null ) scroller.setOrigin( focusColumn.cellColumn.getBounds().x, scroller.getOrigin().y );
+        if ( focusColumn != null )
+            scroller.setOrigin( focusTreeCanvas.scaled( focusColumn.cellColumn.layout.x ), scroller.getOrigin().y );
+    }
+
+    /**
+     * @param scale
+     *        the {@link #zoom() zoom} below which rows other than those that are focused, edited, or hovered over are to be
+     *        painted as colored bars rather than text and icons, or the {@link #DEFAULT_BAR_DETAIL_SCALE default scale} if not
+     *        positive
+     */
+    public void setBarDetailScale( final double scale ) {
+        focusTreeCanvas.barDetailScale = scale > 0 ? scale : DEFAULT_BAR_DETAIL_SCALE;
+        focusTreeCanvas.updateVisibleRows();
+        focusTreeCanvas.canvas.repaint();
+    }
+
+    /**
+     * Note, rendered cells are always drawn as rounded rectangles, regardless of the cells {@link Model#createCell(Object)
+     * created} by this tree's {@link #setModel(Model) model}.
+     * 
+     * @param cellsRendered
+     *        <code>true</code> if cells other than those that are focused, edited, or hovered over are to be painted by a shared
+     *        renderer rather than being constructed from figures, which greatly reduces the memory used by large columns.
+     */
+    public void setCellsRendered( final boolean cellsRendered ) {
+        focusTreeCanvas.cellsRendered = cellsRendered;
+        focusTreeCanvas.updateVisibleRows();
+        focusTreeCanvas.canvas.repaint();
+    }
+
+    /**
+     * Note, the {@link Model#children(Object)} method of this tree's {@link #setModel(Model) model} must be thread-safe when
+     * children are loaded in the background.
+     * 
+     * @param childrenLoadedInBackground
+     *        <code>true</code> if the children of expanded cells are to be loaded from this tree's {@link #setModel(Model) model}
+     *        in the background, showing a placeholder in the new column until they have been loaded.
+     */
+    public void setChildrenLoadedInBackground( final boolean childrenLoadedInBackground ) {
+        focusTreeCanvas.childrenLoadedInBackground = childrenLoadedInBackground;
     }
 
     /**
      * @param color
-     *        the border color of focus cells, or the {link {@link #DEFAULT_FOCUS_CELL_BORDER_COLOR default color} if
+     *        the border color of focus cells, or the {link {@link #DEFAULT_FOCUS_CELL_BORDER_RGB default color} if
      *        <code>null</code>
      */
     public void setFocusCellBorderColor( final Color color ) {
-        focusTreeCanvas.focusBorder.setColor( color == null ? DEFAULT_FOCUS_CELL_BORDER_COLOR : color );
+        focusTreeCanvas.focusBorder.setColor( color == null ? Activator.plugin().resources().color( DEFAULT_FOCUS_CELL_BORDER_RGB ) : color );
     }
 
     /**
      * @param color
-     *        the color of the focus column, or the {@link #DEFAULT_FOCUS_COLUMN_COLOR default color} if <code>null</code>.
+     *        the color of the focus column, or the {@link #DEFAULT_FOCUS_COLUMN_RGB default color} if <code>null</code>.
      */
     public void setFocusColumnColor( final Color color ) {
-        focusTreeCanvas.focusColumnColor = color == null ? DEFAULT_FOCUS_COLUMN_COLOR : color;
+        focusTreeCanvas.focusColumnColor = color == null ? Activator.plugin().resources().color( DEFAULT_FOCUS_COLUMN_RGB ) : color;
+    }
+
+    /**
+     * @param capacity
+     *        the maximum number of parents for which the last focused child is to be remembered, or the
+     *        {@link #DEFAULT_FOCUS_HISTORY_CAPACITY default capacity} if not positive
+     */
+    public void setFocusHistoryCapacity( final int capacity ) {
+        focusHistory.setCapacity( capacity );
+    }
+
+    /**
+     * Note, changing this setting forgets the last focused children of all parents.
+     * 
+     * @param keyedByName
+     *        <code>true</code> if the last focused child of each parent is to be remembered by the parent's
+     *        {@link Model#qualifiedName(Object) qualified name} rather than by referencing the parent, allowing items no longer
+     *        shown to be garbage collected, which is appropriate for models whose items are recreated when reloaded.
+     */
+    public void setFocusHistoryKeyedByName( final boolean keyedByName ) {
+        focusHistory.setKeyedByName( keyedByName );
     }
 
     /**
      * @param color
-     *        the color of the focus line, or the {@link #DEFAULT_FOCUS_LINE_COLOR default color} if <code>null</code>.
+     *        the color of the focus line, or the {@link #DEFAULT_FOCUS_LINE_RGB default color} if <code>null</code>.
      */
     public void setFocusLineColor( final Color color ) {
-        focusTreeCanvas.focusLine.setBackgroundColor( color == null ? DEFAULT_FOCUS_LINE_COLOR : color );
+        focusTreeCanvas.focusLine.setBackgroundColor( color == null ? Activator.plugin().resources().color( DEFAULT_FOCUS_LINE_RGB ) : color );
     }
 
     /**
@@ -805,7 +914,7 @@ public class FocusTree extends Composite {
      *        the initial offset of the focus line, or the {@value #DEFAULT_FOCUS_LINE_OFFSET default offset} if less than zero.
      */
     public void setFocusLineOffset( final int offset ) {
-        focusTreeCanvas.focusLineOffset = offset < 0 ? DEFAULT_FOCUS_LINE_OFFSET : offset;
+        focusTreeCanvas.layout.focusLineOffset = offset < 0 ? DEFAULT_FOCUS_LINE_OFFSET : offset;
     }
 
     /**
@@ -829,7 +938,16 @@ public class FocusTree extends Composite {
      *        a focus tree model
      */
     public void setModel( final Model model ) {
+        removeColumns();
+        if ( this.model != null ) {
+            this.model.removeListener( modelListener );
+            this.model.removeListener( capabilityCache );
+        }
         this.model = model;
+        if ( model != null ) {
+            model.addListener( modelListener );
+            model.addListener( capabilityCache );
+        }
         initialize();
     }
 
@@ -838,10 +956,22 @@ public class FocusTree extends Composite {
      *        the root item for this tree
      */
     public void setRoot( final Object root ) {
+        removeColumns();
         this.root = root;
         initialize();
     }
 
+    /**
+     * @param scale
+     *        the {@link #zoom() zoom} below which rows other than those that are focused, edited, or hovered over are to be
+     *        painted together in strips of color, each representing as many rows as fit within a couple of pixels, or the
+     *        {@link #DEFAULT_STRIP_DETAIL_SCALE default scale} if not positive
+     */
+    public void setStripDetailScale( final double scale ) {
+        focusTreeCanvas.stripDetailScale = scale > 0 ? scale : DEFAULT_STRIP_DETAIL_SCALE;
+        focusTreeCanvas.canvas.repaint();
+    }
+
     /**
      * @param color
      *        the background color of the {@link FocusTree focus tree}, or the {link {@link #DEFAULT_TREE_BACKGROUND_COLOR default
@@ -851,18 +981,40 @@ public class FocusTree extends Composite {
         focusTreeCanvas.setBackground( color == null ? DEFAULT_TREE_BACKGROUND_COLOR : color );
     }
 
-    void showIconView( final Column column ) {
-        for ( final Control control : headerBar.getChildren() )
-            if ( control != column.header ) {
-                ( ( GridData ) control.getLayoutData() ).exclude = true;
-                control.setVisible( false );
-            }
-        final GridData gridData = ( GridData ) column.header.getLayoutData();
-        gridData.grabExcessHorizontalSpace = true;
-        gridData.horizontalAlignment = SWT.FILL;
-        ( ( Control ) column.header.getData( HIDE_BUTTON_PROPERTY ) ).setVisible( false );
-        headerBar.layout();
-        // TODO path buttons hide icon view, click hides icon view, context menu
+    /**
+     * Zooms this tree in or out, keeping the focus cell of the focus column in view. Once zoomed out below the
+     * {@link #barDetailScale() bar detail scale}, and again below the {@link #stripDetailScale() strip detail scale}, rows other
+     * than those that are focused, edited, or hovered over are painted in progressively less detail, so the time taken to paint
+     * the tree remains roughly constant as more rows come into view.
+     * 
+     * @param zoom
+     *        the scale at which to show this tree, where 1 is actual size, limited to between {@value #MINIMUM_ZOOM} and
+     *        {@value #MAXIMUM_ZOOM}
+     */
+    public void setZoom( final double zoom ) {
+        final double scale = Math.max( MINIMUM_ZOOM, Math.min( MAXIMUM_ZOOM, zoom ) );
+        focusTreeCanvas.setScale( scale );
+        zoomSlider.setSelection( ( int ) Math.round( scale * 100 ) );
+    }
+
+    /**
+     * Shows the supplied hidden column again at the width it had before being hidden
+     * 
+     * @param column
+     *        a column
+     */
+    void showColumn( final Column column ) {
+        column.header.show();
+        focusTreeCanvas.showColumn( column, column.widthBeforeHiding );
+        column.pathButton.setColors( model.pathButtonForegroundColor( column.item ), model.pathButtonBackgroundColor( column.item ) );
+    }
+
+    /**
+     * @return the {@link #zoom() zoom} below which rows other than those that are focused, edited, or hovered over are painted
+     *         together in strips of color. Default is {@value #DEFAULT_STRIP_DETAIL_SCALE}.
+     */
+    public double stripDetailScale() {
+        return focusTreeCanvas.stripDetailScale;
     }
 
     /**
@@ -897,6 +1049,13 @@ public class FocusTree extends Composite {
         return null;
     }
 
+    /**
+     * @return the scale at which this tree is shown, where 1 is actual size. Default is 1.
+     */
+    public double zoom() {
+        return focusTreeCanvas.scale();
+    }
+
     /**
      * 
      */
@@ -904,9 +1063,14 @@ public class FocusTree extends Composite {
 
         IFigure delegate;
         Object item;
-        AddPanel addPanel;
+        int row;
         org.eclipse.draw2d.Label indexLabel;
+        org.eclipse.draw2d.Label iconLabel;
+        Figure statusPanel;
         DeleteButton deleteButton;
+        org.eclipse.draw2d.Label nameField;
+        org.eclipse.draw2d.Label typeField;
+        org.eclipse.draw2d.Label valueField;
 
         /**
          * @param delegate
@@ -989,8 +1153,8 @@ public class FocusTree extends Composite {
     class Column {
 
         Object item;
-        Composite header;
-        Label pathButton;
+        Header header;
+        PathButton pathButton;
         IFigure backgroundColumn;
         CellColumn cellColumn;
         Cell focusCell;
@@ -999,89 +1163,6 @@ public class FocusTree extends Composite {
         int widthBeforeHiding;
     }
 
-    private class ColumnHeaderMouseListener extends MouseAdapter
-        implements
-        MouseMoveListener,
-        MouseTrackListener,
-        DragDetectListener {
-
-        private final Column column, previousColumn;
-        private Column targetColumn;
-        private boolean dragging;
-        private int offset;
-
-        ColumnHeaderMouseListener( final Column column,
-                                   final Column previousColumn ) {
-            this.column = column;
-            this.previousColumn = previousColumn;
-        }
-
-        @Override
-        public void dragDetected( final DragDetectEvent event ) {
-            if ( targetColumn == null ) return;
-            if ( targetColumn == column ) offset = column.header.getSize().x - event.x;
-            else offset = -event.x;
-            dragging = true;
-        }
-
-        @Override
-        public void mouseDoubleClick( final MouseEvent event ) {
-            if ( targetColumn != null ) {
-                focusTreeCanvas.updateColumnWidth( targetColumn, targetColumn.preferredWidth, true );
-                ( ( GridData ) targetColumn.header.getLayoutData() ).widthHint = targetColumn.cellColumn.getSize().width;
-                headerBar.layout();
-            }
-        }
-
-        @Override
-        public void mouseEnter( final MouseEvent event ) {
-            if ( focusTreeCanvas.iconViewShown() ) return;
-            if ( event.x >= column.header.getSize().x - 1 - HEADER_MARGIN ) setTargetColumn( column );
-            else if ( event.x <= HEADER_MARGIN && previousColumn != null )
-                setTargetColumn( previousColumn );
-        }
-
-        @Override
-        public void mouseExit( final MouseEvent event ) {
-            if ( !dragging ) {
-                column.header.setCursor( Display.getCurrent().getSystemCursor( SWT.CURSOR_ARROW ) );
-                column.header.setToolTipText( null );
-                targetColumn = null;
-            }
-        }
-
-        @Override
-        public void mouseHover( final MouseEvent event ) {}
-
-        @Override
-        public void mouseMove( final MouseEvent event ) {
-            if ( dragging ) {
-                if ( targetColumn == previousColumn ) {
-                    final Point point = column.header.toDisplay( event.x, event.y );
-                    event.x = previousColumn.header.toControl( point ).x;
-                }
-                final int width = event.x + offset;
-                ( ( GridData ) targetColumn.header.getLayoutData() ).widthHint = width;
-                headerBar.layout();
-                focusTreeCanvas.updateColumnWidth( targetColumn, width, true );
-            }
-        }
-
-        @Override
-        public void mouseUp( final MouseEvent event ) {
-            if ( dragging ) {
-                dragging = false;
-                if ( Display.getCurrent().getCursorControl() != column.header ) targetColumn = null;
-            } else focusColumn( column );
-        }
-
-        private void setTargetColumn( final Column targetColumn ) {
-            this.targetColumn = targetColumn;
-            column.header.setCursor( Display.getCurrent().getSystemCursor( SWT.CURSOR_SIZEWE ) );
-            column.header.setToolTipText( EclipseI18n.focusTreeResizeColumnToolTip.text() );
-        }
-    }
-
     /**
      * 
      */
@@ -1124,10 +1205,16 @@ public class FocusTree extends Composite {
         public static final Color DEFAULT_CELL_BACKGROUND_COLOR = Display.getCurrent().getSystemColor( SWT.COLOR_WHITE );
 
         /**
-         * 
+         * @deprecated use {@link #DEFAULT_CHILD_INDEX_RGB}, whose color is shared through the plug-in's resource registry
          */
+        @Deprecated
         public static final Color DEFAULT_CHILD_INDEX_COLOR = FocusTree.DEFAULT_FOCUS_CELL_BORDER_COLOR;
 
+        /**
+         * 
+         */
+        public static final RGB DEFAULT_CHILD_INDEX_RGB = FocusTree.DEFAULT_FOCUS_CELL_BORDER_RGB;
+
         /**
          *
          */
@@ -1144,6 +1231,17 @@ public class FocusTree extends Composite {
          */
         public static final Indicator[] NO_INDICATORS = new Indicator[ 0 ];
 
+        final List< ModelListener > listeners = new CopyOnWriteArrayList<>();
+
+        /**
+         * @param listener
+         *        a listener to be notified of changes to this model's items
+         */
+        public void addListener( final ModelListener listener ) {
+            CheckArg.notNull( listener, "listener" );
+            listeners.add( listener );
+        }
+
         /**
          * @param item
          *        an item in the tree
@@ -1169,7 +1267,8 @@ public class FocusTree extends Composite {
         /**
          * @param item
          *        an item in the tree
-         * @return the number of children of the supplied item. Default is 0.
+         * @return the number of children of the supplied item. Default is 0. Must be overridden if the supplied item's
+         *         {@link #childrenPaged(Object) children are paged}.
          */
         public int childCount( final Object item ) {
             return 0;
@@ -1178,10 +1277,10 @@ public class FocusTree extends Composite {
         /**
          * @param item
          *        an item in the tree
-         * @return the color of the child index shown in the supplied item's cell. Default is {@link #DEFAULT_CHILD_INDEX_COLOR}.
+         * @return the color of the child index shown in the supplied item's cell. Default is {@link #DEFAULT_CHILD_INDEX_RGB}.
          */
         public Color childIndexColor( final Object item ) {
-            return DEFAULT_CHILD_INDEX_COLOR;
+            return Activator.plugin().resources().color( DEFAULT_CHILD_INDEX_RGB );
         }
 
         /**
@@ -1195,6 +1294,27 @@ public class FocusTree extends Composite {
             return NO_CHILDREN;
         }
 
+        /**
+         * Called instead of {@link #children(Object)} when the supplied item's {@link #childrenPaged(Object) children are paged}.
+         * 
+         * @param item
+         *        an item in the tree
+         * @param offset
+         *        the index of the first child to return
+         * @param limit
+         *        the maximum number of children to return
+         * @return the children of the supplied item from the supplied offset, up to the supplied limit. Default is the
+         *         corresponding range of the {@link #children(Object) children} of the supplied item.
+         * @throws PolyglotterException
+         *         if an error occurs
+         */
+        public Object[] children( final Object item,
+                                  final int offset,
+                                  final int limit ) throws PolyglotterException {
+            final Object[] children = children( item );
+            return Arrays.copyOfRange( children, Math.min( offset, children.length ), Math.min( offset + limit, children.length ) );
+        }
+
         /**
          * @param item
          *        an item in the tree
@@ -1205,6 +1325,38 @@ public class FocusTree extends Composite {
         }
 
         /**
+         * @param item
+         *        an item in the tree
+         * @return <code>true</code> if the supplied item's children are to be retrieved a page at a time via
+         *         {@link #childCount(Object)} and {@link #children(Object, int, int)} as they are scrolled into view, rather than
+         *         all at once via {@link #children(Object)}. Default is <code>false</code>.
+         */
+        public boolean childrenPaged( final Object item ) {
+            return false;
+        }
+
+        /**
+         * Called before a column showing the supplied item's children is added to a tree, and so before the children are
+         * requested for the column. Does nothing by default.
+         * 
+         * @param item
+         *        an item in the tree
+         */
+        public void columnAdded( final Object item ) {}
+
+        /**
+         * Called after the column showing the supplied item's children is removed from a tree. Does nothing by default.
+         * 
+         * @param item
+         *        an item in the tree
+         */
+        public void columnRemoved( final Object item ) {}
+
+        /**
+         * Note, cells are recycled as the user scrolls through a column, so the returned cell may later be used to show other
+         * items within the same column. If the tree's {@link FocusTree#setCellsRendered(boolean) cells are rendered}, cells are
+         * only created for items that are focused, edited, or hovered over.
+         * 
          * @param item
          *        an item in the tree
          * @return Creates a cell for the supplied item. Default is a cell that delegates to create a {@link RoundedRectangle}.
@@ -1214,6 +1366,9 @@ public class FocusTree extends Composite {
         }
 
         /**
+         * If the new item isn't inserted at the supplied index, its actual index must be reported to
+         * {@link #addListener(ModelListener) listeners} via {@link #fireItemsInserted(Object, int, Object...)} before returning.
+         * 
          * @param parent
          *        a parent item in the tree
          * @param index
@@ -1246,6 +1401,87 @@ public class FocusTree extends Composite {
             return true;
         }
 
+        /**
+         * Notifies {@link #addListener(ModelListener) listeners} that the supplied parent's children have changed in ways not
+         * described by the other notifications. Must be called from the UI thread.
+         * 
+         * @param parent
+         *        an item in the tree
+         */
+        protected void fireChildrenChanged( final Object parent ) {
+            for ( final ModelListener listener : listeners )
+                listener.childrenChanged( parent );
+        }
+
+        /**
+         * Notifies {@link #addListener(ModelListener) listeners} that the supplied parent's children have been reordered. Must
+         * be called from the UI thread.
+         * 
+         * @param parent
+         *        an item in the tree
+         * @param newIndexes
+         *        the new index of each child, by its previous index
+         */
+        protected void fireChildrenReordered( final Object parent,
+                                              final int[] newIndexes ) {
+            for ( final ModelListener listener : listeners )
+                listener.childrenReordered( parent, newIndexes );
+        }
+
+        /**
+         * Notifies {@link #addListener(ModelListener) listeners} that the supplied item has replaced the child at the supplied
+         * index, or, if it's the same item, that its attributes have changed. Must be called from the UI thread.
+         * 
+         * @param parent
+         *        an item in the tree
+         * @param index
+         *        the index of the changed child
+         * @param item
+         *        the changed child
+         */
+        protected void fireItemChanged( final Object parent,
+                                        final int index,
+                                        final Object item ) {
+            for ( final ModelListener listener : listeners )
+                listener.itemChanged( parent, index, item );
+        }
+
+        /**
+         * Notifies {@link #addListener(ModelListener) listeners} that the supplied items have been inserted into the supplied
+         * parent's children. Must be called from the UI thread.
+         * 
+         * @param parent
+         *        an item in the tree
+         * @param index
+         *        the index of the first inserted child
+         * @param items
+         *        the inserted children
+         */
+        protected void fireItemsInserted( final Object parent,
+                                          final int index,
+                                          final Object... items ) {
+            for ( final ModelListener listener : listeners )
+                listener.itemsInserted( parent, index, items );
+        }
+
+        /**
+         * Notifies {@link #addListener(ModelListener) listeners} that children have been removed from the supplied parent's
+         * children. Must be called from the UI thread.
+         * 
+         * @param parent
+         *        an item in the tree
+         * @param index
+         *        the index of the first removed child
+         * @param count
+         *        the number of removed children
+         */
+        protected void fireItemsRemoved( final Object parent,
+                                         final int index,
+                                         final int count ) {
+            for ( final ModelListener listener : listeners )
+                listener.itemsRemoved( parent, index, count );
+        }
+
         /**
          * @param item
          *        an item in the tree
@@ -1284,6 +1520,21 @@ public class FocusTree extends Composite {
             return NO_INDICATORS;
         }
 
+        /**
+         * Used to {@link FocusTree#restoreState(IMemento) restore} a focus path saved in a previous session. Must be
+         * thread-safe, as items are resolved in the background.
+         * 
+         * @param qualifiedName
+         *        the {@link #qualifiedName(Object) qualified name} of an item
+         * @return the item with the supplied qualified name, or <code>null</code> if it no longer exists or qualified names can't
+         *         be resolved. Default is <code>null</code>.
+         * @throws PolyglotterException
+         *         if an error occurs
+         */
+        public Object itemWithQualifiedName( final String qualifiedName ) throws PolyglotterException {
+            return null;
+        }
+
         /**
          * @param item
          *        an item in the tree
@@ -1317,6 +1568,21 @@ public class FocusTree extends Composite {
             return null;
         }
 
+        /**
+         * Used to {@link FocusTree#expandTo(String) expand} to an item by its qualified name. Must be thread-safe, as ancestors
+         * are resolved in the background.
+         * 
+         * @param item
+         *        an item in the tree
+         * @return the parent of the supplied item, or <code>null</code> if it has none or the model can't determine it. Default is
+         *         <code>null</code>.
+         * @throws PolyglotterException
+         *         if an error occurs
+         */
+        public Object parent( final Object item ) throws PolyglotterException {
+            return null;
+        }
+
         /**
          * @param item
          *        an item in the tree
@@ -1366,6 +1632,14 @@ public class FocusTree extends Composite {
             return name( item );
         }
 
+        /**
+         * @param listener
+         *        a listener previously {@link #addListener(ModelListener) added}
+         */
+        public void removeListener( final ModelListener listener ) {
+            listeners.remove( listener );
+        }
+
         /**
          * Called after a user changes the supplied item's name to the supplied name. Does nothing by default.
          * 
@@ -1483,4 +1757,62 @@ public class FocusTree extends Composite {
             return null;
         }
     }
+
+    /**
+     * Notified of changes to a {@link Model model's} items, so that a tree can update only the cells affected rather than rebuild
+     * its columns.
+     */
+    public interface ModelListener {
+
+        /**
+         * @param parent
+         *        an item in the tree whose children have changed in ways not described by the other notifications
+         */
+        void childrenChanged( Object parent );
+
+        /**
+         * @param parent
+         *        an item in the tree whose children have been reordered
+         * @param newIndexes
+         *        the new index of each child, by its previous index
+         */
+        void childrenReordered( Object parent,
+                                int[] newIndexes );
+
+        /**
+         * @param parent
+         *        an item in the tree
+         * @param index
+         *        the index of the changed child
+         * @param item
+         *        the item that has replaced the child at the supplied index, or the same child if only its attributes changed
+         */
+        void itemChanged( Object parent,
+                          int index,
+                          Object item );
+
+        /**
+         * @param parent
+         *        an item in the tree
+         * @param index
+         *        the index of the first inserted child
+         * @param items
+         *        the inserted children
+         */
+        void itemsInserted( Object parent,
+                            int index,
+                            Object[] items );
+
+        /**
+         * @param parent
+         *        an item in the tree
+         * @param index
+         *        the index of the first removed child
+         * @param count
+         *        the number of removed children
+         */
+        void itemsRemoved( Object parent,
+                           int index,
+                           int count );
+    }
 }
@@ -23,14 +23,30 @@
  */
 package org.polyglotter.eclipse.focustree;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.draw2d.Figure;
 import org.eclipse.draw2d.FigureCanvas;
-import org.eclipse.draw2d.FlowLayout;
 import org.eclipse.draw2d.FreeformLayer;
 import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.GridData;
@@ -46,6 +62,7 @@ import org.eclipse.draw2d.MouseMotionListener;
 import org.eclipse.draw2d.Panel;
 import org.eclipse.draw2d.PositionConstants;
 import org.eclipse.draw2d.SWTEventDispatcher;
+import org.eclipse.draw2d.ScalableLayeredPane;
 import org.eclipse.draw2d.ToolTipHelper;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Insets;
@@ -57,35 +74,108 @@ import org.eclipse.swt.events.FocusAdapter;
 import org.eclipse.swt.events.FocusEvent;
 import org.eclipse.swt.events.KeyAdapter;
 import org.eclipse.swt.events.KeyEvent;
-import org.eclipse.swt.events.PaintEvent;
-import org.eclipse.swt.events.PaintListener;
 import org.eclipse.swt.events.TraverseEvent;
 import org.eclipse.swt.events.TraverseListener;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Text;
 import org.polyglotter.common.PolyglotterException;
 import org.polyglotter.eclipse.Activator;
 import org.polyglotter.eclipse.EclipseI18n;
+import org.polyglotter.eclipse.Util;
+import org.polyglotter.eclipse.focustree.CapabilityCache.Capabilities;
 import org.polyglotter.eclipse.focustree.FocusTree.Cell;
 import org.polyglotter.eclipse.focustree.FocusTree.Column;
 import org.polyglotter.eclipse.focustree.FocusTree.Indicator;
+import org.polyglotter.eclipse.focustree.FocusTree.Model;
+import org.polyglotter.eclipse.focustree.FocusTreeLayout.ColumnLayout;
 
 class FocusTreeCanvas extends FigureCanvas {
 
+    static final int CELL_COLUMN_MARGIN = FocusTreeLayout.CELL_COLUMN_MARGIN;
+    static final int CELL_SPACING = FocusTreeLayout.CELL_SPACING;
+    /**
+     * The number of rows above and below those visible in the view for which cells remain materialized, so that small scrolls
+     * don't require cells to be rebound
+     */
+    static final int OVERSCAN_ROWS = 5;
+    static final int MAX_SPARE_FIGURES = 64;
+    static final int CHILDREN_PAGE_SIZE = 100;
+    /**
+     * The number of milliseconds a column must remain horizontally scrolled out of view before its cells are
+     * {@link CellColumn#hibernate() released}
+     */
+    static final int HIBERNATION_DELAY = 5000;
+    /**
+     * The maximum number of recently removed columns whose cells are retained for reuse if their items are expanded again
+     */
+    static final int MAX_REMOVED_COLUMNS = 16;
+    /**
+     * The maximum number of items whose prefetched children are retained
+     */
+    static final int MAX_PREFETCHED_ITEMS = 32;
+    /**
+     * The number of milliseconds the focus must remain unchanged before the children of the focus cell's neighbors are
+     * prefetched
+     */
+    static final int PREFETCH_DELAY = 250;
+    /**
+     * The minimum height, in pixels on screen, of the strips in which rows are painted once the canvas is zoomed out below the
+     * {@link #stripDetailScale strip detail scale}
+     */
+    static final int STRIP_HEIGHT = 2;
+
     final FocusTree focusTree;
+    final FocusTreeLayout layout = new FocusTreeLayout();
     final FreeformLayer canvas = new FreeformLayer();
+    /**
+     * Scales the canvas when the tree is zoomed. The layout, and the canvas's figures and mouse events, remain in unscaled
+     * coordinates, whereas the viewport, scroller, and header bar are in scaled coordinates.
+     */
+    final ScalableLayeredPane zoomPane = new ScalableLayeredPane();
+    /**
+     * The scale below which rows without materialized cells are painted as colored bars rather than text and icons
+     */
+    double barDetailScale = FocusTree.DEFAULT_BAR_DETAIL_SCALE;
+    /**
+     * The scale below which rows without materialized cells are painted together in strips of color, each at least
+     * {@link #STRIP_HEIGHT} pixels high on screen
+     */
+    double stripDetailScale = FocusTree.DEFAULT_STRIP_DETAIL_SCALE;
     final Figure toolBar = new Figure();
     final Panel focusLine = new Panel();
     final Label focusColumnToolTip = new Label( EclipseI18n.focusTreeFocusColumnToolTip.text() );
-    int focusLineOffset = FocusTree.DEFAULT_FOCUS_LINE_OFFSET;
     boolean initialIndexIsOne;
+    boolean childrenLoadedInBackground;
+    boolean cellsRendered;
+    final CellRenderer cellRenderer = new CellRenderer();
+    CellColumn hoverColumn;
+    /**
+     * The column whose cells are shown in icon view, or <code>null</code> if none
+     */
+    Column iconViewColumn;
     int initialCellWidth = SWT.DEFAULT;
-    Color focusColumnColor = FocusTree.DEFAULT_FOCUS_COLUMN_COLOR;
+    /**
+     * Recently removed cell columns by the items whose children they contain, in least to most recently used order. A column is
+     * dropped from this cache as soon as the model signals any change to its item's children.
+     */
+    final Map< Object, CellColumn > removedColumnsByItem = new LinkedHashMap< Object, CellColumn >( 16, 0.75f, true ) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry< Object, CellColumn > eldest ) {
+            return size() > MAX_REMOVED_COLUMNS;
+        }
+    };
+    Color focusColumnColor = Activator.plugin().resources().color( FocusTree.DEFAULT_FOCUS_COLUMN_RGB );
     final LineBorder focusBorder =
-        new LineBorder( FocusTree.DEFAULT_FOCUS_CELL_BORDER_COLOR, FocusTree.DEFAULT_FOCUS_LINE_HEIGHT ) {
+        new LineBorder( Activator.plugin().resources().color( FocusTree.DEFAULT_FOCUS_CELL_BORDER_RGB ), FocusTree.DEFAULT_FOCUS_LINE_HEIGHT ) {
 
             @Override
             public void paint( final IFigure figure,
@@ -148,7 +238,46 @@ class FocusTreeCanvas extends FigureCanvas {
         }
     };
     final FocusLineMouseListener focusLineMouseListener = new FocusLineMouseListener();
-    final Map< Object, Object > lastFocusItemByParent = new HashMap<>();
+    /**
+     * The path of items, from the root, still to be expanded by {@link #expandTo(Object[])}, or <code>null</code>
+     */
+    Object[] pendingPath;
+    /**
+     * Loaders of the children of items prefetched in the background, either for a path being {@link #expandTo(Object[])
+     * expanded} or {@link #restoreFocusPath(String[], Runnable) restored}, or for the {@link #prefetchNeighbors() neighbors} of
+     * the focus cell, by item, in least to most recently used order. Their children are used instead of loading them again
+     * when the items' columns are added. A loader is dropped from this cache as soon as the model signals any change to its
+     * item's children.
+     */
+    final Map< Object, PathLoader > prefetchedLoadersByItem = new LinkedHashMap< Object, PathLoader >( 16, 0.75f, true ) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry< Object, PathLoader > eldest ) {
+            return size() > MAX_PREFETCHED_ITEMS;
+        }
+    };
+    /**
+     * Loaders prefetching the children of the focus cell's neighbors, cancelled whenever the focus moves
+     */
+    final List< PathLoader > neighborLoaders = new ArrayList<>();
+    final Runnable neighborPrefetcher = new Runnable() {
+
+        @Override
+        public void run() {
+            prefetchNeighbors();
+        }
+    };
+    /**
+     * Incremented whenever a path is expanded or the user clicks on the canvas, so paths still being loaded in the background
+     * can be abandoned
+     */
+    int pathGeneration;
+    /**
+     * The depth of nested {@link #beginLayoutBatch() layout batches}, during which the layout isn't projected onto figures
+     */
+    int layoutBatchDepth;
     ToolTipHelper toolTipHelper;
 
     ImageFigure mouseOverButton;
@@ -157,6 +286,10 @@ class FocusTreeCanvas extends FigureCanvas {
     TextEditorHandler textEditorHandler;
     Label fieldEdited;
 
+    boolean updatingVisibleRows;
+    boolean hibernationScheduled;
+    MouseEvent lastMouseMovedEvent;
+
     FocusTreeCanvas( final FocusTree focusTree,
                      final Composite parent,
                      final int style ) {
@@ -173,8 +306,49 @@ class FocusTreeCanvas extends FigureCanvas {
         } );
         toolTipHelper = new ToolTipHelper( this );
         this.focusTree = focusTree;
-        setContents( canvas );
+        // Show buttons for the cell or add panel under the mouse once its capabilities have been loaded
+        focusTree.capabilityCache.setLoadedListener( new Runnable() {
+
+            @Override
+            public void run() {
+                if ( lastMouseMovedEvent != null ) mouseMovedOverCanvas( lastMouseMovedEvent );
+            }
+        } );
+        zoomPane.add( canvas );
+        setContents( zoomPane );
         getViewport().setContentsTracksHeight( true );
+        // Materialize cells that scroll into view and recycle those that scroll out of view
+        getViewport().getVerticalRangeModel().addPropertyChangeListener( new PropertyChangeListener() {
+
+            @Override
+            public void propertyChange( final PropertyChangeEvent event ) {
+                // Materialize rows once per frame rather than for every scroll event
+                focusTree.interactionScheduler.schedule( this, new Runnable() {
+
+                    @Override
+                    public void run() {
+                        updateVisibleRows();
+                    }
+                } );
+            }
+        } );
+        // Wake columns that scroll horizontally into view, and hibernate those that have been out of view for a while. The
+        // canvas moves within the scroller whenever it scrolls, whether by the user or by clicking a path button.
+        final Listener horizontalScrollListener = new Listener() {
+
+            @Override
+            public void handleEvent( final Event event ) {
+                focusTree.interactionScheduler.schedule( this, new Runnable() {
+
+                    @Override
+                    public void run() {
+                        updateVisibleRows();
+                    }
+                } );
+            }
+        };
+        parent.addListener( SWT.Move, horizontalScrollListener );
+        focusTree.scroller.addListener( SWT.Resize, horizontalScrollListener );
         getHorizontalBar().setEnabled( false );
         setHorizontalScrollBarVisibility( NEVER );
         canvas.addMouseListener( canvasMouseListener );
@@ -223,11 +397,9 @@ class FocusTreeCanvas extends FigureCanvas {
         } );
         toolBar.setSize( toolBar.getPreferredSize() );
         toolBar.setVisible( false );
-        final Rectangle focusLineBounds = new Rectangle( focusLine.getBounds() );
-        focusLineBounds.height = FocusTree.DEFAULT_FOCUS_LINE_HEIGHT;
-        focusLine.setBounds( focusLineBounds );
+        focusLine.setSize( 0, layout.focusLineHeight );
         focusLine.setToolTip( new Label( EclipseI18n.focusTreeFocusLineToolTip.text() ) );
-        focusLine.setBackgroundColor( FocusTree.DEFAULT_FOCUS_LINE_COLOR );
+        focusLine.setBackgroundColor( Activator.plugin().resources().color( FocusTree.DEFAULT_FOCUS_LINE_RGB ) );
         focusLine.addMouseListener( focusLineMouseListener );
         focusLine.addMouseMotionListener( focusLineMouseListener );
         canvas.addLayoutListener( new LayoutListener.Stub() {
@@ -244,174 +416,157 @@ class FocusTreeCanvas extends FigureCanvas {
         canvas.setOpaque( true );
     }
 
-    private AddPanel addAddPanel( final Column column,
-                                  final int modelIndex,
-                                  final int viewIndex ) {
-        final AddPanel addPanel = new AddPanel();
-        column.cellColumn.add( addPanel, viewIndex );
-        addPanel.modelIndex = modelIndex;
-        addPanel.viewIndex = viewIndex;
-        column.cellColumn.setConstraint( addPanel, new GridData( SWT.FILL, SWT.DEFAULT, false, false ) );
-        final GridLayout layout = new GridLayout();
-        layout.marginHeight = layout.marginWidth = 0;
-        addPanel.setLayoutManager( layout );
-        final AddButton addButton = new AddButton( Activator.plugin().image( "add.gif" ) );
-        addPanel.add( addButton );
-        addPanel.setConstraint( addButton, new GridData( SWT.CENTER, SWT.CENTER, true, true ) );
-        addButton.setToolTip( new Label( EclipseI18n.focusTreeAddToolTip.text() ) );
-        addButton.setVisible( false );
-        return addPanel;
+    void addColumn( final Column column ) {
+        // Reuse the cells of a recently removed column for the same item rather than loading its children again
+        final CellColumn removedColumn = removedColumnsByItem.remove( column.item );
+        if ( removedColumn != null ) {
+            restoreColumn( column, removedColumn );
+            return;
+        }
+        column.backgroundColumn = new Figure();
+        // Add columns to beginning of canvas's children to ensure their backgrounds are painted first
+        canvas.add( column.backgroundColumn, 0 );
+        column.backgroundColumn.setBackgroundColor( focusColumnColor );
+        final CellColumn cellColumn = new CellColumn( column, layout.addColumn() );
+        column.cellColumn = cellColumn;
+        canvas.add( cellColumn );
+        applyLayout( column );
+
+        // Wire cell column to show focus line tool tip on mouse-over
+        // Note, the cell column figures are transparent, but overlap the focus line and canvas, so mouse events need to be
+        // propagated to these other figures whenever they are also listening for the same event types
+        propagateEvents( column );
+
+        // Start loading the capabilities needed when hovering over the column's add panels
+        capabilities( column );
+        loadChildren( column );
     }
 
-    private Cell addCell( final Object item,
-                          final Column column,
-                          final AddPanel addBeforePanel ) {
-        // Create cell
-        final Cell cell = focusTree.model.createCell( item );
-        column.cellColumn.add( cell, addBeforePanel.viewIndex + 1 );
+    private void alignWithFocusLine( final Column column ) {
+        final CellColumn cellColumn = column.cellColumn;
+        final ColumnLayout columnLayout = cellColumn.layout;
+        columnLayout.rowCount = cellColumn.items.size();
+        columnLayout.focusRow = column.focusCell == null ? -1 : column.focusCell.row;
+        columnLayout.placeholderHeight = cellColumn.placeholder == null ? -1 : cellColumn.placeholder.getPreferredSize().height;
+        layout.alignWithFocusLine( columnLayout );
+        applyLayout( column );
+    }
+
+    /**
+     * Projects the changes to the computed layout onto the canvas, focus line, and any columns that have moved. Since figures
+     * repaint only their old and new bounds when moved, only the regions damaged by the changes are repainted.
+     */
+    private void applyLayout() {
+        // Icon view lays out a single column's cells in a grid over the entire canvas
+        if ( iconViewShown() || layoutBatchDepth > 0 ) return;
+        if ( layout.dirty ) {
+            final Rectangle canvasBounds = new Rectangle( canvas.getBounds() );
+            canvasBounds.width = layout.width();
+            canvasBounds.height = layout.height;
+            canvas.setBounds( canvasBounds );
+            focusLine.setBounds( new Rectangle( 0, layout.focusLineY, canvasBounds.width, layout.focusLineHeight ) );
+            layout.applied();
+        }
+        for ( final Column column : focusTree.columns )
+            if ( column.cellColumn.layout.dirty ) applyLayout( column );
+    }
+
+    /**
+     * Projects the computed layout of the supplied column onto its cell and background columns if it has moved
+     */
+    private void applyLayout( final Column column ) {
+        final ColumnLayout columnLayout = column.cellColumn.layout;
+        if ( iconViewShown() || layoutBatchDepth > 0 || !columnLayout.dirty ) return;
+        final Rectangle bounds = new Rectangle( columnLayout.x, columnLayout.y, columnLayout.width, columnLayout.height() );
+        // Cells are only laid out again if the column was resized, since moving the column moves its cells along with it
+        final boolean resized = !bounds.getSize().equals( column.cellColumn.getSize() );
+        column.cellColumn.setBounds( bounds );
+        if ( resized ) column.cellColumn.revalidate();
+        column.backgroundColumn.setBounds( new Rectangle( columnLayout.x, 0, columnLayout.width, layout.height ) );
+        focusTree.headerBar.layoutHeader( column );
+        columnLayout.applied();
+    }
+
+    /**
+     * Defers projecting the layout onto figures until the matching {@link #endLayoutBatch()}, so a batch of changes, such as
+     * adding a chain of columns, costs a single layout pass. Batches may be nested.
+     */
+    void beginLayoutBatch() {
+        layoutBatchDepth++;
+    }
+
+    void bindCell( final Cell cell,
+                   final Column column,
+                   final Object item,
+                   final int row ) {
         cell.item = item;
-        cell.addPanel = addBeforePanel;
-        column.cellColumn.setConstraint( cell, new GridData( SWT.FILL, SWT.DEFAULT, false, false ) );
-        GridLayout gridLayout = new GridLayout( 3, false );
-        gridLayout.marginHeight = gridLayout.marginWidth = 0;
-        cell.setLayoutManager( gridLayout );
+        cell.row = row;
         cell.setBorder( noFocusBorder );
         cell.setBackgroundColor( focusTree.model.cellBackgroundColor( item ) );
-        cell.setToolTip( new Label( EclipseI18n.focusTreeCellToolTip.text() ) );
-        // Construct cell
-        final int modelIndex = addBeforePanel.modelIndex;
-        final Label indexLabel = new Label( String.valueOf( initialIndexIsOne ? modelIndex + 1 : modelIndex ) );
-        cell.add( indexLabel );
-        indexLabel.setLabelAlignment( PositionConstants.LEFT );
-        cell.indexLabel = indexLabel;
-        indexLabel.setForegroundColor( focusTree.model.childIndexColor( column.item ) );
-        indexLabel.setToolTip( new Label( EclipseI18n.focusTreeCellIndexToolTip.text() ) );
-        final Image image = focusTree.model.icon( item );
-        final Label iconLabel = new Label();
-        cell.add( iconLabel );
-        cell.setConstraint( iconLabel, new GridData( SWT.FILL, SWT.CENTER, true, false ) );
-        if ( image != null ) iconLabel.setIcon( image );
-        final Figure statusPanel = new Figure();
-        cell.add( statusPanel );
-        gridLayout = new GridLayout();
-        gridLayout.marginHeight = gridLayout.marginWidth = 0;
-        statusPanel.setLayoutManager( gridLayout );
+        bindIndexLabel( cell );
+        cell.indexLabel.setForegroundColor( focusTree.model.childIndexColor( column.item ) );
+        cell.iconLabel.setIcon( focusTree.model.icon( item ) );
+        cell.statusPanel.removeAll();
+        final GridLayout gridLayout = ( GridLayout ) cell.statusPanel.getLayoutManager();
+        gridLayout.numColumns = 1;
         for ( final Indicator indicator : focusTree.model.indicators( item ) ) {
             final IndicatorButton button = new IndicatorButton( indicator.image, indicator );
             gridLayout.numColumns++;
-            statusPanel.add( button );
+            cell.statusPanel.add( button );
             button.setToolTip( new Label( indicator.toolTip ) );
         }
-        final DeleteButton deleteButton = new DeleteButton( Activator.plugin().image( "delete.png" ) );
-        statusPanel.add( deleteButton );
-        cell.deleteButton = deleteButton;
-        deleteButton.setToolTip( new Label( EclipseI18n.focusTreeDeleteToolTip.text() ) );
-        deleteButton.setVisible( false );
+        cell.statusPanel.add( cell.deleteButton );
+        cell.deleteButton.setVisible( false );
         // Make index and spacer labels the same size so icon is centered
-        final int width = Math.max( indexLabel.getPreferredSize().width, statusPanel.getPreferredSize().width );
-        cell.setConstraint( indexLabel, new GridData( width, SWT.DEFAULT ) );
-        cell.setConstraint( statusPanel, new GridData( width, SWT.DEFAULT ) );
-        // Save preferred width as minimum width before adding name, type, and value labels
-        cell.setMinimumSize( cell.getPreferredSize() );
-        // Add name field
-        final NameField nameField = new NameField( focusTree.model.name( item ) );
-        cell.add( nameField );
-        nameField.setTextAlignment( PositionConstants.CENTER );
-        nameField.setForegroundColor( focusTree.model.cellForegroundColor( item ) );
-        nameField.setToolTip( new Label( EclipseI18n.focusTreeCellNameToolTip.text( focusTree.model.qualifiedName( item ) ) ) );
-        GridData gridData = new GridData( SWT.FILL, SWT.DEFAULT, true, false );
-        gridData.horizontalSpan = 3;
-        cell.setConstraint( nameField, gridData );
-        // Add type field
-        final TypeField typeField = new TypeField( focusTree.model.type( item ) );
-        cell.add( typeField );
-        typeField.setTextAlignment( PositionConstants.CENTER );
-        typeField.setForegroundColor( focusTree.model.cellForegroundColor( item ) );
-        typeField.setToolTip( new Label( EclipseI18n.focusTreeCellTypeToolTip.text() ) );
-        gridData = new GridData( SWT.FILL, SWT.DEFAULT, true, false );
-        gridData.horizontalSpan = 3;
-        cell.setConstraint( typeField, gridData );
-        if ( focusTree.model.hasValue( item ) ) {
-            // Add value field
-            final ValueField valueField = new ValueField( focusTree.model.value( item ) );
-            cell.add( valueField );
-            valueField.setTextAlignment( PositionConstants.CENTER );
-            valueField.setForegroundColor( focusTree.model.cellForegroundColor( item ) );
-            valueField.setToolTip( new Label( EclipseI18n.focusTreeCellValueToolTip.text() ) );
-            gridData = new GridData( SWT.FILL, SWT.DEFAULT, true, false );
-            gridData.horizontalSpan = 3;
-            cell.setConstraint( valueField, gridData );
+        final int width = Math.max( cell.indexLabel.getPreferredSize().width, cell.statusPanel.getPreferredSize().width );
+        cell.setConstraint( cell.indexLabel, new GridData( width, SWT.DEFAULT ) );
+        cell.setConstraint( cell.statusPanel, new GridData( width, SWT.DEFAULT ) );
+        // Save width of index, icon, and status as minimum width
+        final int spacing = ( ( GridLayout ) cell.delegate.getLayoutManager() ).horizontalSpacing;
+        cell.setMinimumSize( new Dimension( 2 * width + cell.iconLabel.getPreferredSize().width + 2 * spacing
+                                            + cell.delegate.getInsets().getWidth(), 0 ) );
+        // Bind name, type, and value fields
+        final Color foregroundColor = focusTree.model.cellForegroundColor( item );
+        cell.nameField.setForegroundColor( foregroundColor );
+        cell.typeField.setForegroundColor( foregroundColor );
+        cell.valueField.setForegroundColor( foregroundColor );
+        try {
+            cell.nameField.setText( focusTree.model.name( item ) );
+            ( ( Label ) cell.nameField.getToolTip() ).setText( EclipseI18n.focusTreeCellNameToolTip.text( focusTree.model.qualifiedName( item ) ) );
+            cell.typeField.setText( focusTree.model.type( item ) );
+            // Request capabilities, needed when hovering over the cell, as soon as it's bound
+            final Capabilities capabilities = focusTree.capabilityCache.capabilities( item, column.item );
+            if ( capabilities == null ? focusTree.model.hasValue( item ) : capabilities.hasValue ) {
+                cell.valueField.setText( focusTree.model.value( item ) );
+                if ( cell.valueField.getParent() == null ) {
+                    cell.add( cell.valueField );
+                    final GridData gridData = new GridData( SWT.FILL, SWT.DEFAULT, true, false );
+                    gridData.horizontalSpan = 3;
+                    cell.setConstraint( cell.valueField, gridData );
+                }
+            } else if ( cell.valueField.getParent() != null ) cell.valueField.getParent().remove( cell.valueField );
+        } catch ( final PolyglotterException e ) {
+            Util.handleModelError( getShell(), e );
         }
-
-        // Create add-after panel
-        addAddPanel( column, modelIndex + 1, addBeforePanel.viewIndex + 2 );
-
-        column.cellColumn.revalidate();
-
-        return cell;
     }
 
-    void addColumn( final Column column ) {
-        column.backgroundColumn = new Figure();
-        // Add columns to beginning of canvas's children to ensure their backgrounds are painted first
-        canvas.add( column.backgroundColumn, 0 );
-        column.backgroundColumn.setBackgroundColor( focusColumnColor );
-        column.cellColumn = new CellColumn();
-        column.cellColumn.column = column;
-        canvas.add( column.cellColumn );
-        setCellColumnLayoutManager( column );
-
-        // Get last focus cell for this column if available
-        final Object lastFocusItem = lastFocusItemByParent.get( column.item );
-        // Create first add button
-        AddPanel addPanel = addAddPanel( column, 0, 0 );
-        // Create cells and subsequent add-after buttons
-        for ( final Object child : focusTree.model.children( column.item ) ) {
-            final Cell cell = addCell( child, column, addPanel );
-            // Adjust initial cell width if below minimum width
-            final int minWidth = cell.getMinimumSize().width;
-            if ( initialCellWidth < minWidth ) initialCellWidth = minWidth;
-            if ( column.focusCell == null && ( lastFocusItem == null || child.equals( lastFocusItem ) ) ) column.focusCell = cell;
-            final List< ? > children = column.cellColumn.getChildren();
-            addPanel = ( AddPanel ) children.get( children.size() - 1 );
-        }
-        // Set preferred width of cells to model value
-        for ( final Object child : column.cellColumn.getChildren() ) {
-            if ( child instanceof Cell ) {
-                final Cell cell = ( Cell ) child;
-                final GridData gridData = ( ( GridData ) column.cellColumn.getLayoutManager().getConstraint( cell ) );
-                gridData.widthHint = initialCellWidth;
-                column.cellColumn.setConstraint( cell, gridData );
-            }
-        }
-        // Save column preferred width for use by double-clicking header border
-        column.preferredWidth = column.cellColumn.getPreferredSize().width;
-        // Force layout to get cell locations set
-        column.cellColumn.getLayoutManager().layout( column.cellColumn );
-        // Set bounds
-        if ( column.focusCell != null ) column.focusCell.setSize( column.focusCell.getPreferredSize() );
-        final Dimension cellColumnSize = column.cellColumn.getPreferredSize();
-        final int cellColumnX;
-        if ( focusTree.columns.size() == 1 ) cellColumnX = 0;
-        else {
-            final Rectangle previousCellColumnBounds = focusTree.columns.get( focusTree.columns.size() - 2 ).cellColumn.getBounds();
-            cellColumnX = previousCellColumnBounds.x + previousCellColumnBounds.width;
-        }
-        // column.cellColumn.revalidate();
-        column.cellColumn.setBounds( new Rectangle( cellColumnX, 0, cellColumnSize.width, cellColumnSize.height ) );
-        final int canvasWidth = cellColumnX + cellColumnSize.width;
-        focusLine.setSize( canvasWidth, focusLine.getSize().height );
-        final int canvasHeight = canvas.getSize().height;
-        canvas.setSize( canvasWidth, canvasHeight );
-        column.backgroundColumn.setBounds( new Rectangle( cellColumnX, 0, cellColumnSize.width, canvasHeight ) );
+    /**
+     * @return the capabilities of the supplied column's item, or <code>null</code> if they're being loaded in the background
+     */
+    private Capabilities capabilities( final Column column ) {
+        final int ndx = focusTree.columns.indexOf( column );
+        return focusTree.capabilityCache.capabilities( column.item, ndx > 0 ? focusTree.columns.get( ndx - 1 ).item : null );
+    }
 
-        // Wire cell column to show focus line tool tip on mouse-over
-        // Note, the cell column figures are transparent, but overlap the focus line and canvas, so mouse events need to be
-        // propagated to these other figures whenever they are also listening for the same event types
-        propagateEvents( column );
+    void bindIndexLabel( final Cell cell ) {
+        cell.indexLabel.setText( indexText( cell.row ) );
+    }
 
-        // Focus on first cell
-        focusCell( column, column.focusCell );
+    private void cancelNeighborPrefetch() {
+        for ( final PathLoader loader : neighborLoaders )
+            loader.cancel();
+        neighborLoaders.clear();
+        if ( !isDisposed() ) getDisplay().timerExec( -1, neighborPrefetcher );
     }
 
     Cell cellFor( IFigure figure ) {
@@ -437,12 +592,78 @@ class FocusTreeCanvas extends FigureCanvas {
         // Change focus column
         // Scroll so that focus line is at focus line offset from top of view and last column is visible
         focusTree.focusColumn( column );
+        // Users often move to an adjacent cell next, so load its children once the focus settles
+        scheduleNeighborPrefetch();
+    }
+
+    /**
+     * Reloads the supplied column's children, re-focusing on the column's focus item if it still exists
+     * 
+     * @param column
+     *        a column
+     */
+    void childrenChanged( final Column column ) {
+        if ( textEditor != null && columnFor( fieldEdited ) == column ) discardEdit();
+        column.cellColumn.clear();
+        column.focusCell = null;
+        loadChildren( column );
+        if ( !childrenLoadedInBackground ) updateChildCount( column );
+    }
+
+    /**
+     * Moves the supplied column's rows, and any materialized cells, to their new indexes, keeping the column's focus cell on
+     * the focus line
+     * 
+     * @param column
+     *        a column
+     * @param newIndexes
+     *        the new index of each child of the supplied column's item, by its previous index
+     */
+    void childrenReordered( final Column column,
+                            final int[] newIndexes ) {
+        final CellColumn cellColumn = column.cellColumn;
+        if ( cellColumn.placeholder != null ) {
+            childrenChanged( column );
+            return;
+        }
+        cellColumn.reorder( newIndexes );
+        columnRowsChanged( column );
+        cellColumn.repaint();
     }
 
     void collapseAllSelected() {
         final Column firstColumn = focusTree.columns.get( 0 );
         if ( firstColumn.focusCellExpanded ) changeFocusCell( firstColumn, firstColumn.focusCell );
-        lastFocusItemByParent.clear();
+        focusTree.focusHistory.clear();
+    }
+
+    /**
+     * Collapses the supplied column's focus cell if it was expanded but is no longer the item whose children are shown in the
+     * next column, e.g., after the column's children were reloaded
+     */
+    private void collapseMismatchedFocusCell( final Column column ) {
+        if ( !column.focusCellExpanded ) return;
+        final Column nextColumn = focusTree.columns.get( focusTree.columns.indexOf( column ) + 1 );
+        if ( column.focusCell == null || !column.focusCell.item.equals( nextColumn.item ) ) removeColumnsAfter( column );
+    }
+
+    private CellColumn cellColumnFor( IFigure figure ) {
+        while ( figure != null && !( figure instanceof CellColumn ) )
+            figure = figure.getParent();
+        return ( CellColumn ) figure;
+    }
+
+    /**
+     * Re-aligns the supplied column, whose rows have changed, with the focus line and updates its visible rows, without
+     * touching other columns
+     */
+    private void columnRowsChanged( final Column column ) {
+        alignWithFocusLine( column );
+        updateBounds();
+        while ( column.cellColumn.updateVisibleRows( visibleArea() ) ) {
+            alignWithFocusLine( column );
+            updateBounds();
+        }
     }
 
     private Column columnFor( IFigure figure ) {
@@ -451,18 +672,30 @@ class FocusTreeCanvas extends FigureCanvas {
         return ( ( CellColumn ) figure ).column;
     }
 
+    /**
+     * @return <code>true</code> if this canvas is zoomed out below the {@link #barDetailScale bar detail scale}, such that rows
+     *         without materialized cells are painted in reduced detail, and, as when {@link #cellsRendered cells are rendered},
+     *         only cells that are focused, edited, or hovered over are materialized
+     */
+    boolean detailReduced() {
+        return scale() < barDetailScale;
+    }
+
+    private void discardEdit() {
+        textEditor.dispose();
+        textEditor = null;
+    }
+
     private void edit( final IFigure figure,
                        final TextEditorHandler handler ) {
         textEditor = new Text( this, SWT.NONE );
         textEditorHandler = handler;
         fieldEdited = ( Label ) figure;
         textEditor.setText( fieldEdited.getText() );
-        final Rectangle fieldBounds = fieldEdited.getBounds();
-        final Point viewLocation = getViewport().getViewLocation();
-        textEditor.setBounds( fieldBounds.x - viewLocation.x,
-                              fieldBounds.y - viewLocation.y,
-                              fieldBounds.width,
-                              fieldBounds.height );
+        // Position editor over field as scrolled and zoomed
+        final Rectangle fieldBounds = fieldEdited.getBounds().getCopy();
+        fieldEdited.translateToAbsolute( fieldBounds );
+        textEditor.setBounds( fieldBounds.x, fieldBounds.y, fieldBounds.width, fieldBounds.height );
         textEditor.addKeyListener( new KeyAdapter() {
 
             private final Color originalForegroundColor = textEditor.getForeground();
@@ -506,10 +739,13 @@ class FocusTreeCanvas extends FigureCanvas {
         if ( textEditor.getToolTipText() == null )
             try {
                 final Object item = textEditorHandler.commit();
+                // A model that reported the change will have already rebound the edited cell, discarding the edit
+                if ( textEditor == null ) return;
                 final Cell cell = cellFor( fieldEdited );
                 if ( cell.item != item ) {
                     cell.item = item;
                     final Column column = columnFor( cell );
+                    column.cellColumn.items.set( cell.row, item );
                     column.focusCell = null;
                     changeFocusCell( column, cell );
                 }
@@ -523,11 +759,189 @@ class FocusTreeCanvas extends FigureCanvas {
         textEditor = null;
     }
 
+    /**
+     * Ends a {@link #beginLayoutBatch() layout batch}, projecting the layout onto figures and materializing the visible rows of
+     * all columns if it was the outermost batch
+     */
+    void endLayoutBatch() {
+        if ( --layoutBatchDepth > 0 ) return;
+        updateBounds();
+        updateVisibleRows();
+    }
+
     private void expandFocusCell( final Column column ) {
-        if ( focusTree.model.childrenAddable( column.focusCell.item ) || focusTree.model.hasChildren( column.focusCell.item ) ) {
-            focusTree.addColumn( column.focusCell.item );
-            column.focusCellExpanded = true;
+        try {
+            if ( focusTree.capabilityCache.capabilitiesNow( column.focusCell.item, column.item ).childrenAddable
+                 || focusTree.model.hasChildren( column.focusCell.item ) ) {
+                focusTree.addColumn( column.focusCell.item );
+                column.focusCellExpanded = true;
+            }
+        } catch ( final PolyglotterException e ) {
+            Util.handleModelError( getShell(), e );
+        }
+    }
+
+    /**
+     * Continues expanding the {@link #pendingPath pending path} from the supplied column, stopping when a column's children, or
+     * the pages of its children that may contain the path's next item, are being loaded in the background, to be resumed once
+     * they've been loaded. The columns expanded are added in a single layout pass.
+     */
+    private void expandPendingPath( Column column ) {
+        final List< Column > columns = focusTree.columns;
+        Column lastColumn = null;
+        beginLayoutBatch();
+        try {
+            for ( int depth = columns.indexOf( column ); pendingPath != null; column = columns.get( ++depth ) ) {
+                final CellColumn cellColumn = column.cellColumn;
+                if ( cellColumn.placeholder != null ) break;
+                final boolean matches = depth + 1 < pendingPath.length && column.item.equals( pendingPath[ depth ] );
+                int row = matches ? cellColumn.items.indexOf( pendingPath[ depth + 1 ] ) : -1;
+                // The next item may be in a page of children yet to be loaded, so load them all, once, before giving up
+                if ( row < 0 && matches && cellColumn.pagesLoadedForPath != pendingPath ) {
+                    cellColumn.pagesLoadedForPath = pendingPath;
+                    cellColumn.loadPages();
+                    row = cellColumn.items.indexOf( pendingPath[ depth + 1 ] );
+                }
+                // Resume once pages being loaded in the background have been loaded
+                if ( row < 0 && matches && !cellColumn.pagesLoading.isEmpty() ) break;
+                // Give up if the path no longer matches the model
+                if ( row < 0 ) {
+                    pendingPath = null;
+                    break;
+                }
+                final Cell cell = cellColumn.cell( row );
+                final boolean last = depth + 2 == pendingPath.length;
+                if ( column.focusCell != cell || ( column.focusCellExpanded && last ) ) {
+                    if ( column.focusCellExpanded ) removeColumnsAfter( column );
+                    focusCell( column, cell );
+                }
+                if ( last ) {
+                    pendingPath = null;
+                    lastColumn = column;
+                    break;
+                }
+                if ( !column.focusCellExpanded ) {
+                    expandFocusCell( column );
+                    if ( !column.focusCellExpanded ) {
+                        pendingPath = null;
+                        break;
+                    }
+                }
+            }
+        } finally {
+            endLayoutBatch();
         }
+        if ( lastColumn != null ) focusTree.focusColumn( lastColumn );
+    }
+
+    /**
+     * Expands the cells of the supplied path of items, one column at a time as each column's children are loaded, then focuses
+     * on the cell of the last item. Expansion stops if an item isn't found, or as soon as the user clicks on the canvas.
+     * 
+     * @param path
+     *        the items from the root to the item to be focused
+     */
+    private void expandPath( final Object[] path ) {
+        if ( path.length < 2 || focusTree.columns.isEmpty() ) return;
+        pendingPath = path;
+        expandPendingPath( focusTree.columns.get( 0 ) );
+    }
+
+    /**
+     * Expands the cells of the supplied path of items, then focuses on the cell of the last item. If children are
+     * {@link #childrenLoadedInBackground loaded in the background}, the children of all items in the path are loaded
+     * concurrently first. Either way, the path's columns are added in a single layout pass.
+     * 
+     * @param path
+     *        the items from the root to the item to be focused
+     */
+    void expandTo( final Object[] path ) {
+        pathGeneration++;
+        if ( !childrenLoadedInBackground || path.length < 3 ) {
+            expandPath( path );
+            return;
+        }
+        // Children of the root are already loaded or being loaded, and children of the last item aren't shown
+        final PathLoader[] loaders = new PathLoader[ path.length - 2 ];
+        for ( int ndx = 0; ndx < loaders.length; ndx++ )
+            loaders[ ndx ] = new PathLoader( null, path[ ndx + 1 ], true );
+        loadPath( loaders, new Runnable() {
+
+            @Override
+            public void run() {
+                expandPath( path );
+            }
+        } );
+    }
+
+    /**
+     * Expands the cells of the path to the item with the supplied qualified name, after resolving the item and its ancestors in
+     * the background via the {@link FocusTree.Model#itemWithQualifiedName(String) model}. The display beeps if the item can't
+     * be found under the root.
+     * 
+     * @param qualifiedName
+     *        the qualified name of the item to be focused
+     */
+    void expandTo( final String qualifiedName ) {
+        if ( focusTree.columns.isEmpty() ) return;
+        final int generation = ++pathGeneration;
+        final Object root = focusTree.columns.get( 0 ).item;
+        final Model model = focusTree.model;
+        final Shell shell = getShell();
+        final Job resolver = new Job( EclipseI18n.focusTreeLoadingChildrenJob.text( qualifiedName ) ) {
+
+            @Override
+            protected IStatus run( final IProgressMonitor monitor ) {
+                // Walk up from the item to the root
+                final List< Object > path = new ArrayList<>();
+                try {
+                    for ( Object item = model.itemWithQualifiedName( qualifiedName ); item != null; item = model.parent( item ) ) {
+                        path.add( 0, item );
+                        if ( item.equals( root ) ) break;
+                    }
+                } catch ( final PolyglotterException e ) {
+                    Activator.logger().log( Util.createErrorStatus( e ) );
+                }
+                shell.getDisplay().asyncExec( new Runnable() {
+
+                    @Override
+                    public void run() {
+                        if ( isDisposed() || generation != pathGeneration ) return;
+                        if ( path.isEmpty() || !path.get( 0 ).equals( root ) ) getDisplay().beep();
+                        else if ( path.size() == 1 ) focusTree.focusColumn( focusTree.columns.get( 0 ) );
+                        else expandTo( path.toArray() );
+                    }
+                } );
+                return Status.OK_STATUS;
+            }
+        };
+        resolver.setSystem( true );
+        resolver.setPriority( Job.INTERACTIVE );
+        resolver.schedule();
+    }
+
+    /**
+     * Finds the figure at the supplied location without walking the figures of every column and cell: the column is found via
+     * a binary search on the columns' horizontal locations, the row within that column arithmetically, and only the figures
+     * within that row are searched.
+     * 
+     * @param x
+     *        a horizontal location within the canvas
+     * @param y
+     *        a vertical location within the canvas
+     * @return the top-most visible figure at the supplied location
+     */
+    IFigure figureAt( final int x,
+                      final int y ) {
+        if ( iconViewShown() ) return iconViewColumn.cellColumn.figureAt( x, y );
+        if ( toolBar.isVisible() && toolBar.containsPoint( x, y ) ) return toolBar.findFigureAt( x, y );
+        final int ndx = layout.columnIndex( x );
+        if ( ndx >= 0 && ndx < focusTree.columns.size() ) {
+            final CellColumn cellColumn = focusTree.columns.get( ndx ).cellColumn;
+            if ( cellColumn.isVisible() && cellColumn.containsPoint( x, y ) ) return cellColumn.figureAt( x, y );
+        }
+        if ( focusLine.containsPoint( x, y ) ) return focusLine;
+        return canvas.findFigureAt( x, y );
     }
 
     void focusCell( final Column column,
@@ -535,19 +949,28 @@ class FocusTreeCanvas extends FigureCanvas {
         // Collapse previous focus cell and give it a no-focus border
         if ( column.focusCell != null ) column.focusCell.setBorder( noFocusBorder );
 
-        // Set new focus cell and child
+        // Set new focus cell and child, abandoning any deferred focus
         column.focusCell = focusCell;
+        column.cellColumn.focusPage = -1;
         if ( focusCell != null ) {
-            lastFocusItemByParent.put( column.item, focusCell.item );
+            focusTree.focusHistory.focused( column.item, focusCell.item, focusCell.row );
             focusCell.setBorder( focusBorder );
         }
-        final Rectangle focusCellBounds =
-            ( focusCell == null ? ( AddPanel ) column.cellColumn.getChildren().get( 0 ) : focusCell ).getBounds();
-        final Rectangle cellColumnBounds = new Rectangle( column.cellColumn.getBounds() );
-        final Rectangle focusLineBounds = focusLine.getBounds();
-        cellColumnBounds.y -= focusCellBounds.y + focusCellBounds.height / 2 - focusLineBounds.y - focusLineBounds.height / 2;
-        column.cellColumn.setBounds( cellColumnBounds );
+        alignWithFocusLine( column );
         updateBounds();
+        updateVisibleRows();
+    }
+
+    /**
+     * Focuses the cell of the item last focused in the supplied column, or its first cell if the item is no longer found, once
+     * the page containing the row last focused, upon which focus was deferred, has been loaded
+     */
+    private void focusDeferredCell( final Column column ) {
+        final CellColumn cellColumn = column.cellColumn;
+        int focusRow = focusTree.focusHistory.focusRow( column.item, cellColumn.items );
+        if ( focusRow < 0 && !cellColumn.items.isEmpty() ) focusRow = 0;
+        focusCell( column, focusRow < 0 ? null : cellColumn.cell( focusRow ) );
+        collapseMismatchedFocusCell( column );
     }
 
     void hideColumn( final Column column,
@@ -562,15 +985,11 @@ class FocusTreeCanvas extends FigureCanvas {
             col.backgroundColumn.setVisible( true );
             col.cellColumn.setVisible( true );
         }
-        setCellColumnLayoutManager( column );
-        for ( final Object figure : column.cellColumn.getChildren() ) {
-            ( ( IFigure ) figure ).setPreferredSize( null );
-            // jpav: remove
-            System.out.println( column.cellColumn.getLayoutManager().getConstraint( ( IFigure ) figure ) );
-        }
-        final Rectangle backgroundColumnBounds = column.backgroundColumn.getBounds();
-        column.cellColumn.setBounds( new Rectangle( backgroundColumnBounds.x, 0,
-                                                    backgroundColumnBounds.width, column.cellColumn.getPreferredSize().height ) );
+        iconViewColumn = null;
+        column.cellColumn.iconsPerLine = 0;
+        column.cellColumn.revalidate();
+        // Icon view moved the column and resized the canvas independently of the layout
+        layout.invalidate();
         focusCell( column, column.focusCell );
     }
 
@@ -586,61 +1005,196 @@ class FocusTreeCanvas extends FigureCanvas {
         scrollToFocusLine();
     }
 
+    String indexText( final int row ) {
+        return String.valueOf( initialIndexIsOne ? row + 1 : row );
+    }
+
     boolean iconViewShown() {
         return !focusLine.isVisible();
     }
 
+    /**
+     * Rebinds the cell, if materialized, for the supplied row to the supplied item, which has replaced the row's previous item
+     * 
+     * @param column
+     *        a column
+     * @param row
+     *        the index of the changed child of the supplied column's item
+     * @param item
+     *        the changed child
+     */
+    void itemChanged( final Column column,
+                      final int row,
+                      final Object item ) {
+        final CellColumn cellColumn = column.cellColumn;
+        if ( cellColumn.placeholder != null ) {
+            childrenChanged( column );
+            return;
+        }
+        final Object oldItem = cellColumn.items.set( row, item );
+        final Cell cell = cellColumn.cellsByRow.get( row );
+        if ( cell != null ) {
+            if ( textEditor != null && cellFor( fieldEdited ) == cell ) discardEdit();
+            bindCell( cell, column, item, row );
+            if ( cell == column.focusCell ) {
+                cell.setBorder( focusBorder );
+                focusTree.focusHistory.focused( column.item, item, row );
+                // Children of an expanded focus cell are no longer those of its new item
+                if ( column.focusCellExpanded && !item.equals( oldItem ) ) {
+                    removeColumnsAfter( column );
+                    expandFocusCell( column );
+                }
+            }
+        }
+        cellColumn.repaintRow( row );
+    }
+
+    /**
+     * Inserts rows for the supplied items, keeping the column's focus cell on the focus line
+     * 
+     * @param column
+     *        a column
+     * @param row
+     *        the index at which the supplied items were inserted into the supplied column item's children
+     * @param items
+     *        the inserted children
+     */
+    void itemsInserted( final Column column,
+                        final int row,
+                        final Object[] items ) {
+        final CellColumn cellColumn = column.cellColumn;
+        if ( cellColumn.placeholder != null ) {
+            childrenChanged( column );
+            return;
+        }
+        for ( int ndx = 0; ndx < items.length; ndx++ )
+            cellColumn.insertRow( row + ndx, items[ ndx ] );
+        updateChildCount( column );
+        if ( column.focusCell == null && !cellColumn.items.isEmpty() ) focusCell( column, cellColumn.cell( 0 ) );
+        else columnRowsChanged( column );
+    }
+
+    /**
+     * Removes the supplied rows, keeping the column's focus cell on the focus line, or, if the focus cell was removed, focusing
+     * on the next cell
+     * 
+     * @param column
+     *        a column
+     * @param row
+     *        the index of the first removed child of the supplied column's item
+     * @param count
+     *        the number of removed children
+     */
+    void itemsRemoved( final Column column,
+                       final int row,
+                       final int count ) {
+        final CellColumn cellColumn = column.cellColumn;
+        if ( cellColumn.placeholder != null ) {
+            childrenChanged( column );
+            return;
+        }
+        if ( textEditor != null ) {
+            final Cell editedCell = cellFor( fieldEdited );
+            if ( editedCell.getParent() == cellColumn && editedCell.row >= row && editedCell.row < row + count ) discardEdit();
+        }
+        final boolean focusCellRemoved =
+            column.focusCell != null && column.focusCell.row >= row && column.focusCell.row < row + count;
+        if ( focusCellRemoved ) {
+            if ( column.focusCellExpanded ) removeColumnsAfter( column );
+            column.focusCell = null;
+        }
+        for ( int ndx = row + count - 1; ndx >= row; ndx-- )
+            cellColumn.removeRow( ndx );
+        updateChildCount( column );
+        if ( focusCellRemoved && !cellColumn.items.isEmpty() )
+            focusCell( column, cellColumn.cell( Math.min( row, cellColumn.items.size() - 1 ) ) );
+        else if ( focusCellRemoved ) focusCell( column, null );
+        else columnRowsChanged( column );
+    }
+
+    private void loadChildren( final Column column ) {
+        final CellColumn cellColumn = column.cellColumn;
+        // Use the children loaded for a path being restored
+        final PathLoader prefetchedLoader = prefetchedLoadersByItem.remove( column.item );
+        if ( prefetchedLoader != null ) populateColumn( column, prefetchedLoader.childCount, prefetchedLoader.children );
+        else if ( childrenLoadedInBackground ) {
+            // Show placeholder until children are loaded
+            cellColumn.placeholder = new Label( EclipseI18n.focusTreeLoadingChildren.text() );
+            cellColumn.add( cellColumn.placeholder );
+            layout.setCellWidth( cellColumn.layout, Math.max( initialCellWidth, cellColumn.placeholder.getPreferredSize().width ) );
+            focusCell( column, null );
+            cellColumn.schedule( new ChildrenLoader( column ) );
+        } else new ChildrenLoader( column ).loadAndApply();
+    }
+
+    /**
+     * Runs the supplied path loaders concurrently, then, once all have finished, makes the children they loaded available to
+     * the columns subsequently added for their items, and calls the supplied runnable on the UI thread, unless another path has
+     * been expanded or the user has clicked on the canvas in the meantime
+     */
+    private void loadPath( final PathLoader[] loaders,
+                           final Runnable loaded ) {
+        final int generation = pathGeneration;
+        final AtomicInteger remaining = new AtomicInteger( loaders.length );
+        final Shell shell = getShell();
+        // Called from each loader's thread
+        final Runnable loaderDone = new Runnable() {
+
+            @Override
+            public void run() {
+                if ( remaining.decrementAndGet() > 0 ) return;
+                shell.getDisplay().asyncExec( new Runnable() {
+
+                    @Override
+                    public void run() {
+                        if ( isDisposed() || generation != pathGeneration ) return;
+                        for ( final PathLoader loader : loaders )
+                            if ( loader.item != null && loader.childrenLoaded ) prefetchedLoadersByItem.put( loader.item, loader );
+                        loaded.run();
+                    }
+                } );
+            }
+        };
+        for ( final PathLoader loader : loaders ) {
+            loader.done = loaderDone;
+            loader.schedule();
+        }
+    }
+
     void modelChanged() {
+        removedColumnsByItem.clear();
+        pendingPath = null;
+        pathGeneration++;
+        cancelNeighborPrefetch();
+        prefetchedLoadersByItem.clear();
+        layout.clear();
         canvas.removeAll();
         canvas.add( toolBar );
         canvas.add( focusLine );
     }
 
     void mouseClickedOverCanvas( final MouseEvent event ) {
+        pendingPath = null;
+        pathGeneration++;
         if ( textEditor != null ) endEdit();
-        final IFigure figure = canvas.findFigureAt( event.x, event.y );
+        final IFigure figure = figureAt( event.x, event.y );
         if ( figure instanceof AddButton ) {
             final Column column = columnFor( figure );
             try {
-                AddPanel addPanel = ( AddPanel ) figure.getParent();
+                final AddPanel addPanel = ( AddPanel ) figure.getParent();
                 final Object item = focusTree.model.createChildAt( column.item, addPanel.modelIndex );
                 if ( item == null )
                     throw new PolyglotterException( EclipseI18n.focusTreeNullReturnedFromCreateChildAt, focusTree.model.name( column.item ),
                                                     addPanel.modelIndex );
-                // Determine at what index model really created item
-                int modelIndex = 0;
-                for ( final Object child : focusTree.model.children( column.item ) ) {
-                    if ( child.equals( item ) ) break;
-                    modelIndex++;
-                }
-                // Find correct add panel to create cell after
-                for ( final Object child : column.cellColumn.getChildren() )
-                    if ( child instanceof AddPanel && ( ( AddPanel ) child ).modelIndex == modelIndex ) {
-                        addPanel = ( AddPanel ) child;
-                        break;
-                    }
-                // Add new cell for item
-                final Cell cell = addCell( item, column, addPanel );
-                // Update indexes
-                final List< ? > children = column.cellColumn.getChildren();
-                for ( int ndx = cell.addPanel.viewIndex + 3; ndx < children.size(); ndx++ ) {
-                    final Cell afterCell = ( Cell ) children.get( ndx++ );
-                    afterCell.indexLabel.setText( String.valueOf( Integer.parseInt( afterCell.indexLabel.getText() ) + 1 ) );
-                    final AddPanel afterAddPanel = ( AddPanel ) children.get( ndx );
-                    afterAddPanel.viewIndex += 2;
-                    afterAddPanel.modelIndex++;
+                // If the model created the item elsewhere, it will have already notified this tree of where
+                int modelIndex = column.cellColumn.items.indexOf( item );
+                if ( modelIndex < 0 ) {
+                    // Add new row for item, which also updates the indexes of following materialized rows
+                    modelIndex = addPanel.modelIndex;
+                    column.cellColumn.insertRow( modelIndex, item );
+                    updateChildCount( column );
                 }
-                column.cellColumn.setSize( column.cellColumn.getPreferredSize() );
-                column.cellColumn.getLayoutManager().layout( column.cellColumn );
-                addPaintListener( new PaintListener() {
-
-                    @Override
-                    public void paintControl( final PaintEvent e ) {
-                        changeFocusCell( column, cell );
-                        removePaintListener( this );
-                    }
-                } );
-                changeFocusCell( column, cell );
+                changeFocusCell( column, column.cellColumn.cell( modelIndex ) );
             } catch ( final PolyglotterException e ) {
                 // TODO log
                 MessageDialog.openError( getShell(),
@@ -649,39 +1203,35 @@ class FocusTreeCanvas extends FigureCanvas {
             }
         } else if ( figure instanceof DeleteButton ) {
             final Cell cell = cellFor( figure );
+            final String name;
+            try {
+                name = focusTree.model.name( cell.item );
+            } catch ( final PolyglotterException e ) {
+                Util.handleModelError( getShell(), e );
+                return;
+            }
             if ( MessageDialog.openConfirm( getShell(),
                                             EclipseI18n.confirmDialogTitle.text(),
-                                            EclipseI18n.deleteConfirmationMessage.text( focusTree.model.name( cell.item ) ) ) ) {
-                if ( focusTree.model.delete( cell.item ) ) {
-                    final CellColumn cellColumn = ( CellColumn ) cell.getParent();
-                    cellColumn.remove( cell.addPanel );
-                    cellColumn.remove( cell );
-                    // Update indexes
-                    final List< ? > children = cellColumn.getChildren();
-                    for ( int ndx = cell.addPanel.viewIndex; ndx < children.size(); ndx++ ) {
-                        final AddPanel addPanel = ( AddPanel ) children.get( ndx++ );
-                        addPanel.viewIndex -= 2;
-                        addPanel.modelIndex--;
-                        if ( ndx < children.size() ) {
-                            final Cell afterCell = ( Cell ) children.get( ndx );
-                            afterCell.indexLabel.setText( String.valueOf( Integer.parseInt( afterCell.indexLabel.getText() ) - 1 ) );
-                        }
+                                            EclipseI18n.deleteConfirmationMessage.text( name ) ) ) {
+                final CellColumn cellColumn = ( CellColumn ) cell.getParent();
+                final Column column = cellColumn.column;
+                final Object item = cell.item;
+                if ( focusTree.model.delete( item ) ) {
+                    // If the model reported the deletion, it will have already removed the item's row
+                    if ( cellColumn.items.indexOf( item ) < 0 ) return;
+                    if ( column.focusCell == cell ) {
+                        if ( column.focusCellExpanded ) removeColumnsAfter( column );
+                        column.focusCell = null;
                     }
+                    // Remove row, which also updates the indexes of following rows
+                    final int row = cell.row;
+                    cellColumn.removeRow( row );
+                    updateChildCount( column );
                     // Focus on next cell, or previous cell if last cell was deleted
-                    cellColumn.getLayoutManager().layout( cellColumn );
-                    if ( children.size() > 1 ) {
-                        final Cell newCell =
-                            ( Cell ) children.get( Math.min( cell.addPanel.viewIndex + 1, children.size() - 2 ) );
-                        addPaintListener( new PaintListener() {
-
-                            @Override
-                            public void paintControl( final PaintEvent e ) {
-                                changeFocusCell( cellColumn.column, newCell );
-                                removePaintListener( this );
-                            }
-                        } );
-                        changeFocusCell( cellColumn.column, newCell );
-                    }
+                    final Cell nextCell =
+                        cellColumn.items.isEmpty() ? null : cellColumn.cell( Math.min( row, cellColumn.items.size() - 1 ) );
+                    if ( nextCell == null ) focusCell( column, null );
+                    else changeFocusCell( column, nextCell );
                 }
             }
         } else if ( figure instanceof IndicatorButton ) {
@@ -694,10 +1244,12 @@ class FocusTreeCanvas extends FigureCanvas {
 
     void mouseDoubleClickedOverCanvas( final MouseEvent event ) {
         if ( textEditor != null ) endEdit();
-        final IFigure figure = canvas.findFigureAt( event.x, event.y );
+        final IFigure figure = figureAt( event.x, event.y );
         final Cell cell = cellFor( figure );
+        final Capabilities capabilities =
+            cell == null ? null : focusTree.capabilityCache.capabilitiesNow( cell.item, columnFor( cell ).item );
         if ( figure instanceof NameField ) {
-            if ( focusTree.model.nameEditable( cell.item ) ) {
+            if ( capabilities.nameEditable ) {
                 edit( figure, new TextEditorHandler() {
 
                     @Override
@@ -713,7 +1265,7 @@ class FocusTreeCanvas extends FigureCanvas {
                 return;
             }
         } else if ( figure instanceof TypeField ) {
-            if ( focusTree.model.typeEditable( cell.item ) ) {
+            if ( capabilities.typeEditable ) {
                 edit( figure, new TextEditorHandler() {
 
                     @Override
@@ -729,7 +1281,7 @@ class FocusTreeCanvas extends FigureCanvas {
                 return;
             }
         } else if ( figure instanceof ValueField ) {
-            if ( focusTree.model.valueEditable( cell.item ) ) {
+            if ( capabilities.valueEditable ) {
                 edit( figure, new TextEditorHandler() {
 
                     @Override
@@ -745,17 +1297,30 @@ class FocusTreeCanvas extends FigureCanvas {
                 return;
             }
         }
-        if ( cell != null && ( focusTree.model.childrenAddable( cell.item ) || focusTree.model.hasChildren( cell.item ) ) )
-            focusTree.duplicate( cell.item );
+        try {
+            if ( cell != null && ( capabilities.childrenAddable || focusTree.model.hasChildren( cell.item ) ) )
+                focusTree.duplicate( cell.item );
+        } catch ( final PolyglotterException e ) {
+            Util.handleModelError( getShell(), e );
+        }
     }
 
     void mouseMovedOverCanvas( final MouseEvent event ) {
-        IFigure figure = canvas.findFigureAt( event.x, event.y );
+        lastMouseMovedEvent = event;
+        IFigure figure = figureAt( event.x, event.y );
+        if ( cellsRendered || detailReduced() ) {
+            // Materialize the cell or add panel under the mouse so it can show its buttons and tool tips and be clicked
+            final CellColumn cellColumn = cellColumnFor( figure );
+            if ( hoverColumn != null && hoverColumn != cellColumn ) hoverColumn.unhover();
+            hoverColumn = cellColumn;
+            if ( cellColumn != null && cellColumn.hover( event.y ) ) figure = figureAt( event.x, event.y );
+        }
         if ( figure instanceof AddButton ) figure = figure.getParent();
         if ( figure instanceof AddPanel ) {
             final AddButton addButton = ( AddButton ) figure.getChildren().get( 0 );
             if ( mouseOverButton == addButton ) return;
-            if ( focusTree.model.childrenAddable( columnFor( figure ).item ) ) {
+            final Capabilities capabilities = capabilities( columnFor( figure ) );
+            if ( capabilities != null && capabilities.childrenAddable ) {
                 if ( mouseOverButton != null ) mouseOverButton.setVisible( false );
                 addButton.setVisible( true );
                 mouseOverButton = addButton;
@@ -765,7 +1330,8 @@ class FocusTreeCanvas extends FigureCanvas {
             final Cell cell = cellFor( figure );
             if ( cell != null ) {
                 if ( mouseOverButton == cell.deleteButton ) return;
-                if ( focusTree.model.deletable( cell.item ) ) {
+                final Capabilities capabilities = focusTree.capabilityCache.capabilities( cell.item, columnFor( cell ).item );
+                if ( capabilities != null && capabilities.deletable ) {
                     if ( mouseOverButton != null ) mouseOverButton.setVisible( false );
                     cell.deleteButton.setVisible( true );
                     mouseOverButton = cell.deleteButton;
@@ -778,38 +1344,196 @@ class FocusTreeCanvas extends FigureCanvas {
 
     void moveToolBar( final int x ) {
         canvas.remove( toolBar );
-        toolBar.setLocation( new Point( x, getViewport().getClientArea().y ) );
+        toolBar.setLocation( new Point( unscaled( x ), visibleArea().y ) );
         canvas.add( toolBar );
     }
 
-    private void propagateEvents( final Column column ) {
-        column.cellColumn.addMouseMotionListener( new MouseMotionListener.Stub() {
-
-            @Override
-            public void mouseDragged( final MouseEvent event ) {
-                if ( focusLineMouseListener.dragging || focusLine.containsPoint( event.getLocation() ) )
-                    focusLineMouseListener.mouseDragged( event );
-            }
+    AddPanel newAddPanel() {
+        final AddPanel addPanel = new AddPanel();
+        final GridLayout layout = new GridLayout();
+        layout.marginHeight = layout.marginWidth = 0;
+        addPanel.setLayoutManager( layout );
+        final AddButton addButton = new AddButton( Activator.plugin().image( "add.gif" ) );
+        addPanel.add( addButton );
+        addPanel.setConstraint( addButton, new GridData( SWT.CENTER, SWT.CENTER, true, true ) );
+        addButton.setToolTip( new Label( EclipseI18n.focusTreeAddToolTip.text() ) );
+        addButton.setVisible( false );
+        return addPanel;
+    }
 
-            @Override
-            public void mouseMoved( final MouseEvent event ) {
-                // TODO fix bug where initial tool tip display after change is showing up outside of app briefly
-                // and frequent invalid thread access errors from tool tip helper timer on app exit
-                if ( focusLine.containsPoint( event.getLocation() ) ) {
-                    if ( column.cellColumn.getToolTip() != focusLine.getToolTip() ) {
+    Cell newCell( final Object item ) {
+        // Create cell
+        final Cell cell = focusTree.model.createCell( item );
+        GridLayout gridLayout = new GridLayout( 3, false );
+        gridLayout.marginHeight = gridLayout.marginWidth = 0;
+        cell.setLayoutManager( gridLayout );
+        cell.setToolTip( new Label( EclipseI18n.focusTreeCellToolTip.text() ) );
+        // Construct cell
+        final Label indexLabel = new Label();
+        cell.add( indexLabel );
+        indexLabel.setLabelAlignment( PositionConstants.LEFT );
+        cell.indexLabel = indexLabel;
+        indexLabel.setToolTip( new Label( EclipseI18n.focusTreeCellIndexToolTip.text() ) );
+        final Label iconLabel = new Label();
+        cell.add( iconLabel );
+        cell.iconLabel = iconLabel;
+        cell.setConstraint( iconLabel, new GridData( SWT.FILL, SWT.CENTER, true, false ) );
+        final Figure statusPanel = new Figure();
+        cell.add( statusPanel );
+        cell.statusPanel = statusPanel;
+        gridLayout = new GridLayout();
+        gridLayout.marginHeight = gridLayout.marginWidth = 0;
+        statusPanel.setLayoutManager( gridLayout );
+        final DeleteButton deleteButton = new DeleteButton( Activator.plugin().image( "delete.png" ) );
+        cell.deleteButton = deleteButton;
+        deleteButton.setToolTip( new Label( EclipseI18n.focusTreeDeleteToolTip.text() ) );
+        // Add name field
+        final NameField nameField = new NameField();
+        cell.add( nameField );
+        cell.nameField = nameField;
+        nameField.setTextAlignment( PositionConstants.CENTER );
+        nameField.setToolTip( new Label() );
+        GridData gridData = new GridData( SWT.FILL, SWT.DEFAULT, true, false );
+        gridData.horizontalSpan = 3;
+        cell.setConstraint( nameField, gridData );
+        // Add type field
+        final TypeField typeField = new TypeField();
+        cell.add( typeField );
+        cell.typeField = typeField;
+        typeField.setTextAlignment( PositionConstants.CENTER );
+        typeField.setToolTip( new Label( EclipseI18n.focusTreeCellTypeToolTip.text() ) );
+        gridData = new GridData( SWT.FILL, SWT.DEFAULT, true, false );
+        gridData.horizontalSpan = 3;
+        cell.setConstraint( typeField, gridData );
+        // Create value field, which is only added to cells whose items have values
+        final ValueField valueField = new ValueField();
+        cell.valueField = valueField;
+        valueField.setTextAlignment( PositionConstants.CENTER );
+        valueField.setToolTip( new Label( EclipseI18n.focusTreeCellValueToolTip.text() ) );
+        return cell;
+    }
+
+    private void populateColumn( final Column column,
+                                 final int childCount,
+                                 final Object[] firstChildren ) {
+        final CellColumn cellColumn = column.cellColumn;
+        if ( cellColumn.placeholder != null ) {
+            cellColumn.remove( cellColumn.placeholder );
+            cellColumn.placeholder = null;
+        }
+        column.header.setChildCount( childCount );
+        // Cells are materialized as they scroll into view, so only the column's items are saved here. Items in pages that have
+        // yet to be loaded are left null.
+        cellColumn.items.addAll( Collections.nCopies( childCount, null ) );
+        cellColumn.setPage( 0, firstChildren );
+        // Get last focus cell for this column from the focus history if available
+        int focusRow = focusTree.focusHistory.focusRow( column.item, cellColumn.items );
+        int focusPage = -1;
+        if ( focusRow < 0 ) {
+            // The item last focused may be in a page yet to be loaded, in which case focus is deferred until the page is loaded
+            // if loaded in the background
+            final int unloadedRow = focusTree.focusHistory.unloadedFocusRow( column.item, cellColumn.items );
+            if ( unloadedRow >= 0 ) {
+                final int offset = unloadedRow - unloadedRow % CHILDREN_PAGE_SIZE;
+                cellColumn.loadPage( unloadedRow );
+                focusRow = focusTree.focusHistory.focusRow( column.item, cellColumn.items );
+                if ( cellColumn.pagesLoading.contains( offset ) ) focusPage = offset;
+            }
+        }
+        if ( focusRow < 0 && !cellColumn.items.isEmpty() && focusPage < 0 ) focusRow = 0;
+        cellColumn.addPanel( 0 );
+        column.focusCell = focusRow < 0 ? null : cellColumn.cell( focusRow );
+
+        // Materialize the cells that will initially be visible around the focus line
+        alignWithFocusLine( column );
+        cellColumn.updateVisibleRows( visibleArea() );
+        // Adjust initial cell width if below minimum width of the materialized cells
+        if ( initialCellWidth < cellColumn.minimumCellWidth ) initialCellWidth = cellColumn.minimumCellWidth;
+        layout.setCellWidth( cellColumn.layout, initialCellWidth );
+        // Save column preferred width for use by double-clicking header border
+        column.preferredWidth = cellColumn.preferredCellWidth + 2 * CELL_COLUMN_MARGIN;
+
+        // Focus on first cell
+        focusCell( column, column.focusCell );
+        cellColumn.focusPage = focusPage;
+        if ( focusPage < 0 ) collapseMismatchedFocusCell( column );
+    }
+
+    /**
+     * Prefetches, at a lower priority than loading the children of expanded cells, the children of the cells immediately above
+     * and below the focus cell of the focus column, and of the focus cell of the column showing the focus cell's children, so
+     * they're shown immediately if focused next. Only done if children are {@link #childrenLoadedInBackground loaded in the
+     * background}.
+     */
+    void prefetchNeighbors() {
+        if ( isDisposed() || !childrenLoadedInBackground ) return;
+        final Column column = focusTree.focusColumn;
+        if ( column == null || column.focusCell == null ) return;
+        final CellColumn cellColumn = column.cellColumn;
+        final List< Object > items = new ArrayList<>();
+        for ( final int row : new int[] { column.focusCell.row - 1, column.focusCell.row + 1 } )
+            if ( row >= 0 && row < cellColumn.items.size() && cellColumn.items.get( row ) != null ) items.add( cellColumn.items.get( row ) );
+        final int ndx = focusTree.columns.indexOf( column );
+        if ( column.focusCellExpanded && ndx + 1 < focusTree.columns.size() ) {
+            final Column nextColumn = focusTree.columns.get( ndx + 1 );
+            if ( nextColumn.focusCell != null && !nextColumn.focusCellExpanded ) items.add( nextColumn.focusCell.item );
+        }
+        final Shell shell = getShell();
+        for ( final Object item : items ) {
+            if ( prefetchedLoadersByItem.containsKey( item ) || removedColumnsByItem.containsKey( item ) ) continue;
+            final PathLoader loader = new PathLoader( null, item, true );
+            loader.setPriority( Job.DECORATE );
+            // Called from the loader's thread
+            loader.done = new Runnable() {
+
+                @Override
+                public void run() {
+                    shell.getDisplay().asyncExec( new Runnable() {
+
+                        @Override
+                        public void run() {
+                            // Ignore results if cancelled because the focus moved
+                            if ( !isDisposed() && neighborLoaders.remove( loader ) && loader.item != null )
+                                prefetchedLoadersByItem.put( loader.item, loader );
+                        }
+                    } );
+                }
+            };
+            neighborLoaders.add( loader );
+            loader.schedule();
+        }
+    }
+
+    private void propagateEvents( final Column column ) {
+        // Listeners refer to the column via its cell column, since cell columns are reused when their items are expanded again
+        final CellColumn cellColumn = column.cellColumn;
+        cellColumn.addMouseMotionListener( new MouseMotionListener.Stub() {
+
+            @Override
+            public void mouseDragged( final MouseEvent event ) {
+                if ( focusLineMouseListener.dragging || focusLine.containsPoint( event.getLocation() ) )
+                    focusLineMouseListener.mouseDragged( event );
+            }
+
+            @Override
+            public void mouseMoved( final MouseEvent event ) {
+                // TODO fix bug where initial tool tip display after change is showing up outside of app briefly
+                // and frequent invalid thread access errors from tool tip helper timer on app exit
+                if ( focusLine.containsPoint( event.getLocation() ) ) {
+                    if ( cellColumn.getToolTip() != focusLine.getToolTip() ) {
                         toolTipHelper.updateToolTip( focusLine, focusLine.getToolTip(), event.x, event.y );
-                        column.cellColumn.setToolTip( focusLine.getToolTip() );
+                        cellColumn.setToolTip( focusLine.getToolTip() );
                     }
-                } else if ( column == focusTree.focusColumn ) {
-                    if ( column.cellColumn.getToolTip() != focusColumnToolTip ) {
+                } else if ( cellColumn.column == focusTree.focusColumn ) {
+                    if ( cellColumn.getToolTip() != focusColumnToolTip ) {
                         toolTipHelper.updateToolTip( focusLine, focusColumnToolTip, event.x, event.y );
-                        column.cellColumn.setToolTip( focusColumnToolTip );
+                        cellColumn.setToolTip( focusColumnToolTip );
                     }
-                } else column.cellColumn.setToolTip( null );
+                } else cellColumn.setToolTip( null );
                 canvasMouseMotionListener.mouseMoved( event );
             }
         } );
-        column.cellColumn.addMouseListener( new MouseListener.Stub() {
+        cellColumn.addMouseListener( new MouseListener.Stub() {
 
             @Override
             public void mouseDoubleClicked( final MouseEvent event ) {
@@ -830,35 +1554,148 @@ class FocusTreeCanvas extends FigureCanvas {
     }
 
     void removeColumn( final Column column ) {
+        final CellColumn cellColumn = column.cellColumn;
+        final boolean focusDeferred = cellColumn.focusPage >= 0;
+        cellColumn.cancelLoading();
+        layout.removeColumn( cellColumn.layout );
         canvas.remove( column.backgroundColumn );
-        canvas.remove( column.cellColumn );
+        canvas.remove( cellColumn );
+        // A column removed while shown in icon view is shown in column view if restored
+        if ( column == iconViewColumn ) {
+            iconViewColumn = null;
+            focusLine.setVisible( true );
+        }
+        cellColumn.iconsPerLine = 0;
+        // Retain the column's cells in case its item is expanded again, unless its children, or the page containing its focus, have
+        // yet to be loaded
+        if ( cellColumn.placeholder == null && !focusDeferred
+             && ( textEditor == null || cellFor( fieldEdited ).getParent() != cellColumn ) ) {
+            cellColumn.unhover();
+            removedColumnsByItem.put( column.item, cellColumn );
+        }
+    }
+
+    /**
+     * Adds the supplied recently removed cell column back to the canvas for the supplied column, which is for the same item,
+     * restoring its previous focus cell without consulting the model
+     */
+    private void restoreColumn( final Column column,
+                                final CellColumn cellColumn ) {
+        final Column removedColumn = cellColumn.column;
+        column.backgroundColumn = removedColumn.backgroundColumn;
+        column.backgroundColumn.setOpaque( false );
+        column.backgroundColumn.setToolTip( null );
+        column.backgroundColumn.setBackgroundColor( focusColumnColor );
+        canvas.add( column.backgroundColumn, 0 );
+        cellColumn.column = column;
+        cellColumn.setToolTip( null );
+        cellColumn.hibernating = false;
+        cellColumn.offScreenTime = 0;
+        column.cellColumn = cellColumn;
+        column.preferredWidth = removedColumn.preferredWidth;
+        canvas.add( cellColumn );
+        layout.addColumn( cellColumn.layout );
+        layout.setCellWidth( cellColumn.layout, initialCellWidth );
+        updateChildCount( column );
+        capabilities( column );
+        focusCell( column, removedColumn.focusCell );
     }
 
     private void removeColumnsAfter( final Column column ) {
         focusTree.removeColumnsAfter( column );
-        final Rectangle childColumnBounds = column.cellColumn.getBounds();
-        canvas.setSize( childColumnBounds.x + childColumnBounds.width, canvas.getSize().height );
+        applyLayout();
     }
 
-    void scrollToFocusLine() {
-        scrollToY( focusLine.getLocation().y - focusLineOffset );
-        // scrollSmoothTo( getViewport().getClientArea().x, focusLine.getLocation().y - focusLineOffset );
+    /**
+     * Restores a focus path saved in a previous session. The items of the path are resolved from their qualified names, and
+     * their children loaded, concurrently in the background, after which the path is {@link #expandTo(Object[]) expanded} in a
+     * single layout pass. Restoring stops at the first item that can no longer be resolved.
+     * 
+     * @param qualifiedNames
+     *        the qualified names of the items from the root to the item to be focused
+     * @param restored
+     *        called on the UI thread once the path has been expanded
+     */
+    void restoreFocusPath( final String[] qualifiedNames,
+                           final Runnable restored ) {
+        if ( qualifiedNames.length < 2 || focusTree.columns.isEmpty() ) return;
+        final Column rootColumn = focusTree.columns.get( 0 );
+        if ( !focusTree.model.qualifiedName( rootColumn.item ).equals( qualifiedNames[ 0 ] ) ) return;
+        pathGeneration++;
+        final PathLoader[] loaders = new PathLoader[ qualifiedNames.length ];
+        for ( int ndx = 0; ndx < loaders.length; ndx++ )
+            // Children of the last item aren't shown
+            loaders[ ndx ] = new PathLoader( qualifiedNames[ ndx ], ndx == 0 ? rootColumn.item : null, ndx < loaders.length - 1 );
+        loadPath( loaders, new Runnable() {
+
+            @Override
+            public void run() {
+                if ( focusTree.columns.isEmpty() || focusTree.columns.get( 0 ) != rootColumn ) return;
+                final List< Object > path = new ArrayList<>();
+                for ( int ndx = 0; ndx < loaders.length && loaders[ ndx ].item != null; ndx++ )
+                    path.add( loaders[ ndx ].item );
+                // Use the root's reloaded children rather than waiting for them to load again
+                final PathLoader rootLoader = prefetchedLoadersByItem.remove( rootColumn.item );
+                if ( rootColumn.cellColumn.placeholder != null && rootLoader != null ) {
+                    rootColumn.cellColumn.cancelLoading();
+                    populateColumn( rootColumn, rootLoader.childCount, rootLoader.children );
+                }
+                expandPath( path.toArray() );
+                restored.run();
+            }
+        } );
     }
 
-    private void setCellColumnLayoutManager( final Column column ) {
-        final GridLayout layout = new GridLayout();
-        layout.marginHeight = 0;
-        layout.marginWidth = 20;
-        layout.verticalSpacing = 2;
-        column.cellColumn.setLayoutManager( layout );
+    /**
+     * @return the scale at which this canvas is zoomed, where 1 is actual size
+     */
+    double scale() {
+        return zoomPane.getScale();
+    }
+
+    /**
+     * @param length
+     *        a length or location in the unscaled coordinates of the layout
+     * @return the supplied length or location as zoomed on screen
+     */
+    int scaled( final int length ) {
+        return ( int ) Math.round( length * scale() );
+    }
+
+    private void scheduleNeighborPrefetch() {
+        cancelNeighborPrefetch();
+        if ( childrenLoadedInBackground ) getDisplay().timerExec( PREFETCH_DELAY, neighborPrefetcher );
+    }
+
+    void scrollToFocusLine() {
+        scrollToY( scaled( layout.focusLineY - layout.focusLineOffset ) );
+        // scrollSmoothTo( getViewport().getClientArea().x, layout.focusLineY - layout.focusLineOffset );
     }
 
     void setFocusLineHeight( final int height ) {
         focusBorder.setWidth( height );
         noFocusBorder.setWidth( height );
-        final Rectangle focusLineBounds = new Rectangle( focusLine.getBounds() );
-        focusLineBounds.height = height;
-        focusLine.setBounds( focusLineBounds );
+        layout.focusLineHeight = height;
+        layout.dirty = true;
+        applyLayout();
+    }
+
+    /**
+     * Zooms this canvas, along with the header bar, keeping the focus cell of the focus column in view
+     * 
+     * @param scale
+     *        the scale at which to show this canvas, where 1 is actual size
+     */
+    void setScale( final double scale ) {
+        if ( scale == scale() ) return;
+        zoomPane.setScale( scale );
+        for ( final Column column : focusTree.columns )
+            if ( column.cellColumn != null ) focusTree.headerBar.layoutHeader( column );
+        updateBounds();
+        updateVisibleRows();
+        focusTree.scrollToFocusColumn();
+        scrollToFocusLine();
+        canvas.repaint();
     }
 
     void showColumn( final Column column,
@@ -867,146 +1704,135 @@ class FocusTreeCanvas extends FigureCanvas {
         focusTree.focusColumn( column );
     }
 
+    /**
+     * Shows the cells of the supplied column as icons in a grid across the entire canvas, in row order, with each cell preceded by
+     * its add panel. Only the icons within the visible area are materialized, as in column view.
+     * 
+     * @param column
+     *        a column
+     */
     void showIconView( final Column column ) {
-        int maxHeight = 0;
         focusLine.setVisible( false );
         for ( final Column col : focusTree.columns ) {
             col.backgroundColumn.setVisible( false );
             if ( col != column ) col.cellColumn.setVisible( false );
         }
-        for ( final Object figure : column.cellColumn.getChildren() )
-            if ( figure instanceof Cell ) {
-                final Cell cell = ( Cell ) figure;
-                final Dimension size = cell.getPreferredSize( initialCellWidth, SWT.DEFAULT );
-                cell.setPreferredSize( size );
-                maxHeight = Math.max( maxHeight, size.height );
-            }
-        for ( final Object figure : column.cellColumn.getChildren() )
-            if ( figure instanceof AddPanel ) {
-                final AddPanel addPanel = ( AddPanel ) figure;
-                addPanel.setPreferredSize( Dimension.SINGLETON.setSize( addPanel.getPreferredSize().height, maxHeight ) );
-            }
-        column.cellColumn.setLayoutManager( new FlowLayout() );
-        final Dimension size = column.cellColumn.getPreferredSize( getViewport().getClientArea().width, SWT.DEFAULT );
-        column.cellColumn.setBounds( Rectangle.SINGLETON.setBounds( 0, 0, size.width, size.height ) );
-        canvas.setSize( size );
+        iconViewColumn = column;
+        updateIconView();
+        column.cellColumn.revalidate();
     }
 
     private void updateBounds() {
-        int minY = Short.MAX_VALUE;
-        int maxY = 0;
-        for ( final Column column : focusTree.columns ) {
-            // // jpav: remove
-            // System.out.println( "column: " + column.item );
-            final Rectangle cellColumnBounds = column.cellColumn.getBounds();
-            // // jpav: remove
-            // System.out.println( "cell column bounds: " + cellColumnBounds );
-            minY = Math.min( minY, cellColumnBounds.y );
-            // // jpav: remove
-            // System.out.println( "minY: " + minY );
-            maxY = Math.max( maxY, cellColumnBounds.y + cellColumnBounds.height );
-            // // jpav: remove
-            // System.out.println( "maxY: " + maxY );
-        }
-        int newCanvasHeight = maxY - minY;
-        // // jpav: remove
-        // System.out.println( "new canvas height: " + newCanvasHeight );
-        final Rectangle focusLineBounds = new Rectangle( focusLine.getBounds() );
-        // // jpav: remove
-        // System.out.println( "focus line bounds: " + focusLineBounds );
-        final int topMargin = focusLineOffset - ( focusLineBounds.y - minY );
-        // // jpav: remove
-        // System.out.println( "top margin: " + topMargin );
-        if ( topMargin > 0 ) {
-            newCanvasHeight += topMargin;
-            // // jpav: remove
-            // System.out.println( "new canvas height: " + newCanvasHeight );
-            minY -= topMargin;
-            // // jpav: remove
-            // System.out.println( "minY: " + minY );
-        }
-        final Rectangle viewBounds = getViewport().getClientArea();
-        // // jpav: remove
-        // System.out.println( "view bounds: " + viewBounds );
-        final int bottomMargin = focusLineBounds.y + viewBounds.height - focusLineOffset - maxY;
-        // // jpav: remove
-        // System.out.println( "bottom margin: " + bottomMargin );
-        if ( bottomMargin > 0 ) {
-            newCanvasHeight += bottomMargin;
-            // // jpav: remove
-            // System.out.println( "new canvas height: " + newCanvasHeight );
-        }
-        final Rectangle canvasBounds = new Rectangle( canvas.getBounds() );
-        // // jpav: remove
-        // System.out.println( "canvas bounds: " + canvasBounds );
-        if ( newCanvasHeight != canvasBounds.height ) {
-            canvasBounds.height = newCanvasHeight;
-            canvas.setBounds( canvasBounds );
-            // // jpav: remove
-            // System.out.println( "canvas bounds: " + canvasBounds );
-            for ( final Column column : focusTree.columns ) {
-                // // jpav: remove
-                // System.out.println( "column: " + column.item );
-                final Rectangle cellColumnBounds = column.cellColumn.getBounds();
-                // // jpav: remove
-                // System.out.println( "cell column bounds: " + cellColumnBounds );
-                column.backgroundColumn.setBounds( new Rectangle( cellColumnBounds.x, 0, cellColumnBounds.width, canvasBounds.height ) );
-                // // jpav: remove
-                // System.out.println( "background column bounds: " + column.backgroundColumn.getBounds() );
-            }
-        }
-        if ( minY != 0 ) {
-            focusLineBounds.y -= minY;
-            focusLine.setBounds( focusLineBounds );
-            // // jpav: remove
-            // System.out.println( "focus line bounds: " + focusLineBounds );
-            for ( final Column column : focusTree.columns ) {
-                // // jpav: remove
-                // System.out.println( "column: " + column.item );
-                final Rectangle cellColumnBounds = new Rectangle( column.cellColumn.getBounds() );
-                cellColumnBounds.y -= minY;
-                column.cellColumn.setBounds( cellColumnBounds );
-                // // jpav: remove
-                // System.out.println( "cell column bounds: " + column.cellColumn.getBounds() );
-            }
-        }
-        focusTree.scroller.setMinWidth( canvasBounds.width );
-        focusTree.scroller.setOrigin( canvasBounds.width -
-                                      focusTree.scroller.getClientArea().width,
-                                      0 );
+        if ( layoutBatchDepth > 0 ) return;
+        layout.viewHeight = visibleArea().height;
+        layout.update();
+        applyLayout();
+        final int canvasWidth = scaled( layout.width() );
+        focusTree.scroller.setMinWidth( canvasWidth );
+        focusTree.scroller.setOrigin( canvasWidth - focusTree.scroller.getClientArea().width, 0 );
+    }
+
+    private void updateChildCount( final Column column ) {
+        column.header.setChildCount( column.cellColumn.items.size() );
     }
 
     void updateColumnWidth( final Column column,
                             final int width,
                             final boolean visible ) {
-        column.backgroundColumn.setSize( width, column.backgroundColumn.getSize().height );
+        layout.setColumnWidth( column.cellColumn.layout, width );
         column.backgroundColumn.setVisible( visible );
-        final Dimension childColumnSize = column.cellColumn.getSize();
-        final int delta = width - childColumnSize.width;
-        column.cellColumn.setSize( width, childColumnSize.height );
-        for ( final Object cell : column.cellColumn.getChildren() )
-            ( ( GridData ) column.cellColumn.getLayoutManager().getConstraint( ( IFigure ) cell ) ).widthHint += delta;
         column.cellColumn.setVisible( visible );
-        Column previousColumn = null;
-        for ( final Column col : focusTree.columns )
-            if ( col == column ) previousColumn = col;
-            else if ( previousColumn != null ) {
-                final Rectangle previousColumnBounds = previousColumn.cellColumn.getBounds();
-                final Rectangle childColBounds = new Rectangle( col.cellColumn.getBounds() );
-                childColBounds.x = previousColumnBounds.x + previousColumnBounds.width;
-                col.cellColumn.setBounds( childColBounds );
-                col.cellColumn.revalidate();
-                final Rectangle backgroundColBounds = new Rectangle( col.backgroundColumn.getBounds() );
-                backgroundColBounds.x = childColBounds.x;
-                col.backgroundColumn.setBounds( backgroundColBounds );
-                col.backgroundColumn.revalidate();
-                previousColumn = col;
+        applyLayout();
+    }
+
+    /**
+     * @param length
+     *        a length or location as zoomed on screen
+     * @return the supplied length or location in the unscaled coordinates of the layout
+     */
+    int unscaled( final int length ) {
+        return ( int ) Math.round( length / scale() );
+    }
+
+    /**
+     * Fits as many icons across each line of the icon view grid as the canvas's width allows, sizes the canvas to the grid, and
+     * materializes the icons within the visible area, repeating if a newly materialized cell was taller than any previously
+     * materialized
+     */
+    private void updateIconView() {
+        final CellColumn cellColumn = iconViewColumn.cellColumn;
+        do {
+            cellColumn.iconsPerLine = Math.max( 1, ( visibleArea().width - 2 * CELL_COLUMN_MARGIN ) / cellColumn.iconTileWidth() );
+            final Dimension size = cellColumn.getPreferredSize();
+            final Rectangle bounds = new Rectangle( 0, 0, size.width, size.height );
+            // Materialized cells only need to be laid out again if the grid changed, not as it scrolls
+            if ( !bounds.equals( cellColumn.getBounds() ) ) {
+                cellColumn.setBounds( bounds );
+                cellColumn.revalidate();
+                canvas.setSize( size );
+            }
+        } while ( cellColumn.updateVisibleRows( visibleArea() ) );
+    }
+
+    void updateVisibleRows() {
+        if ( updatingVisibleRows || layoutBatchDepth > 0 || isDisposed() ) return;
+        updatingVisibleRows = true;
+        try {
+            if ( iconViewShown() ) {
+                updateIconView();
+                return;
+            }
+            final int left = unscaled( focusTree.scroller.getOrigin().x );
+            final int right = unscaled( focusTree.scroller.getOrigin().x + focusTree.scroller.getClientArea().width );
+            final long now = System.currentTimeMillis();
+            boolean offScreen = false;
+            for ( final Column column : focusTree.columns ) {
+                final CellColumn cellColumn = column.cellColumn;
+                if ( cellColumn == null ) continue;
+                if ( cellColumn.layout.x + cellColumn.layout.width < left || cellColumn.layout.x > right ) {
+                    // Leave cells of columns scrolled out of view as they are until hibernated
+                    if ( cellColumn.hibernating ) continue;
+                    if ( cellColumn.offScreenTime == 0 ) cellColumn.offScreenTime = now;
+                    if ( now - cellColumn.offScreenTime >= HIBERNATION_DELAY ) cellColumn.hibernate();
+                    else offScreen = true;
+                    continue;
+                }
+                cellColumn.offScreenTime = 0;
+                cellColumn.hibernating = false;
+                // Re-align column if materialized cells were taller than any previously materialized
+                while ( cellColumn.updateVisibleRows( visibleArea() ) ) {
+                    alignWithFocusLine( column );
+                    updateBounds();
+                }
             }
-        @SuppressWarnings( "null" ) final Rectangle previousColumnBounds = previousColumn.cellColumn.getBounds();
-        final Rectangle canvasBounds = new Rectangle( canvas.getBounds() );
-        canvasBounds.width = previousColumnBounds.x + previousColumnBounds.width;
-        canvas.setBounds( canvasBounds );
-        canvas.revalidate();
+            if ( offScreen && !hibernationScheduled ) {
+                hibernationScheduled = true;
+                getDisplay().timerExec( HIBERNATION_DELAY, new Runnable() {
+
+                    @Override
+                    public void run() {
+                        hibernationScheduled = false;
+                        updateVisibleRows();
+                    }
+                } );
+            }
+        } finally {
+            updatingVisibleRows = false;
+        }
+    }
+
+    /**
+     * @return the area of the canvas visible in the view, in the unscaled coordinates of the layout
+     */
+    Rectangle visibleArea() {
+        final Rectangle area = getViewport().getClientArea();
+        final int right = unscaled( area.x + area.width );
+        final int bottom = unscaled( area.y + area.height );
+        area.x = unscaled( area.x );
+        area.y = unscaled( area.y );
+        area.width = right - area.x;
+        area.height = bottom - area.y;
+        return area;
     }
 
     private class AddButton extends ImageFigure {
@@ -1022,9 +1848,698 @@ class FocusTreeCanvas extends FigureCanvas {
         int viewIndex;
     }
 
+    /**
+     * A column of cells for the children of a column's item. Only the cells within, or within {@link #OVERSCAN_ROWS a few rows}
+     * of, the visible area are materialized as figures. All rows share the same height, so the location of any row, and the
+     * rows within any area, can be determined arithmetically. Cells and add panels that scroll out of view are recycled for
+     * rows that scroll into view. Columns that remain horizontally scrolled out of view for a while are
+     * {@link #hibernate() hibernated}. In icon view, cells are likewise located arithmetically within a grid of fixed-size
+     * tiles.
+     */
     class CellColumn extends Figure {
 
         Column column;
+        final ColumnLayout layout;
+        final RowList items = new RowList();
+        final Map< Integer, Cell > cellsByRow = new HashMap<>();
+        final Map< Integer, AddPanel > addPanelsByModelIndex = new HashMap<>();
+        private final Deque< Cell > spareCells = new ArrayDeque<>();
+        private final Deque< AddPanel > spareAddPanels = new ArrayDeque<>();
+        int minimumCellWidth;
+        int preferredCellWidth;
+        Label placeholder;
+        Cell hoverCell;
+        AddPanel hoverAddPanel;
+        final List< ChildrenLoader > loaders = new ArrayList<>();
+        final Set< Integer > pagesLoading = new HashSet<>();
+        /**
+         * <code>true</code> if this column's cells have been released while it is scrolled out of view
+         */
+        boolean hibernating;
+        /**
+         * The time this column was first found to be horizontally scrolled out of view, or 0 if it is in view
+         */
+        long offScreenTime;
+        /**
+         * The number of cells across each line of the grid in which this column's cells are shown in icon view, or 0 if not shown
+         * in icon view
+         */
+        int iconsPerLine;
+        /**
+         * The {@link FocusTreeCanvas#pendingPath pending path} for which all pages of this column's children have been
+         * {@link #loadPages() loaded}, so they're only loaded once per path
+         */
+        Object[] pagesLoadedForPath;
+        /**
+         * The offset of the page containing the row last focused in this column, if focusing a cell is deferred until the page
+         * has been loaded in the background, otherwise -1
+         */
+        int focusPage = -1;
+
+        CellColumn( final Column column,
+                    final ColumnLayout layout ) {
+            this.column = column;
+            this.layout = layout;
+        }
+
+        /**
+         * @param modelIndex
+         *        the index of a child of this column's item before which the add panel appears
+         * @return the materialized add panel for the supplied model index
+         */
+        AddPanel addPanel( final int modelIndex ) {
+            AddPanel addPanel = addPanelsByModelIndex.get( modelIndex );
+            if ( addPanel == null ) {
+                addPanel = spareAddPanels.poll();
+                if ( addPanel == null ) {
+                    addPanel = newAddPanel();
+                    layout.addPanelHeight = Math.max( layout.addPanelHeight, addPanel.getPreferredSize().height );
+                }
+                add( addPanel );
+                addPanelsByModelIndex.put( modelIndex, addPanel );
+                addPanel.modelIndex = modelIndex;
+                addPanel.viewIndex = modelIndex * 2;
+                layoutAddPanel( addPanel );
+            }
+            return addPanel;
+        }
+
+        int addPanelY( final int modelIndex ) {
+            return layout.addPanelY( modelIndex );
+        }
+
+        void cancelLoading() {
+            for ( final ChildrenLoader loader : loaders )
+                loader.cancel();
+            loaders.clear();
+            pagesLoading.clear();
+            focusPage = -1;
+        }
+
+        /**
+         * @param row
+         *        the index of a child of this column's item
+         * @return the materialized cell for the supplied row, or <code>null</code> if the page containing the row is being loaded
+         *         in the background
+         */
+        Cell cell( final int row ) {
+            Cell cell = cellsByRow.get( row );
+            if ( cell == null ) {
+                Object item = items.get( row );
+                if ( item == null ) {
+                    loadPage( row );
+                    item = items.get( row );
+                    if ( item == null ) return null;
+                }
+                cell = spareCells.poll();
+                if ( cell == null ) cell = newCell( item );
+                add( cell );
+                cellsByRow.put( row, cell );
+                bindCell( cell, column, item, row );
+                final Dimension size = cell.getPreferredSize();
+                layout.cellHeight = Math.max( layout.cellHeight, size.height );
+                preferredCellWidth = Math.max( preferredCellWidth, size.width );
+                minimumCellWidth = Math.max( minimumCellWidth, cell.getMinimumSize().width );
+                layoutCell( cell );
+            }
+            return cell;
+        }
+
+        /**
+         * Removes all rows, releasing their materialized cells and add panels.
+         */
+        void clear() {
+            cancelLoading();
+            for ( final Cell cell : cellsByRow.values() )
+                release( cell );
+            cellsByRow.clear();
+            for ( final AddPanel addPanel : addPanelsByModelIndex.values() )
+                release( addPanel );
+            addPanelsByModelIndex.clear();
+            items.clear();
+            hoverCell = null;
+            hoverAddPanel = null;
+        }
+
+        int cellY( final int row ) {
+            return layout.cellY( row );
+        }
+
+        /**
+         * Releases all materialized cells and add panels other than the focus cell and any cell being edited, along with any
+         * spare figures, since this column is no longer in view. The column's items, focus cell, and vertical alignment are
+         * retained, so its visible rows are simply materialized again once the column scrolls back into view.
+         */
+        void hibernate() {
+            hibernating = true;
+            unhover();
+            final Cell editedCell = textEditor == null ? null : cellFor( fieldEdited );
+            for ( final Iterator< Cell > iter = cellsByRow.values().iterator(); iter.hasNext(); ) {
+                final Cell cell = iter.next();
+                if ( cell != column.focusCell && cell != editedCell ) {
+                    iter.remove();
+                    release( cell );
+                }
+            }
+            for ( final AddPanel addPanel : addPanelsByModelIndex.values() )
+                release( addPanel );
+            addPanelsByModelIndex.clear();
+            spareCells.clear();
+            spareAddPanels.clear();
+        }
+
+        /**
+         * @param x
+         *        a horizontal location within this column
+         * @param y
+         *        a vertical location within this column
+         * @return the top-most visible figure at the supplied location, searching only the materialized cell or add panel of the
+         *         row containing the location
+         */
+        IFigure figureAt( final int x,
+                          final int y ) {
+            IFigure figure = null;
+            if ( iconView() ) {
+                // Each tile of the icon view grid contains a row's add panel followed by its cell
+                final int tileX = x - getBounds().x - CELL_COLUMN_MARGIN;
+                final int tileWidth = iconTileWidth();
+                if ( tileX >= 0 && tileX < iconsPerLine * tileWidth ) {
+                    final int row = ( y - getBounds().y ) / iconTileHeight() * iconsPerLine + tileX / tileWidth;
+                    if ( tileX % tileWidth < layout.addPanelHeight ) {
+                        final AddPanel addPanel = addPanelsByModelIndex.get( row );
+                        if ( addPanel != null ) figure = addPanel.findFigureAt( x, y );
+                    } else {
+                        final Cell cell = cellsByRow.get( row );
+                        if ( cell != null ) figure = cell.findFigureAt( x, y );
+                    }
+                }
+            } else if ( placeholder != null ) figure = placeholder.findFigureAt( x, y );
+            else {
+                final int columnY = y - getBounds().y;
+                final int row = layout.row( columnY );
+                final int rowY = columnY - row * layout.rowHeight();
+                if ( rowY < layout.addPanelHeight ) {
+                    final AddPanel addPanel = addPanelsByModelIndex.get( row );
+                    if ( addPanel != null ) figure = addPanel.findFigureAt( x, y );
+                } else {
+                    final Cell cell = cellsByRow.get( row );
+                    if ( cell != null ) figure = cell.findFigureAt( x, y );
+                }
+            }
+            return figure == null ? this : figure;
+        }
+
+        /**
+         * {@inheritDoc}
+         * 
+         * @see org.eclipse.draw2d.Figure#getPreferredSize(int, int)
+         */
+        @Override
+        public Dimension getPreferredSize( final int widthHint,
+                                           final int heightHint ) {
+            if ( iconView() ) {
+                final int lines = ( items.size() + iconsPerLine ) / iconsPerLine;
+                return new Dimension( iconsPerLine * iconTileWidth() + 2 * CELL_COLUMN_MARGIN, lines * iconTileHeight() );
+            }
+            if ( placeholder != null )
+                return new Dimension( Math.max( layout.cellWidth, 0 ) + 2 * CELL_COLUMN_MARGIN, placeholder.getPreferredSize().height );
+            return new Dimension( Math.max( layout.cellWidth, 0 ) + 2 * CELL_COLUMN_MARGIN, items.size() * rowHeight() + layout.addPanelHeight );
+        }
+
+        /**
+         * Materializes the cell or add panel at the supplied location when {@link FocusTreeCanvas#cellsRendered cells are
+         * rendered}, releasing any cell or add panel previously hovered over.
+         * 
+         * @param y
+         *        a vertical location within this column
+         * @return <code>true</code> if a cell or add panel was newly materialized
+         */
+        boolean hover( final int y ) {
+            if ( iconView() || placeholder != null ) return false;
+            final int rowHeight = rowHeight();
+            final int columnY = y - getBounds().y;
+            final int row = layout.row( columnY );
+            final int rowY = columnY - row * rowHeight;
+            Cell cell = null;
+            AddPanel addPanel = null;
+            if ( row >= 0 && row <= items.size() && rowY < layout.addPanelHeight ) addPanel = addPanel( row );
+            else if ( row >= 0 && row < items.size() && rowY >= layout.addPanelHeight + CELL_SPACING
+                      && rowY < layout.addPanelHeight + CELL_SPACING + layout.cellHeight ) cell = cell( row );
+            if ( cell == hoverCell && addPanel == hoverAddPanel ) return false;
+            unhover();
+            hoverCell = cell;
+            hoverAddPanel = addPanel;
+            if ( cell != null ) cell.validate();
+            if ( addPanel != null ) addPanel.validate();
+            return cell != null || addPanel != null;
+        }
+
+        /**
+         * @return the height of each line of the icon view grid
+         */
+        int iconTileHeight() {
+            return Math.max( layout.cellHeight, 0 ) + CELL_SPACING;
+        }
+
+        /**
+         * @return the width of each tile of the icon view grid, which contains a row's add panel, turned on its side, followed by
+         *         its cell
+         */
+        int iconTileWidth() {
+            return layout.addPanelHeight + Math.max( layout.cellWidth, 0 ) + CELL_SPACING;
+        }
+
+        /**
+         * @return <code>true</code> if this column's cells are shown in icon view
+         */
+        boolean iconView() {
+            return iconsPerLine > 0;
+        }
+
+        /**
+         * Inserts a row for the supplied item, shifting the rows, and updating the indexes, of any following materialized cells
+         * and add panels.
+         * 
+         * @param row
+         *        the index at which the supplied item was inserted into this column item's children
+         * @param item
+         *        the inserted item
+         */
+        void insertRow( final int row,
+                        final Object item ) {
+            // Pages being loaded would no longer be at their expected offsets
+            cancelLoading();
+            items.add( row, item );
+            shift( row, row + 1, 1 );
+            revalidate();
+        }
+
+        /**
+         * {@inheritDoc}
+         * 
+         * @see org.eclipse.draw2d.Figure#layout()
+         */
+        @Override
+        protected void layout() {
+            if ( placeholder != null ) {
+                final Rectangle bounds = getBounds();
+                placeholder.setBounds( new Rectangle( bounds.x + CELL_COLUMN_MARGIN, bounds.y, Math.max( layout.cellWidth, 0 ),
+                                                      placeholder.getPreferredSize().height ) );
+            }
+            for ( final Cell cell : cellsByRow.values() )
+                layoutCell( cell );
+            for ( final AddPanel addPanel : addPanelsByModelIndex.values() )
+                layoutAddPanel( addPanel );
+        }
+
+        private void layoutAddPanel( final AddPanel addPanel ) {
+            final Rectangle bounds = getBounds();
+            if ( iconView() ) {
+                final int modelIndex = addPanel.modelIndex;
+                addPanel.setBounds( new Rectangle( bounds.x + CELL_COLUMN_MARGIN + modelIndex % iconsPerLine * iconTileWidth(),
+                                                   bounds.y + modelIndex / iconsPerLine * iconTileHeight(), layout.addPanelHeight,
+                                                   Math.max( layout.cellHeight, 0 ) ) );
+                return;
+            }
+            addPanel.setBounds( new Rectangle( bounds.x + CELL_COLUMN_MARGIN, bounds.y + addPanelY( addPanel.modelIndex ),
+                                               Math.max( layout.cellWidth, 0 ), layout.addPanelHeight ) );
+        }
+
+        private void layoutCell( final Cell cell ) {
+            final Rectangle bounds = getBounds();
+            if ( iconView() ) {
+                cell.setBounds( new Rectangle( bounds.x + CELL_COLUMN_MARGIN + cell.row % iconsPerLine * iconTileWidth()
+                                               + layout.addPanelHeight, bounds.y + cell.row / iconsPerLine * iconTileHeight(),
+                                               Math.max( layout.cellWidth, 0 ), layout.cellHeight ) );
+                return;
+            }
+            cell.setBounds( new Rectangle( bounds.x + CELL_COLUMN_MARGIN, bounds.y + cellY( cell.row ),
+                                           Math.max( layout.cellWidth, 0 ), layout.cellHeight ) );
+        }
+
+        void loadPage( final int row ) {
+            final int offset = row - row % CHILDREN_PAGE_SIZE;
+            final ChildrenLoader loader = new ChildrenLoader( column, offset, Math.min( CHILDREN_PAGE_SIZE, items.size() - offset ) );
+            if ( !childrenLoadedInBackground ) loader.loadAndApply();
+            else if ( pagesLoading.add( offset ) ) schedule( loader );
+        }
+
+        /**
+         * Loads every page of this column's children that has yet to be loaded, e.g., to find an item by its row
+         */
+        void loadPages() {
+            for ( int row = 0; row < items.size(); row++ )
+                if ( items.get( row ) == null ) {
+                    loadPage( row );
+                    // Skip to the end of the page
+                    row += CHILDREN_PAGE_SIZE - 1 - row % CHILDREN_PAGE_SIZE;
+                }
+        }
+
+        /**
+         * {@inheritDoc}
+         * 
+         * @see org.eclipse.draw2d.Figure#paintFigure(org.eclipse.draw2d.Graphics)
+         */
+        @Override
+        protected void paintFigure( final Graphics graphics ) {
+            super.paintFigure( graphics );
+            if ( !( cellsRendered || detailReduced() ) || iconView() || placeholder != null || items.isEmpty() ) return;
+            // Paint rows without materialized cells, in less detail the further the canvas is zoomed out
+            final Rectangle clip = graphics.getClip( new Rectangle() );
+            final Rectangle bounds = getBounds();
+            final int rowHeight = rowHeight();
+            final double scale = scale();
+            final boolean strips = scale < stripDetailScale;
+            // Rows too short to be told apart are painted together in strips, represented by the first row of each, so the
+            // number of rows painted doesn't grow as the canvas is zoomed further out
+            final int rowsPerStrip = strips ? Math.max( 1, ( int ) Math.ceil( STRIP_HEIGHT / ( rowHeight * scale ) ) ) : 1;
+            int firstRow = Math.max( 0, ( clip.y - bounds.y ) / rowHeight );
+            firstRow -= firstRow % rowsPerStrip;
+            final int lastRow = Math.min( items.size() - 1, ( clip.y + clip.height - bounds.y ) / rowHeight );
+            for ( int row = firstRow; row <= lastRow; row += rowsPerStrip ) {
+                final Object item = items.get( row );
+                if ( item == null || ( !strips && cellsByRow.containsKey( row ) ) ) continue;
+                final Rectangle rowBounds = new Rectangle( bounds.x + CELL_COLUMN_MARGIN, bounds.y + cellY( row ),
+                                                           Math.max( layout.cellWidth, 0 ), layout.cellHeight );
+                if ( strips ) {
+                    final int lastStripRow = Math.min( row + rowsPerStrip, items.size() ) - 1;
+                    rowBounds.height = cellY( lastStripRow ) + layout.cellHeight - cellY( row );
+                    cellRenderer.paintStrip( graphics, rowBounds, focusTree.model, item );
+                } else if ( scale < barDetailScale ) cellRenderer.paintBar( graphics, rowBounds, focusTree.model, item );
+                else cellRenderer.paint( graphics, rowBounds, noFocusBorder.getWidth(), focusTree.model, column.item, item,
+                                         indexText( row ) );
+            }
+        }
+
+        private void release( final AddPanel addPanel ) {
+            remove( addPanel );
+            if ( mouseOverButton != null && mouseOverButton.getParent() == addPanel ) hideMouseOverButton();
+            if ( spareAddPanels.size() < MAX_SPARE_FIGURES ) spareAddPanels.push( addPanel );
+        }
+
+        private void release( final Cell cell ) {
+            remove( cell );
+            if ( mouseOverButton == cell.deleteButton ) hideMouseOverButton();
+            cell.item = null;
+            if ( spareCells.size() < MAX_SPARE_FIGURES ) spareCells.push( cell );
+        }
+
+        /**
+         * Moves rows, and any materialized cells, to their new indexes
+         * 
+         * @param newIndexes
+         *        the new index of each child of this column's item, by its previous index
+         */
+        void reorder( final int[] newIndexes ) {
+            // Pages being loaded would no longer be at their expected offsets
+            cancelLoading();
+            final Object[] reorderedItems = new Object[ items.size() ];
+            for ( int row = 0; row < reorderedItems.length; row++ )
+                reorderedItems[ newIndexes[ row ] ] = items.get( row );
+            items.clear();
+            items.addAll( Arrays.asList( reorderedItems ) );
+            final Map< Integer, Cell > cells = new HashMap<>();
+            for ( final Cell cell : cellsByRow.values() ) {
+                cell.row = newIndexes[ cell.row ];
+                bindIndexLabel( cell );
+                layoutCell( cell );
+                cells.put( cell.row, cell );
+            }
+            cellsByRow.clear();
+            cellsByRow.putAll( cells );
+        }
+
+        /**
+         * Removes the supplied row, shifting the rows, and updating the indexes, of any following materialized cells and add
+         * panels.
+         * 
+         * @param row
+         *        the index of the removed child of this column's item
+         */
+        void removeRow( final int row ) {
+            final Cell cell = cellsByRow.remove( row );
+            if ( cell != null ) release( cell );
+            final AddPanel addPanel = addPanelsByModelIndex.remove( row );
+            if ( addPanel != null ) release( addPanel );
+            // Pages being loaded would no longer be at their expected offsets
+            cancelLoading();
+            items.remove( row );
+            shift( row + 1, row + 1, -1 );
+            revalidate();
+        }
+
+        void repaintRow( final int row ) {
+            final Rectangle bounds = getBounds();
+            repaint( bounds.x, bounds.y + cellY( row ), bounds.width, layout.cellHeight );
+        }
+
+        int rowHeight() {
+            return layout.rowHeight();
+        }
+
+        void schedule( final ChildrenLoader loader ) {
+            loaders.add( loader );
+            loader.schedule();
+        }
+
+        /**
+         * @param offset
+         *        the index of the first of the supplied children
+         * @param children
+         *        a page of the children of this column's item
+         */
+        void setPage( final int offset,
+                      final Object[] children ) {
+            for ( int ndx = 0; ndx < children.length && offset + ndx < items.size(); ndx++ )
+                items.set( offset + ndx, children[ ndx ] );
+            pagesLoading.remove( offset );
+        }
+
+        private void shift( final int fromRow,
+                            final int fromModelIndex,
+                            final int delta ) {
+            final Map< Integer, Cell > cells = new HashMap<>();
+            for ( final Cell cell : cellsByRow.values() ) {
+                if ( cell.row >= fromRow ) {
+                    cell.row += delta;
+                    bindIndexLabel( cell );
+                }
+                cells.put( cell.row, cell );
+            }
+            cellsByRow.clear();
+            cellsByRow.putAll( cells );
+            final Map< Integer, AddPanel > addPanels = new HashMap<>();
+            for ( final AddPanel addPanel : addPanelsByModelIndex.values() ) {
+                if ( addPanel.modelIndex >= fromModelIndex ) {
+                    addPanel.modelIndex += delta;
+                    addPanel.viewIndex = addPanel.modelIndex * 2;
+                }
+                addPanels.put( addPanel.modelIndex, addPanel );
+            }
+            addPanelsByModelIndex.clear();
+            addPanelsByModelIndex.putAll( addPanels );
+        }
+
+        /**
+         * Releases the cell or add panel hovered over, unless it is the focus cell or being edited.
+         */
+        void unhover() {
+            if ( hoverCell != null && hoverCell != column.focusCell && ( textEditor == null || hoverCell != cellFor( fieldEdited ) )
+                 && cellsByRow.get( hoverCell.row ) == hoverCell ) {
+                cellsByRow.remove( hoverCell.row );
+                release( hoverCell );
+            }
+            if ( hoverAddPanel != null && addPanelsByModelIndex.get( hoverAddPanel.modelIndex ) == hoverAddPanel ) {
+                addPanelsByModelIndex.remove( hoverAddPanel.modelIndex );
+                release( hoverAddPanel );
+            }
+            hoverCell = null;
+            hoverAddPanel = null;
+        }
+
+        /**
+         * Materializes the cells and add panels within, or within {@link #OVERSCAN_ROWS a few rows} of, the supplied visible
+         * area, and recycles all others except for the focus cell and any cell being edited.
+         * 
+         * @param visibleArea
+         *        the visible area of the canvas
+         * @return <code>true</code> if a newly materialized cell was taller than any previously materialized, and consequently
+         *         the height of every row changed
+         */
+        boolean updateVisibleRows( final Rectangle visibleArea ) {
+            if ( placeholder != null ) return false;
+            final int oldRowHeight = rowHeight();
+            final int oldCellHeight = layout.cellHeight;
+            final int top = visibleArea.y - ( iconView() ? getBounds().y : layout.y );
+            final int firstRow;
+            final int lastRow;
+            if ( iconView() ) {
+                // Rows within, or within a line of, the visible lines of the icon view grid
+                final int tileHeight = iconTileHeight();
+                firstRow = Math.max( 0, top / tileHeight - 1 ) * iconsPerLine;
+                lastRow = Math.min( items.size() - 1, ( ( top + visibleArea.height ) / tileHeight + 2 ) * iconsPerLine - 1 );
+            } else {
+                firstRow = Math.max( 0, top / oldRowHeight - OVERSCAN_ROWS );
+                lastRow = Math.min( items.size() - 1, ( top + visibleArea.height ) / oldRowHeight + OVERSCAN_ROWS );
+            }
+            // Recycle cells and add panels outside of visible rows, or all of them other than those hovered over if cells are
+            // rendered or painted in reduced detail, which never applies to icon view
+            final boolean rendered = !iconView() && ( cellsRendered || detailReduced() );
+            final Cell editedCell = textEditor == null ? null : cellFor( fieldEdited );
+            for ( final Iterator< Entry< Integer, Cell > > iter = cellsByRow.entrySet().iterator(); iter.hasNext(); ) {
+                final Entry< Integer, Cell > entry = iter.next();
+                final int row = entry.getKey();
+                final Cell cell = entry.getValue();
+                if ( ( rendered || row < firstRow || row > lastRow ) && cell != column.focusCell && cell != editedCell
+                     && cell != hoverCell ) {
+                    iter.remove();
+                    release( cell );
+                }
+            }
+            for ( final Iterator< Entry< Integer, AddPanel > > iter = addPanelsByModelIndex.entrySet().iterator(); iter.hasNext(); ) {
+                final Entry< Integer, AddPanel > entry = iter.next();
+                final int modelIndex = entry.getKey();
+                if ( ( rendered || modelIndex < firstRow || modelIndex > lastRow + 1 ) && entry.getValue() != hoverAddPanel ) {
+                    iter.remove();
+                    release( entry.getValue() );
+                }
+            }
+            if ( rendered ) {
+                // Measure rows that will be painted, unless painted in reduced detail, which only requires they be loaded
+                final boolean measured = !detailReduced() || layout.cellHeight <= 0;
+                for ( int row = firstRow; row <= lastRow; row++ ) {
+                    Object item = items.get( row );
+                    if ( item == null ) {
+                        loadPage( row );
+                        item = items.get( row );
+                        if ( item == null ) continue;
+                    }
+                    if ( !measured ) continue;
+                    final int inset = noFocusBorder.getWidth();
+                    final String index = indexText( row );
+                    final Dimension size = cellRenderer.preferredSize( getFont(), inset, focusTree.model, item, index );
+                    layout.cellHeight = Math.max( layout.cellHeight, size.height );
+                    preferredCellWidth = Math.max( preferredCellWidth, size.width );
+                    minimumCellWidth =
+                        Math.max( minimumCellWidth, cellRenderer.minimumWidth( getFont(), inset, focusTree.model, item, index ) );
+                }
+                repaint();
+            } else {
+                // Materialize cells and add panels within visible rows
+                for ( int row = firstRow; row <= lastRow; row++ )
+                    cell( row );
+                for ( int modelIndex = firstRow; modelIndex <= lastRow + 1 && modelIndex <= items.size(); modelIndex++ )
+                    addPanel( modelIndex );
+            }
+            if ( rowHeight() == oldRowHeight && layout.cellHeight == oldCellHeight ) return false;
+            layout();
+            return true;
+        }
+    }
+
+    /**
+     * Loads either the children of a column's item, or, if the model {@link FocusTree.Model#childrenPaged(Object) pages} the
+     * children, their count and first page, or a subsequent page of the children. May be run in the background, in which case
+     * the results are applied to the column in a single update on the UI thread.
+     */
+    class ChildrenLoader extends Job {
+
+        final Column column;
+        final int offset;
+        final int limit;
+        private final Shell shell;
+        private final Display display;
+        int childCount;
+        Object[] children = Util.EMPTY_ARRAY;
+
+        ChildrenLoader( final Column column ) {
+            this( column, -1, CHILDREN_PAGE_SIZE );
+        }
+
+        ChildrenLoader( final Column column,
+                        final int offset,
+                        final int limit ) {
+            this( column, EclipseI18n.focusTreeLoadingChildrenJob.text( column.item ), offset, limit );
+        }
+
+        ChildrenLoader( final Column column,
+                        final String name,
+                        final int offset,
+                        final int limit ) {
+            super( name );
+            this.column = column;
+            this.offset = offset;
+            this.limit = limit;
+            shell = getShell();
+            display = shell.getDisplay();
+            setSystem( true );
+            setPriority( INTERACTIVE );
+        }
+
+        private void apply() {
+            final CellColumn cellColumn = column.cellColumn;
+            if ( offset >= 0 ) {
+                cellColumn.setPage( offset, children );
+                return;
+            }
+            populateColumn( column, childCount, children );
+        }
+
+        /**
+         * @return the item whose children are to be loaded
+         */
+        Object item() {
+            return column.item;
+        }
+
+        void load() {
+            final Model model = focusTree.model;
+            final Object item = item();
+            try {
+                if ( offset >= 0 ) children = model.children( item, offset, limit );
+                else if ( model.childrenPaged( item ) ) {
+                    childCount = model.childCount( item );
+                    children = model.children( item, 0, Math.min( childCount, limit ) );
+                } else {
+                    children = model.children( item );
+                    childCount = children.length;
+                }
+            } catch ( final PolyglotterException e ) {
+                Util.handleModelError( shell, e );
+            }
+        }
+
+        void loadAndApply() {
+            load();
+            apply();
+        }
+
+        /**
+         * {@inheritDoc}
+         * 
+         * @see org.eclipse.core.runtime.jobs.Job#run(org.eclipse.core.runtime.IProgressMonitor)
+         */
+        @Override
+        protected IStatus run( final IProgressMonitor monitor ) {
+            load();
+            if ( monitor.isCanceled() ) return Status.CANCEL_STATUS;
+            display.asyncExec( new Runnable() {
+
+                @Override
+                public void run() {
+                    // Ignore results if cancelled while waiting to run
+                    if ( isDisposed() || !column.cellColumn.loaders.remove( ChildrenLoader.this ) ) return;
+                    apply();
+                    // Materialize cells for a newly loaded page, focusing on the cell deferred until the page was loaded
+                    if ( offset >= 0 ) updateVisibleRows();
+                    if ( offset >= 0 && offset == column.cellColumn.focusPage ) focusDeferredCell( column );
+                    // Resume expanding a path waiting on this column's children or pages
+                    if ( pendingPath != null && column.cellColumn.pagesLoading.isEmpty() ) expandPendingPath( column );
+                }
+            } );
+            return Status.OK_STATUS;
+        }
     }
 
     class DeleteButton extends ImageFigure {
@@ -1039,19 +2554,33 @@ class FocusTreeCanvas extends FigureCanvas {
         private int offset;
         boolean dragging;
 
+        private void drag( final int y ) {
+            final int delta = y - offset - layout.focusLineY;
+            if ( delta == 0 ) return;
+            layout.moveFocusLine( delta );
+            // Re-align all columns with the moved focus line in a single layout pass
+            for ( final Column column : focusTree.columns )
+                alignWithFocusLine( column );
+            updateBounds();
+            updateVisibleRows();
+            scrollToFocusLine();
+        }
+
         @Override
         public void mouseDoubleClicked( final MouseEvent event ) {}
 
         @Override
         public void mouseDragged( final MouseEvent event ) {
             dragging = true;
-            final int delta = event.y - offset - focusLine.getBounds().y;
-            focusLineOffset += delta;
-            focusLine.translate( 0, delta );
-            canvas.repaint();
-            for ( final Column column : focusTree.columns )
-                focusCell( column, column.focusCell );
-            scrollToFocusLine();
+            // Move the focus line only to the latest location once per frame
+            final int y = event.y;
+            focusTree.interactionScheduler.schedule( this, new Runnable() {
+
+                @Override
+                public void run() {
+                    drag( y );
+                }
+            } );
         }
 
         @Override
@@ -1061,6 +2590,7 @@ class FocusTreeCanvas extends FigureCanvas {
 
         @Override
         public void mouseReleased( final MouseEvent event ) {
+            if ( dragging ) focusTree.interactionScheduler.flush();
             dragging = false;
         }
     }
@@ -1076,10 +2606,65 @@ class FocusTreeCanvas extends FigureCanvas {
         }
     }
 
-    private class NameField extends Label {
+    private class NameField extends Label {}
+
+    /**
+     * Resolves an item of a path being {@link FocusTreeCanvas#expandTo(Object[]) expanded} or
+     * {@link FocusTreeCanvas#restoreFocusPath(String[], Runnable) restored} from its qualified name if necessary, then loads its
+     * children, in the background
+     */
+    class PathLoader extends ChildrenLoader {
+
+        final String qualifiedName;
+        final boolean childrenLoaded;
+        Object item;
+        Runnable done;
+
+        /**
+         * @param qualifiedName
+         *        the qualified name of the item to be resolved, or <code>null</code> if the item is supplied
+         * @param item
+         *        the item, or <code>null</code> if to be resolved from the supplied qualified name
+         * @param childrenLoaded
+         *        <code>true</code> if the item's children are to be loaded
+         */
+        PathLoader( final String qualifiedName,
+                    final Object item,
+                    final boolean childrenLoaded ) {
+            super( null, EclipseI18n.focusTreeLoadingChildrenJob.text( qualifiedName == null ? item : qualifiedName ), -1,
+                   CHILDREN_PAGE_SIZE );
+            this.qualifiedName = qualifiedName;
+            this.item = item;
+            this.childrenLoaded = childrenLoaded;
+        }
 
-        NameField( final String text ) {
-            super( text );
+        /**
+         * {@inheritDoc}
+         * 
+         * @see org.polyglotter.eclipse.focustree.FocusTreeCanvas.ChildrenLoader#item()
+         */
+        @Override
+        Object item() {
+            return item;
+        }
+
+        /**
+         * {@inheritDoc}
+         * 
+         * @see org.polyglotter.eclipse.focustree.FocusTreeCanvas.ChildrenLoader#run(org.eclipse.core.runtime.IProgressMonitor)
+         */
+        @Override
+        protected IStatus run( final IProgressMonitor monitor ) {
+            try {
+                if ( item == null ) item = focusTree.model.itemWithQualifiedName( qualifiedName );
+                if ( item != null && childrenLoaded ) load();
+            } catch ( final PolyglotterException e ) {
+                Activator.logger().log( Util.createErrorStatus( e ) );
+                item = null;
+            } finally {
+                done.run();
+            }
+            return Status.OK_STATUS;
         }
     }
 
@@ -1090,17 +2675,7 @@ class FocusTreeCanvas extends FigureCanvas {
         String problem();
     }
 
-    private class TypeField extends Label {
-
-        TypeField( final String text ) {
-            super( text );
-        }
-    }
-
-    private class ValueField extends Label {
+    private class TypeField extends Label {}
 
-        ValueField( final String text ) {
-            super( text );
-        }
-    }
+    private class ValueField extends Label {}
 }
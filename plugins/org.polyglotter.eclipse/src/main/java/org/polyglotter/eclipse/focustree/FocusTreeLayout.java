@@ -0,0 +1,316 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The geometry of a {@link FocusTree focus tree's} canvas: the placement of its columns, the location of the focus line, and the
+ * extents of the canvas. Columns are laid out left to right, each vertically aligned so that the middle of its focus cell, or of
+ * its placeholder or first add panel if it has no focus cell, is centered on the focus line. All rows within a column share the
+ * same height.
+ * <p>
+ * This class is independent of SWT and draw2d, so layout may be computed without a display, off the UI thread, or in benchmarks.
+ * The {@link FocusTreeCanvas canvas} simply projects the computed bounds onto its figures. Layout changes are tracked as dirty
+ * flags on the canvas and on each column, so that only what actually moved needs to be projected, and consequently repainted.
+ * Instances are not thread-safe.
+ */
+final class FocusTreeLayout {
+
+    static final int CELL_COLUMN_MARGIN = 20;
+    static final int CELL_SPACING = 2;
+
+    final List< ColumnLayout > columns = new ArrayList<>();
+    int focusLineY;
+    int focusLineHeight = FocusTree.DEFAULT_FOCUS_LINE_HEIGHT;
+    int focusLineOffset = FocusTree.DEFAULT_FOCUS_LINE_OFFSET;
+    int viewHeight;
+    int height;
+    /**
+     * <code>true</code> if the extents of the canvas or the location of the focus line have changed since last
+     * {@link #applied() applied}
+     */
+    boolean dirty = true;
+
+    /**
+     * Adds a new, empty column to the right of the last column
+     * 
+     * @return the new column's layout
+     */
+    ColumnLayout addColumn() {
+        return addColumn( new ColumnLayout() );
+    }
+
+    /**
+     * Adds the supplied column, e.g., one previously {@link #removeColumn(ColumnLayout) removed}, to the right of the last
+     * column
+     * 
+     * @param column
+     *        a column
+     * @return the supplied column
+     */
+    ColumnLayout addColumn( final ColumnLayout column ) {
+        column.x = width();
+        column.dirty = true;
+        columns.add( column );
+        dirty = true;
+        return column;
+    }
+
+    /**
+     * Vertically aligns the middle of the supplied column's focus cell, or of its placeholder or first add panel if it has no
+     * focus cell, with the middle of the focus line
+     * 
+     * @param column
+     *        a column
+     */
+    void alignWithFocusLine( final ColumnLayout column ) {
+        final int y = focusLineY + focusLineHeight / 2 - column.focusY();
+        if ( y != column.y || column.height() != column.appliedHeight ) {
+            column.y = y;
+            column.dirty = true;
+        }
+    }
+
+    /**
+     * Marks the canvas as no longer dirty
+     */
+    void applied() {
+        dirty = false;
+    }
+
+    /**
+     * Removes all columns
+     */
+    void clear() {
+        columns.clear();
+        dirty = true;
+    }
+
+    /**
+     * Finds the column containing the supplied horizontal location via a binary search, since columns are laid out left to
+     * right without overlapping
+     * 
+     * @param x
+     *        a horizontal location within the canvas
+     * @return the index of the column containing the supplied location, or -1 if none
+     */
+    int columnIndex( final int x ) {
+        int low = 0;
+        int high = columns.size() - 1;
+        while ( low <= high ) {
+            final int mid = ( low + high ) >>> 1;
+            final ColumnLayout column = columns.get( mid );
+            if ( x < column.x ) high = mid - 1;
+            else if ( x >= column.x + column.width ) low = mid + 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /**
+     * Marks the canvas and all columns as dirty, e.g., after their figures have been moved independently of this layout
+     */
+    void invalidate() {
+        dirty = true;
+        for ( final ColumnLayout column : columns )
+            column.dirty = true;
+    }
+
+    /**
+     * Removes the supplied column, moving any columns to its right left by its width
+     * 
+     * @param column
+     *        a column
+     */
+    void removeColumn( final ColumnLayout column ) {
+        setColumnWidth( column, 0 );
+        columns.remove( column );
+    }
+
+    /**
+     * Changes the width of the supplied column so that its cells are the supplied width
+     * 
+     * @param column
+     *        a column
+     * @param cellWidth
+     *        the new width of the supplied column's cells
+     */
+    void setCellWidth( final ColumnLayout column,
+                       final int cellWidth ) {
+        setColumnWidth( column, Math.max( cellWidth, 0 ) + 2 * CELL_COLUMN_MARGIN );
+        column.cellWidth = cellWidth;
+    }
+
+    /**
+     * Changes the width of the supplied column, moving any columns to its right accordingly. Note, the width of the column's
+     * cells will be negative if the column is narrower than its margins, e.g., when the column is hidden.
+     * 
+     * @param column
+     *        a column
+     * @param width
+     *        the new width of the supplied column
+     */
+    void setColumnWidth( final ColumnLayout column,
+                         final int width ) {
+        final int delta = width - column.width;
+        column.width = width;
+        column.cellWidth = width - 2 * CELL_COLUMN_MARGIN;
+        if ( delta == 0 ) return;
+        column.dirty = true;
+        dirty = true;
+        // Columns to the right move as a whole, without their cells needing to be laid out again
+        for ( int ndx = columns.indexOf( column ) + 1; ndx > 0 && ndx < columns.size(); ndx++ ) {
+            final ColumnLayout followingColumn = columns.get( ndx );
+            followingColumn.x += delta;
+            followingColumn.dirty = true;
+        }
+    }
+
+    /**
+     * Moves the focus line, along with its offset from the top of the view, by the supplied amount
+     * 
+     * @param delta
+     *        the vertical distance to move the focus line
+     */
+    void moveFocusLine( final int delta ) {
+        focusLineY += delta;
+        focusLineOffset += delta;
+        dirty = true;
+    }
+
+    /**
+     * Sizes the canvas to fit all columns, with enough room above and below for the focus line to remain at its offset from
+     * the top of the {@link #viewHeight view} when scrolled to either end, moving the focus line and all columns vertically if
+     * necessary so that nothing is above the top of the canvas.
+     * <p>
+     * Since moving everything, or resizing the canvas, damages the entire canvas, unused space of up to a view's height is left
+     * above and below the columns rather than shifting or shrinking the canvas each time a column is re-aligned.
+     */
+    void update() {
+        if ( columns.isEmpty() ) return;
+        int top = focusLineY - focusLineOffset;
+        int bottom = top + viewHeight;
+        for ( final ColumnLayout column : columns ) {
+            top = Math.min( top, column.y );
+            bottom = Math.max( bottom, column.y + column.height() );
+        }
+        if ( top < 0 || top > viewHeight ) {
+            focusLineY -= top;
+            for ( final ColumnLayout column : columns ) {
+                column.y -= top;
+                column.dirty = true;
+            }
+            bottom -= top;
+            dirty = true;
+        }
+        if ( bottom > height || bottom < height - viewHeight ) {
+            height = bottom;
+            // Background columns span the height of the canvas
+            invalidate();
+        }
+    }
+
+    /**
+     * @return the width of the canvas, i.e., the right edge of the last column
+     */
+    int width() {
+        if ( columns.isEmpty() ) return 0;
+        final ColumnLayout column = columns.get( columns.size() - 1 );
+        return column.x + column.width;
+    }
+
+    /**
+     * The geometry of a column of cells, each preceded by an add panel, with a final add panel after the last cell. Row
+     * <code>n</code> comprises the add panel before the cell at index <code>n</code> and the cell itself.
+     */
+    static final class ColumnLayout {
+
+        int x;
+        int y;
+        int width;
+        /**
+         * <code>true</code> if this column's bounds have changed since last {@link #applied() applied}
+         */
+        boolean dirty = true;
+        int appliedHeight = -1;
+        int cellWidth = -2 * CELL_COLUMN_MARGIN;
+        int cellHeight;
+        int addPanelHeight;
+        int rowCount;
+        /**
+         * The row of the focus cell, or -1 if none
+         */
+        int focusRow = -1;
+        /**
+         * The height of the placeholder shown while children are being loaded, or -1 if none
+         */
+        int placeholderHeight = -1;
+
+        int addPanelY( final int modelIndex ) {
+            return modelIndex * rowHeight();
+        }
+
+        /**
+         * Marks this column as no longer dirty
+         */
+        void applied() {
+            dirty = false;
+            appliedHeight = height();
+        }
+
+        int cellY( final int row ) {
+            return row * rowHeight() + addPanelHeight + CELL_SPACING;
+        }
+
+        /**
+         * @return the vertical location within this column to be aligned with the focus line
+         */
+        int focusY() {
+            if ( focusRow >= 0 ) return cellY( focusRow ) + cellHeight / 2;
+            if ( placeholderHeight >= 0 ) return placeholderHeight / 2;
+            return addPanelHeight / 2;
+        }
+
+        int height() {
+            if ( placeholderHeight >= 0 ) return placeholderHeight;
+            return rowCount * rowHeight() + addPanelHeight;
+        }
+
+        /**
+         * @param y
+         *        a vertical location within this column
+         * @return the row containing the supplied location, which may be negative or beyond the last row
+         */
+        int row( final int y ) {
+            final int rowHeight = rowHeight();
+            return y < 0 ? ( y + 1 ) / rowHeight - 1 : y / rowHeight;
+        }
+
+        int rowHeight() {
+            return addPanelHeight + cellHeight + 2 * CELL_SPACING;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import org.eclipse.draw2d.Border;
+import org.eclipse.draw2d.CompoundBorder;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.FigureUtilities;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.ImageFigure;
+import org.eclipse.draw2d.Label;
+import org.eclipse.draw2d.LineBorder;
+import org.eclipse.draw2d.MarginBorder;
+import org.eclipse.draw2d.MouseEvent;
+import org.eclipse.draw2d.MouseListener;
+import org.eclipse.draw2d.MouseMotionListener;
+import org.eclipse.draw2d.PositionConstants;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.polyglotter.eclipse.Activator;
+import org.polyglotter.eclipse.EclipseI18n;
+import org.polyglotter.eclipse.focustree.FocusTree.Column;
+import org.polyglotter.eclipse.focustree.FocusTreeLayout.ColumnLayout;
+
+/**
+ * The bar above a {@link FocusTree focus tree's} canvas containing a header for each column, which shows the name of the column's
+ * parent item and its child count, and provides buttons to hide and show the column. Headers are lightweight figures painted
+ * within this single canvas and share its fonts, images, tool tips, and mouse listener, so columns require no native resources of
+ * their own. Each header is projected directly from its column's {@link ColumnLayout layout}, scaled to match the canvas when the
+ * tree is zoomed.
+ */
+class HeaderBar extends FigureCanvas {
+
+    final FocusTree focusTree;
+    final Figure headers = new Figure() {
+
+        @Override
+        protected void layout() {
+            // Icon view shows a single column's header across the entire bar
+            if ( iconViewColumn != null ) iconViewColumn.header.setBounds( getClientArea() );
+        }
+    };
+    final Font nameFont = Activator.plugin().resources().boldFont( getFont() );
+    final Image hideImage = Activator.plugin().image( "minimize.gif" );
+    final Image showImage = Activator.plugin().image( "maximize.gif" );
+    final Border headerBorder = new CompoundBorder( new LineBorder( 1 ), new MarginBorder( 1, FocusTree.HEADER_MARGIN,
+                                                                                           1, FocusTree.HEADER_MARGIN ) );
+    final Label headerToolTip = new Label( EclipseI18n.focusTreeHeaderToolTip.text() );
+    final Label childCountToolTip = new Label( EclipseI18n.focusTreeChildCountToolTip.text() );
+    final Label hideColumnToolTip = new Label( EclipseI18n.focusTreeHideColumnToolTip.text() );
+    final Label resizeColumnToolTip = new Label( EclipseI18n.focusTreeResizeColumnToolTip.text() );
+    final HeaderMouseListener mouseListener = new HeaderMouseListener();
+    final int headerHeight;
+    Column iconViewColumn;
+
+    HeaderBar( final FocusTree focusTree,
+               final Composite parent ) {
+        super( parent, SWT.NONE );
+        this.focusTree = focusTree;
+        setScrollBarVisibility( NEVER );
+        setContents( headers );
+        getViewport().setContentsTracksWidth( true );
+        getViewport().setContentsTracksHeight( true );
+        headers.addMouseListener( mouseListener );
+        headers.addMouseMotionListener( mouseListener );
+        headerHeight = Math.max( FigureUtilities.getFontMetrics( nameFont ).getHeight(),
+                                 Math.max( hideImage.getBounds().height, showImage.getBounds().height ) )
+                       + headerBorder.getInsets( headers ).getHeight();
+        headers.setPreferredSize( new Dimension( 0, headerHeight ) );
+    }
+
+    /**
+     * Adds a header for the supplied column. The header's child count is set once the column's children have been loaded.
+     * 
+     * @param column
+     *        the column for which to add a header
+     * @param name
+     *        the name of the supplied column's parent item
+     * @param qualifiedName
+     *        the qualified name of the supplied column's parent item
+     * @return the new header
+     */
+    Header addHeader( final Column column,
+                      final String name,
+                      final String qualifiedName ) {
+        final Header header = new Header( column, name );
+        header.name.setToolTip( new Label( EclipseI18n.focusTreeParentNameToolTip.text( qualifiedName ) ) );
+        header.showButton.setToolTip( new Label( EclipseI18n.focusTreeShowColumnToolTip.text( name ) ) );
+        headers.add( header );
+        return header;
+    }
+
+    /**
+     * Removes all headers
+     */
+    void clear() {
+        headers.removeAll();
+        iconViewColumn = null;
+    }
+
+    /**
+     * Shows the headers of all columns once a column's cells are no longer shown in icon view
+     */
+    void hideIconView() {
+        iconViewColumn = null;
+        for ( final Column col : focusTree.columns ) {
+            col.header.setVisible( true );
+            layoutHeader( col );
+        }
+    }
+
+    /**
+     * Projects the computed layout of the supplied column onto its header, as zoomed
+     * 
+     * @param column
+     *        a column
+     */
+    void layoutHeader( final Column column ) {
+        if ( iconViewColumn != null ) return;
+        final ColumnLayout columnLayout = column.cellColumn.layout;
+        final FocusTreeCanvas canvas = focusTree.focusTreeCanvas;
+        final int x = canvas.scaled( columnLayout.x );
+        column.header.setBounds( new Rectangle( x, 0, canvas.scaled( columnLayout.x + columnLayout.width ) - x, headerHeight ) );
+    }
+
+    /**
+     * @param column
+     *        a column
+     */
+    void removeHeader( final Column column ) {
+        headers.remove( column.header );
+        if ( column == iconViewColumn ) iconViewColumn = null;
+    }
+
+    /**
+     * Shows only the header of the supplied column, across the entire bar, while its cells are shown in icon view
+     * 
+     * @param column
+     *        the column shown in icon view
+     */
+    void showIconView( final Column column ) {
+        iconViewColumn = column;
+        for ( final Column col : focusTree.columns )
+            col.header.setVisible( col == column );
+        column.header.hideButton.setVisible( false );
+        headers.revalidate();
+        // TODO path buttons hide icon view, click hides icon view, context menu
+    }
+
+    /**
+     * A column's header, which shows, from left to right, the number of children in the column, the name of the column's parent
+     * item, and a button to hide the column. The child count and hide button are only shown while the mouse is over the header.
+     * Once the column is hidden, only a button to show the column again is shown.
+     */
+    class Header extends Figure {
+
+        final Column column;
+        final Label childCount = new Label();
+        final Label name;
+        final ImageFigure hideButton = new ImageFigure( hideImage, PositionConstants.EAST );
+        final ImageFigure showButton = new ImageFigure( showImage );
+        boolean hidden;
+
+        Header( final Column column,
+                final String name ) {
+            this.column = column;
+            this.name = new Label( name );
+            setBorder( headerBorder );
+            setBackgroundColor( Display.getCurrent().getSystemColor( SWT.COLOR_GRAY ) );
+            setOpaque( true );
+            setToolTip( headerToolTip );
+            childCount.setLabelAlignment( PositionConstants.LEFT );
+            childCount.setToolTip( childCountToolTip );
+            childCount.setVisible( false );
+            add( childCount );
+            this.name.setFont( nameFont );
+            add( this.name );
+            hideButton.setToolTip( hideColumnToolTip );
+            hideButton.setVisible( false );
+            add( hideButton );
+            showButton.setVisible( false );
+            add( showButton );
+        }
+
+        /**
+         * Hides everything but the button to show the column again
+         * 
+         * @return the width of the header once hidden
+         */
+        int hide() {
+            hidden = true;
+            childCount.setVisible( false );
+            name.setVisible( false );
+            hideButton.setVisible( false );
+            showButton.setVisible( true );
+            revalidate();
+            return showButton.getPreferredSize().width + getInsets().getWidth();
+        }
+
+        /**
+         * Shows the child count and hide button while the mouse is over this header
+         * 
+         * @param hovered
+         *        <code>true</code> if the mouse is over this header
+         */
+        void hover( final boolean hovered ) {
+            childCount.setVisible( hovered && !hidden );
+            hideButton.setVisible( hovered && !hidden && iconViewColumn == null );
+        }
+
+        /**
+         * {@inheritDoc}
+         * 
+         * @see org.eclipse.draw2d.Figure#layout()
+         */
+        @Override
+        protected void layout() {
+            final Rectangle area = getClientArea();
+            if ( hidden ) {
+                showButton.setBounds( area );
+                return;
+            }
+            // Make child count and hide button the same width so the name is centered
+            final int width = Math.max( childCount.getPreferredSize().width, hideButton.getPreferredSize().width );
+            childCount.setBounds( new Rectangle( area.x, area.y, width, area.height ) );
+            name.setBounds( new Rectangle( area.x + width, area.y, Math.max( area.width - 2 * width, 0 ), area.height ) );
+            hideButton.setBounds( new Rectangle( area.right() - width, area.y, width, area.height ) );
+        }
+
+        /**
+         * @param count
+         *        the number of children in this header's column
+         */
+        void setChildCount( final int count ) {
+            childCount.setText( String.valueOf( count ) );
+            revalidate();
+        }
+
+        /**
+         * Shows the child count, name, and hide button again
+         */
+        void show() {
+            hidden = false;
+            name.setVisible( true );
+            showButton.setVisible( false );
+            revalidate();
+        }
+    }
+
+    /**
+     * The single mouse listener for all headers, which resizes a column when the border between headers is dragged, and
+     * otherwise delegates to the header under the mouse
+     */
+    class HeaderMouseListener extends MouseMotionListener.Stub implements MouseListener {
+
+        private Header hoverHeader;
+        private Column targetColumn;
+        private boolean dragging;
+        private int offset;
+
+        private Header headerAt( final MouseEvent event ) {
+            final IFigure figure = headers.findFigureAt( event.x, event.y );
+            for ( IFigure header = figure; header != null; header = header.getParent() )
+                if ( header instanceof Header ) return ( Header ) header;
+            return null;
+        }
+
+        @Override
+        public void mouseDoubleClicked( final MouseEvent event ) {
+            if ( targetColumn != null ) {
+                // Expand column to show complete text in all cells
+                focusTree.focusTreeCanvas.updateColumnWidth( targetColumn, targetColumn.preferredWidth, true );
+                return;
+            }
+            final Header header = headerAt( event );
+            if ( header == null ) return;
+            if ( focusTree.focusTreeCanvas.iconViewShown() ) {
+                focusTree.focusTreeCanvas.hideIconView( header.column );
+                hideIconView();
+            } else {
+                focusTree.focusTreeCanvas.showIconView( header.column );
+                showIconView( header.column );
+            }
+        }
+
+        @Override
+        public void mouseDragged( final MouseEvent event ) {
+            if ( !dragging ) return;
+            final Column resizedColumn = targetColumn;
+            final int width = focusTree.focusTreeCanvas.unscaled( event.x ) + offset - resizedColumn.cellColumn.layout.x;
+            // Apply only the latest width once per frame
+            focusTree.interactionScheduler.schedule( this, new Runnable() {
+
+                @Override
+                public void run() {
+                    focusTree.focusTreeCanvas.updateColumnWidth( resizedColumn, width, true );
+                }
+            } );
+        }
+
+        @Override
+        public void mouseExited( final MouseEvent event ) {
+            if ( hoverHeader != null ) {
+                hoverHeader.hover( false );
+                hoverHeader.setToolTip( headerToolTip );
+            }
+            hoverHeader = null;
+            if ( !dragging ) setTargetColumn( null );
+        }
+
+        @Override
+        public void mouseMoved( final MouseEvent event ) {
+            final Header header = headerAt( event );
+            if ( header != hoverHeader ) {
+                if ( hoverHeader != null ) {
+                    hoverHeader.hover( false );
+                    hoverHeader.setToolTip( headerToolTip );
+                }
+                hoverHeader = header;
+                if ( header != null ) header.hover( true );
+            }
+            // Target the column whose right border is under the mouse for resizing
+            Column targetColumn = null;
+            final FocusTreeLayout layout = focusTree.focusTreeCanvas.layout;
+            final int x = focusTree.focusTreeCanvas.unscaled( event.x );
+            final int ndx = layout.columnIndex( x );
+            if ( ndx >= 0 && iconViewColumn == null ) {
+                final ColumnLayout columnLayout = layout.columns.get( ndx );
+                if ( x >= columnLayout.x + columnLayout.width - 1 - FocusTree.HEADER_MARGIN )
+                    targetColumn = focusTree.columns.get( ndx );
+                else if ( x <= columnLayout.x + FocusTree.HEADER_MARGIN && ndx > 0 )
+                    targetColumn = focusTree.columns.get( ndx - 1 );
+            }
+            setTargetColumn( targetColumn );
+            if ( header != null ) header.setToolTip( targetColumn == null ? headerToolTip : resizeColumnToolTip );
+        }
+
+        @Override
+        public void mousePressed( final MouseEvent event ) {
+            if ( targetColumn == null ) return;
+            final ColumnLayout columnLayout = targetColumn.cellColumn.layout;
+            offset = columnLayout.x + columnLayout.width - focusTree.focusTreeCanvas.unscaled( event.x );
+            dragging = true;
+            // Capture the mouse for the duration of the drag
+            event.consume();
+        }
+
+        @Override
+        public void mouseReleased( final MouseEvent event ) {
+            if ( dragging ) {
+                focusTree.interactionScheduler.flush();
+                dragging = false;
+                mouseMoved( event );
+                return;
+            }
+            final Header header = headerAt( event );
+            if ( header == null ) return;
+            if ( header.hideButton.isVisible() && header.hideButton.containsPoint( event.getLocation() ) )
+                focusTree.hideColumn( header.column );
+            else if ( header.hidden ) focusTree.showColumn( header.column );
+            else focusTree.focusColumn( header.column );
+        }
+
+        private void setTargetColumn( final Column targetColumn ) {
+            this.targetColumn = targetColumn;
+            headers.setCursor( targetColumn == null ? null : Display.getCurrent().getSystemCursor( SWT.CURSOR_SIZEWE ) );
+        }
+    }
+}
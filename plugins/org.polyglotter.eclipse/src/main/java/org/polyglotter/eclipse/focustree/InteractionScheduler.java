@@ -0,0 +1,93 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.widgets.Control;
+
+/**
+ * Coalesces high-rate interactions, such as dragging the focus line, resizing columns, and scrolling, so that only the latest
+ * intent of each kind is applied, at most once per display frame, regardless of how often the events producing them arrive.
+ * The first intent after a quiet period is applied as soon as possible, so coalescing never adds more than a frame of latency.
+ * <p>
+ * All methods must be called from the UI thread.
+ */
+final class InteractionScheduler {
+
+    /**
+     * The minimum period, in milliseconds, between frames, approximating a 60Hz display refresh
+     */
+    static final int FRAME_PERIOD = 16;
+
+    final Control control;
+    final Map< Object, Runnable > pendingIntentsByKind = new LinkedHashMap<>();
+    boolean frameScheduled;
+    long lastFrameTime;
+    private final Runnable frame = new Runnable() {
+
+        @Override
+        public void run() {
+            frameScheduled = false;
+            if ( !control.isDisposed() ) flush();
+        }
+    };
+
+    InteractionScheduler( final Control control ) {
+        this.control = control;
+    }
+
+    /**
+     * Applies all pending intents immediately, e.g., at the end of a drag so its final state isn't left pending
+     */
+    void flush() {
+        lastFrameTime = System.currentTimeMillis();
+        if ( pendingIntentsByKind.isEmpty() ) return;
+        final List< Runnable > intents = new ArrayList<>( pendingIntentsByKind.values() );
+        pendingIntentsByKind.clear();
+        for ( final Runnable intent : intents )
+            intent.run();
+    }
+
+    /**
+     * Schedules the supplied intent to be applied in the next frame, replacing any pending intent of the same kind
+     * 
+     * @param kind
+     *        the kind of interaction, e.g., the listener of the events producing the intent
+     * @param intent
+     *        the latest intent for the supplied kind of interaction
+     */
+    void schedule( final Object kind,
+                   final Runnable intent ) {
+        pendingIntentsByKind.put( kind, intent );
+        if ( frameScheduled ) return;
+        frameScheduled = true;
+        final long sinceLastFrame = System.currentTimeMillis() - lastFrameTime;
+        if ( sinceLastFrame >= FRAME_PERIOD ) control.getDisplay().asyncExec( frame );
+        else control.getDisplay().timerExec( FRAME_PERIOD - ( int ) sinceLastFrame, frame );
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import java.util.List;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.FigureUtilities;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.Label;
+import org.eclipse.draw2d.MouseEvent;
+import org.eclipse.draw2d.MouseListener;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.FocusAdapter;
+import org.eclipse.swt.events.FocusEvent;
+import org.eclipse.swt.events.KeyAdapter;
+import org.eclipse.swt.events.KeyEvent;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Text;
+import org.polyglotter.eclipse.EclipseI18n;
+import org.polyglotter.eclipse.focustree.FocusTree.Column;
+
+/**
+ * The bar showing a {@link FocusTree focus tree's} path as a button for each column, from the root on the left. When the buttons
+ * don't all fit, only a contiguous range of them is shown, and the tree's previous and next path bar buttons are shown to scroll
+ * this range. Buttons are lightweight figures painted within this single canvas and share its font and mouse listener, so columns
+ * require no native resources of their own. Double-clicking between buttons allows the path to an item to be entered as text.
+ */
+class PathButtonBar extends FigureCanvas {
+
+    static final int BUTTON_SPACING = 2;
+
+    final FocusTree focusTree;
+    final Figure buttons = new Figure() {
+
+        @Override
+        protected void layout() {
+            final List< ? > children = getChildren();
+            final int height = getClientArea().height;
+            for ( int ndx = 0, x = 0; ndx < children.size(); ndx++ ) {
+                final PathButton button = ( PathButton ) children.get( ndx );
+                button.setVisible( ndx >= firstShownIndex && ndx <= lastShownIndex );
+                if ( button.isVisible() ) {
+                    button.setBounds( new Rectangle( x, 0, button.width, height ) );
+                    x += button.width + BUTTON_SPACING;
+                }
+            }
+        }
+    };
+    int firstShownIndex;
+    int lastShownIndex = -1;
+
+    PathButtonBar( final FocusTree focusTree,
+                   final Composite parent ) {
+        super( parent, SWT.NONE );
+        this.focusTree = focusTree;
+        setScrollBarVisibility( NEVER );
+        setContents( buttons );
+        getViewport().setContentsTracksWidth( true );
+        getViewport().setContentsTracksHeight( true );
+        buttons.setPreferredSize( new Dimension( 0, FigureUtilities.getFontMetrics( getFont() ).getHeight() + 2 ) );
+        buttons.setToolTip( new Label( EclipseI18n.focusTreePathBarToolTip.text() ) );
+        buttons.addMouseListener( new MouseListener.Stub() {
+
+            @Override
+            public void mouseDoubleClicked( final MouseEvent event ) {
+                if ( !( buttons.findFigureAt( event.x, event.y ) instanceof PathButton ) ) editPath();
+            }
+
+            @Override
+            public void mouseReleased( final MouseEvent event ) {
+                final IFigure figure = buttons.findFigureAt( event.x, event.y );
+                if ( figure instanceof PathButton ) focusTree.focusColumn( ( ( PathButton ) figure ).column );
+            }
+        } );
+        addListener( SWT.Resize, new Listener() {
+
+            @Override
+            public void handleEvent( final Event event ) {
+                showLastButtons();
+            }
+        } );
+    }
+
+    /**
+     * @param column
+     *        the column for which to add a button
+     * @param name
+     *        the name of the supplied column's parent item
+     * @param qualifiedName
+     *        the qualified name of the supplied column's parent item
+     * @param foregroundColor
+     *        the color of the new button's text
+     * @param backgroundColor
+     *        the color of the new button
+     * @return the new button
+     */
+    PathButton addButton( final Column column,
+                          final String name,
+                          final String qualifiedName,
+                          final Color foregroundColor,
+                          final Color backgroundColor ) {
+        final PathButton button = new PathButton( column, name );
+        button.setColors( foregroundColor, backgroundColor );
+        button.setToolTip( new Label( EclipseI18n.focusTreePathButtonToolTip.text( qualifiedName ) ) );
+        buttons.add( button );
+        showLastButtons();
+        return button;
+    }
+
+    /**
+     * Removes all buttons
+     */
+    void clear() {
+        buttons.removeAll();
+        showLastButtons();
+    }
+
+    /**
+     * Covers the buttons with a text field in which the qualified name of an item may be entered, to which the tree is then
+     * {@link FocusTree#expandTo(String) expanded}. The field initially contains the qualified name of the last column's focused
+     * item, and is removed when enter or escape is pressed, or it loses focus.
+     */
+    void editPath() {
+        if ( focusTree.model == null || focusTree.columns.isEmpty() ) return;
+        final Column lastColumn = focusTree.columns.get( focusTree.columns.size() - 1 );
+        final Object item = lastColumn.focusCell == null ? lastColumn.item : lastColumn.focusCell.item;
+        final Text text = new Text( this, SWT.SINGLE );
+        text.setBounds( getClientArea() );
+        text.setText( focusTree.model.qualifiedName( item ) );
+        text.selectAll();
+        text.setFocus();
+        text.addSelectionListener( new SelectionAdapter() {
+
+            @Override
+            public void widgetDefaultSelected( final SelectionEvent event ) {
+                final String qualifiedName = text.getText().trim();
+                text.dispose();
+                if ( !qualifiedName.isEmpty() ) focusTree.expandTo( qualifiedName );
+            }
+        } );
+        text.addKeyListener( new KeyAdapter() {
+
+            @Override
+            public void keyPressed( final KeyEvent event ) {
+                if ( event.keyCode == SWT.ESC ) text.dispose();
+            }
+        } );
+        text.addFocusListener( new FocusAdapter() {
+
+            @Override
+            public void focusLost( final FocusEvent event ) {
+                if ( !text.isDisposed() ) text.dispose();
+            }
+        } );
+    }
+
+    private boolean fits( final int firstIndex,
+                          final int lastIndex ) {
+        int width = -BUTTON_SPACING;
+        for ( int ndx = firstIndex; ndx <= lastIndex; ndx++ )
+            width += ( ( PathButton ) buttons.getChildren().get( ndx ) ).width + BUTTON_SPACING;
+        return width <= getSize().x;
+    }
+
+    /**
+     * @param button
+     *        the button to remove
+     */
+    void removeButton( final PathButton button ) {
+        buttons.remove( button );
+        showLastButtons();
+    }
+
+    /**
+     * Shows the last buttons, along with as many preceding buttons as fit within this bar
+     */
+    void showLastButtons() {
+        lastShownIndex = buttons.getChildren().size() - 1;
+        showPrecedingButtons();
+    }
+
+    /**
+     * Shows the button after the last shown button, hiding buttons on the left until all shown buttons fit within this bar
+     */
+    void showNextButton() {
+        if ( lastShownIndex < buttons.getChildren().size() - 1 ) lastShownIndex++;
+        showPrecedingButtons();
+    }
+
+    private void showPrecedingButtons() {
+        firstShownIndex = Math.max( lastShownIndex, 0 );
+        while ( firstShownIndex > 0 && fits( firstShownIndex - 1, lastShownIndex ) )
+            firstShownIndex--;
+        shown();
+    }
+
+    /**
+     * Shows the button before the first shown button, hiding buttons on the right until all shown buttons fit within this bar
+     */
+    void showPreviousButton() {
+        if ( firstShownIndex > 0 ) firstShownIndex--;
+        lastShownIndex = firstShownIndex;
+        while ( lastShownIndex < buttons.getChildren().size() - 1 && fits( firstShownIndex, lastShownIndex + 1 ) )
+            lastShownIndex++;
+        shown();
+    }
+
+    private void shown() {
+        buttons.revalidate();
+        focusTree.leftPathBarButton.setVisible( firstShownIndex > 0 );
+        focusTree.rightPathBarButton.setVisible( lastShownIndex < buttons.getChildren().size() - 1 );
+    }
+
+    /**
+     * @return the slash-delimited names of the items in the path shown by this bar
+     */
+    String text() {
+        final StringBuilder path = new StringBuilder();
+        for ( final Object button : buttons.getChildren() )
+            path.append( '/' ).append( ( ( PathButton ) button ).name );
+        return path.toString();
+    }
+
+    /**
+     * A button for a column, painted as a rounded rectangle containing the name of the column's parent item
+     */
+    class PathButton extends Figure {
+
+        final Column column;
+        final String name;
+        final int width;
+
+        PathButton( final Column column,
+                    final String name ) {
+            this.column = column;
+            this.name = name;
+            width = FigureUtilities.getTextExtents( name, PathButtonBar.this.getFont() ).width
+                    + buttons.getPreferredSize().height;
+        }
+
+        /**
+         * {@inheritDoc}
+         * 
+         * @see org.eclipse.draw2d.Figure#paintFigure(org.eclipse.draw2d.Graphics)
+         */
+        @Override
+        protected void paintFigure( final Graphics graphics ) {
+            final Rectangle bounds = getBounds();
+            graphics.setAntialias( SWT.ON );
+            graphics.setBackgroundColor( getBackgroundColor() );
+            graphics.fillRoundRectangle( bounds, bounds.height, bounds.height );
+            graphics.setForegroundColor( getForegroundColor() );
+            graphics.drawText( name, bounds.x + bounds.height / 2, bounds.y + 1 );
+        }
+
+        /**
+         * @param foregroundColor
+         *        the color of this button's text
+         * @param backgroundColor
+         *        the color of this button
+         */
+        void setColors( final Color foregroundColor,
+                        final Color backgroundColor ) {
+            setForegroundColor( foregroundColor );
+            setBackgroundColor( backgroundColor );
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The items shown in the rows of a cell column, kept in an implicit treap (a randomized balanced tree ordered by position and
+ * augmented with subtree sizes) so that getting, setting, inserting, and removing the item at a row are O(log n), and, because
+ * non-<code>null</code> items are also indexed, so is finding the row of an item. Consequently, rows can be inserted into or
+ * removed from columns with tens of thousands of rows without moving every following item, and an item's row, and hence its
+ * index label, can be derived on demand rather than stored.
+ * <p>
+ * <code>null</code> items, which represent rows whose page of children has yet to be loaded, are permitted.
+ */
+final class RowList extends AbstractList< Object > {
+
+    private final Random random = new Random();
+    private final Map< Object, Node > nodesByItem = new HashMap<>();
+    private Node root;
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see java.util.AbstractList#add(int, java.lang.Object)
+     */
+    @Override
+    public void add( final int index,
+                     final Object item ) {
+        if ( index < 0 || index > size() ) throw new IndexOutOfBoundsException( String.valueOf( index ) );
+        final Node node = new Node( item, random.nextInt() );
+        index( node );
+        final Node[] split = split( root, index );
+        root = merge( merge( split[ 0 ], node ), split[ 1 ] );
+        root.parent = null;
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see java.util.AbstractList#clear()
+     */
+    @Override
+    public void clear() {
+        root = null;
+        nodesByItem.clear();
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see java.util.AbstractCollection#contains(java.lang.Object)
+     */
+    @Override
+    public boolean contains( final Object item ) {
+        return indexOf( item ) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see java.util.AbstractList#get(int)
+     */
+    @Override
+    public Object get( final int index ) {
+        return node( index ).item;
+    }
+
+    private void index( final Node node ) {
+        if ( node.item == null ) return;
+        node.nextDuplicate = nodesByItem.put( node.item, node );
+    }
+
+    /**
+     * Finds the supplied item's row in O(log n) time, unless it's <code>null</code>, in which case the rows are scanned.
+     * 
+     * @see java.util.AbstractList#indexOf(java.lang.Object)
+     */
+    @Override
+    public int indexOf( final Object item ) {
+        if ( item == null ) return super.indexOf( null );
+        int index = -1;
+        for ( Node node = nodesByItem.get( item ); node != null; node = node.nextDuplicate ) {
+            final int rank = rank( node );
+            if ( index < 0 || rank < index ) index = rank;
+        }
+        return index;
+    }
+
+    private Node merge( final Node left,
+                        final Node right ) {
+        if ( left == null ) return right;
+        if ( right == null ) return left;
+        if ( left.priority > right.priority ) {
+            left.right = merge( left.right, right );
+            update( left );
+            return left;
+        }
+        right.left = merge( left, right.left );
+        update( right );
+        return right;
+    }
+
+    private Node node( final int index ) {
+        if ( index < 0 || index >= size() ) throw new IndexOutOfBoundsException( String.valueOf( index ) );
+        Node node = root;
+        int remaining = index;
+        while ( true ) {
+            final int leftSize = size( node.left );
+            if ( remaining < leftSize ) node = node.left;
+            else if ( remaining == leftSize ) return node;
+            else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    private int rank( Node node ) {
+        int rank = size( node.left );
+        for ( Node parent = node.parent; parent != null; node = parent, parent = parent.parent )
+            if ( node == parent.right ) rank += size( parent.left ) + 1;
+        return rank;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see java.util.AbstractList#remove(int)
+     */
+    @Override
+    public Object remove( final int index ) {
+        if ( index < 0 || index >= size() ) throw new IndexOutOfBoundsException( String.valueOf( index ) );
+        final Node[] split = split( root, index );
+        final Node[] rest = split( split[ 1 ], 1 );
+        final Node node = rest[ 0 ];
+        unindex( node );
+        root = merge( split[ 0 ], rest[ 1 ] );
+        if ( root != null ) root.parent = null;
+        modCount++;
+        return node.item;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see java.util.AbstractList#set(int, java.lang.Object)
+     */
+    @Override
+    public Object set( final int index,
+                       final Object item ) {
+        final Node node = node( index );
+        final Object oldItem = node.item;
+        unindex( node );
+        node.item = item;
+        index( node );
+        return oldItem;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see java.util.AbstractCollection#size()
+     */
+    @Override
+    public int size() {
+        return size( root );
+    }
+
+    private int size( final Node node ) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * @return the supplied tree split into a tree of its first <code>count</code> nodes and a tree of the rest
+     */
+    private Node[] split( final Node node,
+                          final int count ) {
+        if ( node == null ) return new Node[ 2 ];
+        final Node[] split;
+        if ( size( node.left ) < count ) {
+            split = split( node.right, count - size( node.left ) - 1 );
+            node.right = split[ 0 ];
+            update( node );
+            split[ 0 ] = node;
+        } else {
+            split = split( node.left, count );
+            node.left = split[ 1 ];
+            update( node );
+            split[ 1 ] = node;
+        }
+        if ( split[ 0 ] != null ) split[ 0 ].parent = null;
+        if ( split[ 1 ] != null ) split[ 1 ].parent = null;
+        return split;
+    }
+
+    private void unindex( final Node node ) {
+        if ( node.item == null ) return;
+        Node head = nodesByItem.get( node.item );
+        if ( head == node ) {
+            if ( node.nextDuplicate == null ) nodesByItem.remove( node.item );
+            else nodesByItem.put( node.item, node.nextDuplicate );
+        } else {
+            while ( head.nextDuplicate != node )
+                head = head.nextDuplicate;
+            head.nextDuplicate = node.nextDuplicate;
+        }
+        node.nextDuplicate = null;
+    }
+
+    private void update( final Node node ) {
+        node.size = 1 + size( node.left ) + size( node.right );
+        if ( node.left != null ) node.left.parent = node;
+        if ( node.right != null ) node.right.parent = node;
+    }
+
+    private static final class Node {
+
+        Object item;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+        Node parent;
+        Node nextDuplicate;
+
+        Node( final Object item,
+              final int priority ) {
+            this.item = item;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jface.layout.GridDataFactory;
+import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
+import org.eclipse.swt.events.FocusAdapter;
+import org.eclipse.swt.events.FocusEvent;
+import org.eclipse.swt.events.KeyAdapter;
+import org.eclipse.swt.events.KeyEvent;
+import org.eclipse.swt.events.ModifyEvent;
+import org.eclipse.swt.events.ModifyListener;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Text;
+import org.polyglotter.eclipse.EclipseI18n;
+import org.polyglotter.eclipse.focustree.SearchIndex.Entry;
+
+/**
+ * A search field for a {@link FocusTree focus tree}, which shows the items whose names start with the entered text in a pop-up
+ * list as they're found by a {@link SearchIndex search index}, and expands the tree to show the selected item.
+ */
+class SearchField {
+
+    static final int VISIBLE_HITS = 15;
+
+    final FocusTree focusTree;
+    final Text text;
+    final Shell popup;
+    final Table hitTable;
+    final Label status;
+    final List< Entry > hits = new ArrayList<>();
+    SearchIndex index;
+
+    SearchField( final FocusTree focusTree,
+                 final Composite parent ) {
+        this.focusTree = focusTree;
+        text = new Text( parent, SWT.SEARCH | SWT.ICON_SEARCH | SWT.ICON_CANCEL );
+        GridDataFactory.swtDefaults().hint( 150, SWT.DEFAULT ).applyTo( text );
+        text.setMessage( EclipseI18n.focusTreeSearchMessage.text() );
+        text.setToolTipText( EclipseI18n.focusTreeSearchToolTip.text() );
+
+        // Construct pop-up list of matches
+        popup = new Shell( parent.getShell(), SWT.ON_TOP | SWT.TOOL | SWT.RESIZE );
+        GridLayoutFactory.fillDefaults().spacing( 0, 0 ).applyTo( popup );
+        hitTable = new Table( popup, SWT.VIRTUAL | SWT.SINGLE | SWT.FULL_SELECTION );
+        GridDataFactory.fillDefaults().grab( true, true ).applyTo( hitTable );
+        status = new Label( popup, SWT.NONE );
+        GridDataFactory.fillDefaults().grab( true, false ).applyTo( status );
+
+        // Only bind rows as they're shown, since the number of matches may be large
+        hitTable.addListener( SWT.SetData, new Listener() {
+
+            @Override
+            public void handleEvent( final Event event ) {
+                final TableItem tableItem = ( TableItem ) event.item;
+                final Object item = hits.get( hitTable.indexOf( tableItem ) ).item;
+                tableItem.setText( focusTree.model.qualifiedName( item ) );
+                tableItem.setImage( focusTree.model.icon( item ) );
+            }
+        } );
+        hitTable.addSelectionListener( new SelectionAdapter() {
+
+            @Override
+            public void widgetDefaultSelected( final SelectionEvent event ) {
+                select();
+            }
+        } );
+        text.addModifyListener( new ModifyListener() {
+
+            @Override
+            public void modifyText( final ModifyEvent event ) {
+                search();
+            }
+        } );
+        text.addSelectionListener( new SelectionAdapter() {
+
+            @Override
+            public void widgetDefaultSelected( final SelectionEvent event ) {
+                // Cancel icon clicked or enter pressed
+                if ( event.detail == SWT.ICON_CANCEL ) text.setText( "" );
+                else select();
+            }
+        } );
+        text.addKeyListener( new KeyAdapter() {
+
+            @Override
+            public void keyPressed( final KeyEvent event ) {
+                if ( event.keyCode == SWT.ESC ) popup.setVisible( false );
+                else if ( event.keyCode == SWT.ARROW_DOWN && popup.isVisible() ) {
+                    hitTable.setFocus();
+                    if ( hitTable.getSelectionIndex() < 0 && hitTable.getItemCount() > 0 ) hitTable.setSelection( 0 );
+                }
+            }
+        } );
+        hitTable.addKeyListener( new KeyAdapter() {
+
+            @Override
+            public void keyPressed( final KeyEvent event ) {
+                if ( event.keyCode == SWT.ESC ) {
+                    popup.setVisible( false );
+                    text.setFocus();
+                }
+            }
+        } );
+        final FocusAdapter focusListener = new FocusAdapter() {
+
+            @Override
+            public void focusLost( final FocusEvent event ) {
+                // Wait until focus has moved to determine whether it's still within the search field or its pop-up
+                text.getDisplay().asyncExec( new Runnable() {
+
+                    @Override
+                    public void run() {
+                        if ( !popup.isDisposed() && !text.isFocusControl() && !hitTable.isFocusControl() ) popup.setVisible( false );
+                    }
+                } );
+            }
+        };
+        text.addFocusListener( focusListener );
+        hitTable.addFocusListener( focusListener );
+        text.addDisposeListener( new DisposeListener() {
+
+            @Override
+            public void widgetDisposed( final DisposeEvent event ) {
+                reset();
+                popup.dispose();
+            }
+        } );
+    }
+
+    /**
+     * Discards the search index, e.g., when the tree's model or root changes
+     */
+    void reset() {
+        if ( index != null ) {
+            index.dispose();
+            index = null;
+        }
+        hits.clear();
+        if ( !popup.isDisposed() ) {
+            hitTable.setItemCount( 0 );
+            popup.setVisible( false );
+        }
+        if ( !text.isDisposed() && !text.getText().isEmpty() ) text.setText( "" );
+    }
+
+    void search() {
+        hits.clear();
+        hitTable.removeAll();
+        final String query = text.getText();
+        if ( query.isEmpty() || focusTree.model == null || focusTree.root == null ) {
+            if ( index != null ) index.search( null, null );
+            popup.setVisible( false );
+            return;
+        }
+        // Start indexing upon first search
+        if ( index == null ) index = new SearchIndex( focusTree.model, focusTree.root, text.getDisplay() );
+        index.search( query, new SearchIndex.Listener() {
+
+            @Override
+            public void hitsFound( final List< Entry > newHits,
+                                   final boolean indexing ) {
+                if ( popup.isDisposed() ) return;
+                hits.addAll( newHits );
+                hitTable.setItemCount( hits.size() );
+                status.setText( indexing ? EclipseI18n.focusTreeSearchResultsIndexing.text( hits.size() )
+                                         : EclipseI18n.focusTreeSearchResults.text( hits.size() ) );
+                showPopup();
+            }
+        } );
+    }
+
+    void select() {
+        int ndx = hitTable.getSelectionIndex();
+        if ( ndx < 0 && !hits.isEmpty() ) ndx = 0;
+        if ( ndx < 0 ) return;
+        final Entry hit = hits.get( ndx );
+        popup.setVisible( false );
+        focusTree.expandTo( hit.path() );
+    }
+
+    private void showPopup() {
+        final Rectangle bounds = text.getDisplay().map( text.getParent(), null, text.getBounds() );
+        final int height = hitTable.getItemHeight() * VISIBLE_HITS + status.computeSize( SWT.DEFAULT, SWT.DEFAULT ).y;
+        final Point size = popup.isVisible() ? popup.getSize() : new Point( Math.max( bounds.width, 300 ), height );
+        popup.setBounds( bounds.x + bounds.width - size.x, bounds.y + bounds.height, size.x, size.y );
+        popup.layout();
+        if ( !popup.isVisible() ) popup.setVisible( true );
+    }
+}
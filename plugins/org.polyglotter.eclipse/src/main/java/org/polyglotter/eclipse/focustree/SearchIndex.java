@@ -0,0 +1,406 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.swt.widgets.Display;
+import org.polyglotter.common.PolyglotterException;
+import org.polyglotter.eclipse.EclipseI18n;
+import org.polyglotter.eclipse.focustree.FocusTree.Model;
+import org.polyglotter.eclipse.focustree.FocusTree.ModelListener;
+
+/**
+ * An in-memory index of the names of the items in a {@link Model model}, built by crawling the model breadth-first from a root
+ * item in the background, so that items nearer the root are found first. Matches for the current {@link #search(String, Listener)
+ * search} are streamed to its listener as they're indexed. The index is kept up to date with the changes the model
+ * {@link ModelListener reports}, re-crawling only the affected subtrees.
+ * <p>
+ * All methods other than those of the crawler must be called from the UI thread.
+ */
+final class SearchIndex implements ModelListener {
+
+    /**
+     * The maximum number of items indexed by crawling, beyond which an item's children aren't indexed
+     */
+    static final int MAXIMUM_ENTRIES = 200000;
+
+    /**
+     * The minimum period, in milliseconds, between batches of matches streamed to a search's listener
+     */
+    static final long STREAM_PERIOD = 100;
+
+    static final int PAGE_SIZE = 1000;
+
+    final Model model;
+    final Entry root;
+    final Display display;
+    final Map< Object, Entry > entriesByItem = new HashMap<>();
+    final TreeMap< String, List< Entry > > entriesByName = new TreeMap<>();
+    final Queue< Entry > uncrawledEntries = new ArrayDeque<>();
+    final Crawler crawler;
+    String query;
+    Listener listener;
+    List< Entry > unstreamedHits = new ArrayList<>();
+    long lastStreamTime;
+
+    SearchIndex( final Model model,
+                 final Object root,
+                 final Display display ) {
+        this.model = model;
+        this.display = display;
+        this.root = new Entry( null, root, null );
+        crawler = new Crawler( root );
+        entriesByItem.put( root, this.root );
+        uncrawledEntries.add( this.root );
+        model.addListener( this );
+    }
+
+    private synchronized void add( final Entry entry ) {
+        entriesByItem.put( entry.item, entry );
+        if ( entry.name != null ) {
+            List< Entry > entries = entriesByName.get( entry.name );
+            if ( entries == null ) {
+                entries = new ArrayList<>( 1 );
+                entriesByName.put( entry.name, entries );
+            }
+            entries.add( entry );
+            if ( query != null && entry.name.startsWith( query ) ) unstreamedHits.add( entry );
+        }
+        if ( entriesByItem.size() < MAXIMUM_ENTRIES ) uncrawledEntries.add( entry );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.ModelListener#childrenChanged(java.lang.Object)
+     */
+    @Override
+    public synchronized void childrenChanged( final Object parent ) {
+        final Entry entry = entriesByItem.get( parent );
+        if ( entry == null || entry.children == null ) return;
+        for ( final Entry child : entry.children )
+            remove( child );
+        entry.children = null;
+        uncrawledEntries.add( entry );
+        crawl();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.ModelListener#childrenReordered(java.lang.Object, int[])
+     */
+    @Override
+    public synchronized void childrenReordered( final Object parent,
+                                                final int[] newIndexes ) {
+        final Entry entry = entriesByItem.get( parent );
+        if ( entry == null || entry.children == null ) return;
+        final Entry[] children = new Entry[ entry.children.size() ];
+        for ( int ndx = 0; ndx < children.length; ndx++ )
+            children[ newIndexes[ ndx ] ] = entry.children.get( ndx );
+        entry.children = new ArrayList<>( Arrays.asList( children ) );
+    }
+
+    private synchronized void crawl() {
+        if ( !uncrawledEntries.isEmpty() ) crawler.schedule();
+    }
+
+    /**
+     * Stops crawling and stops listening to the model
+     */
+    void dispose() {
+        model.removeListener( this );
+        crawler.cancel();
+        synchronized ( this ) {
+            listener = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.ModelListener#itemChanged(java.lang.Object, int, java.lang.Object)
+     */
+    @Override
+    public void itemChanged( final Object parent,
+                             final int index,
+                             final Object item ) {
+        final String name = name( item );
+        synchronized ( this ) {
+            final Entry entry = entriesByItem.get( parent );
+            if ( entry == null || entry.children == null || index >= entry.children.size() ) return;
+            // Replace the entry, re-crawling the item's children in case they've changed along with it
+            remove( entry.children.get( index ) );
+            final Entry child = new Entry( entry, item, name );
+            entry.children.set( index, child );
+            add( child );
+        }
+        stream();
+        crawl();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.ModelListener#itemsInserted(java.lang.Object, int, java.lang.Object[])
+     */
+    @Override
+    public void itemsInserted( final Object parent,
+                               final int index,
+                               final Object[] items ) {
+        final String[] names = new String[ items.length ];
+        for ( int ndx = 0; ndx < items.length; ndx++ )
+            names[ ndx ] = name( items[ ndx ] );
+        synchronized ( this ) {
+            final Entry entry = entriesByItem.get( parent );
+            // Children of uncrawled items will be indexed when crawled
+            if ( entry == null || entry.children == null ) return;
+            for ( int ndx = 0; ndx < items.length; ndx++ ) {
+                final Entry child = new Entry( entry, items[ ndx ], names[ ndx ] );
+                entry.children.add( Math.min( index + ndx, entry.children.size() ), child );
+                add( child );
+            }
+        }
+        stream();
+        crawl();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.polyglotter.eclipse.focustree.FocusTree.ModelListener#itemsRemoved(java.lang.Object, int, int)
+     */
+    @Override
+    public synchronized void itemsRemoved( final Object parent,
+                                           final int index,
+                                           final int count ) {
+        final Entry entry = entriesByItem.get( parent );
+        if ( entry == null || entry.children == null ) return;
+        for ( int ndx = 0; ndx < count && index < entry.children.size(); ndx++ )
+            remove( entry.children.remove( index ) );
+    }
+
+    String name( final Object item ) {
+        try {
+            final String name = model.name( item );
+            return name == null ? null : name.toLowerCase();
+        } catch ( final PolyglotterException | RuntimeException e ) {
+            // Items whose names can't be obtained simply can't be found
+            return null;
+        }
+    }
+
+    /**
+     * Removes the supplied entry, along with its crawled descendants, from the index
+     */
+    private void remove( final Entry entry ) {
+        if ( entriesByItem.get( entry.item ) == entry ) entriesByItem.remove( entry.item );
+        if ( entry.name != null ) {
+            final List< Entry > entries = entriesByName.get( entry.name );
+            if ( entries != null ) {
+                entries.remove( entry );
+                if ( entries.isEmpty() ) entriesByName.remove( entry.name );
+            }
+        }
+        uncrawledEntries.remove( entry );
+        entry.removed = true;
+        if ( entry.children != null ) for ( final Entry child : entry.children )
+            remove( child );
+    }
+
+    /**
+     * Streams the indexed items whose names start with the supplied query, ignoring case, to the supplied listener, followed by
+     * matching items as they're indexed, until the next search. Starts crawling the model if not already crawled.
+     * 
+     * @param query
+     *        the start of the names of the items to find, or <code>null</code> to stop searching
+     * @param listener
+     *        the listener to be notified of matches
+     */
+    void search( final String query,
+                 final Listener listener ) {
+        synchronized ( this ) {
+            this.query = query == null ? null : query.toLowerCase();
+            this.listener = query == null ? null : listener;
+            unstreamedHits = new ArrayList<>();
+            if ( query == null ) return;
+            for ( final List< Entry > entries : entriesByName.subMap( this.query, this.query + Character.MAX_VALUE ).values() )
+                unstreamedHits.addAll( entries );
+        }
+        stream();
+        crawl();
+    }
+
+    /**
+     * Streams matches found since the last call to the current search's listener. Must be called from the UI thread.
+     */
+    void stream() {
+        final Listener listener;
+        final List< Entry > hits;
+        final boolean indexing;
+        synchronized ( this ) {
+            listener = this.listener;
+            if ( listener == null ) return;
+            hits = unstreamedHits;
+            unstreamedHits = new ArrayList<>();
+            indexing = !uncrawledEntries.isEmpty() || crawler.getState() != Job.NONE;
+            lastStreamTime = System.currentTimeMillis();
+        }
+        listener.hitsFound( Collections.unmodifiableList( hits ), indexing );
+    }
+
+    private void streamLater() {
+        display.asyncExec( new Runnable() {
+
+            @Override
+            public void run() {
+                stream();
+            }
+        } );
+    }
+
+    class Crawler extends Job {
+
+        Crawler( final Object root ) {
+            super( EclipseI18n.focusTreeIndexingJob.text( root ) );
+            setSystem( true );
+            setPriority( DECORATE );
+        }
+
+        private Object[] children( final Object item ) throws PolyglotterException {
+            if ( !model.childrenPaged( item ) ) return model.children( item );
+            final List< Object > children = new ArrayList<>();
+            final int childCount = model.childCount( item );
+            for ( int offset = 0; offset < childCount; offset += PAGE_SIZE )
+                children.addAll( Arrays.asList( model.children( item, offset, Math.min( PAGE_SIZE, childCount - offset ) ) ) );
+            return children.toArray();
+        }
+
+        /**
+         * {@inheritDoc}
+         * 
+         * @see org.eclipse.core.runtime.jobs.Job#run(org.eclipse.core.runtime.IProgressMonitor)
+         */
+        @Override
+        protected IStatus run( final IProgressMonitor monitor ) {
+            while ( !monitor.isCanceled() ) {
+                final Entry entry;
+                synchronized ( SearchIndex.this ) {
+                    // Stop crawling once the index is full
+                    if ( entriesByItem.size() >= MAXIMUM_ENTRIES ) uncrawledEntries.clear();
+                    entry = uncrawledEntries.poll();
+                }
+                if ( entry == null ) break;
+                // Get children and their names without blocking the UI thread's access to the index
+                final Object[] children;
+                try {
+                    children = children( entry.item );
+                } catch ( final PolyglotterException | RuntimeException e ) {
+                    continue;
+                }
+                final String[] names = new String[ children.length ];
+                for ( int ndx = 0; ndx < children.length && !monitor.isCanceled(); ndx++ )
+                    names[ ndx ] = name( children[ ndx ] );
+                final boolean streamDue;
+                synchronized ( SearchIndex.this ) {
+                    // Ignore children of items removed, or re-crawled via a model notification, while crawling
+                    if ( entry.removed || entry.children != null ) continue;
+                    // Only index the item's children if all of them fit, since model changes refer to children by position
+                    if ( entriesByItem.size() + children.length > MAXIMUM_ENTRIES ) continue;
+                    entry.children = new ArrayList<>( children.length );
+                    for ( int ndx = 0; ndx < children.length; ndx++ ) {
+                        final Entry child = new Entry( entry, children[ ndx ], names[ ndx ] );
+                        entry.children.add( child );
+                        add( child );
+                    }
+                    streamDue = !unstreamedHits.isEmpty() && System.currentTimeMillis() - lastStreamTime >= STREAM_PERIOD;
+                }
+                if ( streamDue ) streamLater();
+            }
+            if ( monitor.isCanceled() ) return Status.CANCEL_STATUS;
+            // Report final matches and that indexing is complete
+            streamLater();
+            return Status.OK_STATUS;
+        }
+    }
+
+    /**
+     * An indexed item
+     */
+    static final class Entry {
+
+        final Entry parent;
+        final Object item;
+        final String name;
+        List< Entry > children;
+        boolean removed;
+
+        Entry( final Entry parent,
+               final Object item,
+               final String name ) {
+            this.parent = parent;
+            this.item = item;
+            this.name = name;
+        }
+
+        /**
+         * @return the items from the root to this entry's item
+         */
+        Object[] path() {
+            final List< Object > path = new ArrayList<>();
+            for ( Entry entry = this; entry != null; entry = entry.parent )
+                path.add( entry.item );
+            Collections.reverse( path );
+            return path.toArray();
+        }
+    }
+
+    /**
+     * Notified of the matches for a {@link SearchIndex#search(String, Listener) search} on the UI thread
+     */
+    interface Listener {
+
+        /**
+         * @param hits
+         *        matches found since the last notification
+         * @param indexing
+         *        <code>true</code> if the model is still being crawled
+         */
+        void hitsFound( List< Entry > hits,
+                        boolean indexing );
+    }
+}
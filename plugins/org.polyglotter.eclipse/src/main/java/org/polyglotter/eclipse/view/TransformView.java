@@ -27,10 +27,12 @@ import java.io.File;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.part.ViewPart;
 import org.polyglotter.common.PolyglotterException;
+import org.polyglotter.eclipse.Activator;
 import org.polyglotter.eclipse.TreeSpinner;
 import org.polyglotter.eclipse.TreeSpinnerContentProvider;
 import org.polyglotter.eclipse.Util;
@@ -40,7 +42,7 @@ import org.polyglotter.eclipse.Util;
  */
 public class TransformView extends ViewPart {
 
-    static final Color FOLDER_COLOR = new Color( Display.getCurrent(), 0, 64, 128 );
+    static final RGB FOLDER_COLOR = new RGB( 0, 64, 128 );
 
     /**
      * The workspace part identifier for this view.
@@ -60,7 +62,7 @@ public class TransformView extends ViewPart {
 
                 @Override
                 public Color backgroundColor( final Object item ) {
-                    if ( ( ( File ) item ).isDirectory() ) return FOLDER_COLOR;
+                    if ( ( ( File ) item ).isDirectory() ) return Activator.plugin().resources().color( FOLDER_COLOR );
                     return Display.getCurrent().getSystemColor( SWT.COLOR_WHITE );
                 }
 
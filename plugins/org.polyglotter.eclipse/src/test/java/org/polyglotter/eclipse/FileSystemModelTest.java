@@ -0,0 +1,232 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.polyglotter.eclipse.focustree.FocusTree.ModelListener;
+
+/**
+ * A test class for {@link FileSystemModel}.
+ */
+@SuppressWarnings( "javadoc" )
+public final class FileSystemModelTest {
+
+    private static Display display;
+
+    @BeforeClass
+    public static void createDisplay() {
+        // Model's default colors are obtained from the current thread's display
+        if ( Display.getCurrent() == null ) display = new Display();
+    }
+
+    @AfterClass
+    public static void disposeDisplay() {
+        if ( display != null ) display.dispose();
+    }
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path folder;
+    private Path a;
+    private Path b;
+    private FileSystemModel model;
+    private final List< String > events = new ArrayList<>();
+
+    private void apply( final Path... changedPaths ) throws IOException {
+        final Map< Path, BasicFileAttributes > changes = new HashMap<>();
+        for ( final Path path : changedPaths )
+            changes.put( path, Files.exists( path ) ? Files.readAttributes( path, BasicFileAttributes.class ) : null );
+        model.applyChanges( Collections.singletonMap( folder, changes ), Collections.< Path >emptySet() );
+    }
+
+    private List< Object > children() throws Exception {
+        return Arrays.asList( model.children( folder ) );
+    }
+
+    @After
+    public void closeWatchService() throws IOException {
+        model.watchService.close();
+    }
+
+    @Before
+    public void showFolder() throws IOException {
+        folder = temporaryFolder.getRoot().toPath();
+        a = Files.createFile( folder.resolve( "a" ) );
+        b = Files.createFile( folder.resolve( "b" ) );
+        model = new FileSystemModel();
+        model.watchService = FileSystems.getDefault().newWatchService();
+        model.columnAdded( folder );
+        model.addListener( new ModelListener() {
+
+            @Override
+            public void childrenChanged( final Object parent ) {
+                events.add( "childrenChanged" );
+            }
+
+            @Override
+            public void childrenReordered( final Object parent,
+                                           final int[] newIndexes ) {
+                events.add( "childrenReordered " + Arrays.toString( newIndexes ) );
+            }
+
+            @Override
+            public void itemChanged( final Object parent,
+                                     final int index,
+                                     final Object item ) {
+                events.add( "itemChanged " + index + " " + item );
+            }
+
+            @Override
+            public void itemsInserted( final Object parent,
+                                       final int index,
+                                       final Object[] items ) {
+                events.add( "itemsInserted " + index + " " + Arrays.toString( items ) );
+            }
+
+            @Override
+            public void itemsRemoved( final Object parent,
+                                      final int index,
+                                      final int count ) {
+                events.add( "itemsRemoved " + index + " " + count );
+            }
+        } );
+    }
+
+    @Test
+    public void shouldAppendCreatedFiles() throws Exception {
+        final List< Object > expected = new ArrayList<>( children() );
+        final Path c = Files.createFile( folder.resolve( "c" ) );
+        apply( c );
+        expected.add( c );
+        assertEquals( expected, children() );
+        assertEquals( Arrays.asList( "itemsInserted 2 [" + c + "]" ), events );
+    }
+
+    @Test
+    public void shouldApplyChangedAttributes() throws Exception {
+        final List< Object > expected = children();
+        Files.setLastModifiedTime( b, FileTime.fromMillis( 0 ) );
+        apply( b );
+        assertEquals( expected, children() );
+        assertEquals( FileTime.fromMillis( 0 ), model.attributes( b ).lastModifiedTime() );
+        assertEquals( Arrays.asList( "itemChanged " + expected.indexOf( b ) + " " + b ), events );
+    }
+
+    @Test
+    public void shouldIgnoreChangesToFoldersNoLongerShown() throws Exception {
+        children();
+        model.columnRemoved( folder );
+        apply( Files.createFile( folder.resolve( "c" ) ) );
+        assertEquals( 2, children().size() );
+        assertTrue( events.isEmpty() );
+    }
+
+    @Test
+    public void shouldKeepPositionOfRenamedFiles() throws Exception {
+        final List< Object > expected = new ArrayList<>( children() );
+        final int index = expected.indexOf( a );
+        final Path z = Files.move( a, folder.resolve( "z" ) );
+        apply( a, z );
+        expected.set( index, z );
+        assertEquals( expected, children() );
+        assertNull( model.attributesByPath.get( a ) );
+        assertEquals( Arrays.asList( "itemChanged " + index + " " + z ), events );
+    }
+
+    @Test
+    public void shouldReloadOverflowedFolders() throws Exception {
+        children();
+        Files.createFile( folder.resolve( "c" ) );
+        model.applyChanges( Collections.singletonMap( folder, Collections.< Path, BasicFileAttributes >emptyMap() ),
+                            Collections.singleton( folder ) );
+        assertEquals( 3, children().size() );
+        assertEquals( Arrays.asList( "childrenChanged" ), events );
+    }
+
+    @Test
+    public void shouldRemoveDeletedFiles() throws Exception {
+        final List< Object > expected = new ArrayList<>( children() );
+        final int index = expected.indexOf( a );
+        Files.delete( a );
+        apply( a );
+        expected.remove( a );
+        assertEquals( expected, children() );
+        assertEquals( Arrays.asList( "itemsRemoved " + index + " 1" ), events );
+    }
+
+    @Test
+    public void shouldReportDeletions() throws Exception {
+        final List< Object > expected = new ArrayList<>( children() );
+        final int index = expected.indexOf( a );
+        assertTrue( model.delete( a ) );
+        expected.remove( a );
+        assertEquals( expected, children() );
+        assertEquals( Arrays.asList( "itemsRemoved " + index + " 1" ), events );
+    }
+
+    @Test
+    public void shouldReportRenames() throws Exception {
+        final List< Object > expected = new ArrayList<>( children() );
+        final int index = expected.indexOf( a );
+        final Object z = model.setName( a, "z" );
+        expected.set( index, z );
+        assertEquals( expected, children() );
+        assertEquals( Arrays.asList( "itemChanged " + index + " " + z ), events );
+    }
+
+    @Test
+    public void shouldWatchFoldersUntilNoColumnShowsThem() {
+        model.columnAdded( folder );
+        model.columnRemoved( folder );
+        assertTrue( model.keysByFolder.containsKey( folder ) );
+        model.columnRemoved( folder );
+        assertFalse( model.keysByFolder.containsKey( folder ) );
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.swt.widgets.Display;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.polyglotter.common.PolyglotterException;
+import org.polyglotter.eclipse.focustree.FocusTree.Model;
+
+/**
+ * A test class for {@link CachingModel}.
+ */
+@SuppressWarnings( "javadoc" )
+public final class CachingModelTest {
+
+    private static Display display;
+
+    @BeforeClass
+    public static void createDisplay() {
+        // Model's default colors are obtained from the current thread's display
+        if ( Display.getCurrent() == null ) display = new Display();
+    }
+
+    @AfterClass
+    public static void disposeDisplay() {
+        if ( display != null ) display.dispose();
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() throws Exception {
+        final TestModel delegate = new TestModel();
+        final CachingModel model = new CachingModel( delegate );
+        model.name( "a" );
+        model.name( "a" );
+        model.name( "b" );
+        model.children( "root" );
+        model.children( "root", 1, 1 );
+        assertEquals( 3, model.missCount() );
+        assertEquals( 2, model.hitCount() );
+        assertEquals( 1, delegate.nameCount( "a" ) );
+        assertEquals( 1, delegate.childrenCount( "root" ) );
+    }
+
+    @Test
+    public void shouldCacheParents() throws Exception {
+        final TestModel delegate = new TestModel();
+        final CachingModel model = new CachingModel( delegate );
+        assertEquals( "a", model.parent( "a1" ) );
+        assertEquals( "a", model.parent( "a1" ) );
+        assertEquals( 1, model.missCount() );
+        assertEquals( 1, model.hitCount() );
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedItems() throws Exception {
+        final TestModel delegate = new TestModel();
+        final CachingModel model = new CachingModel( delegate, 2 );
+        model.name( "a" );
+        model.name( "b" );
+        model.name( "a" );
+        model.name( "c" );
+        assertEquals( 2, model.cache.size() );
+        model.name( "a" );
+        model.name( "b" );
+        assertEquals( 2, model.cache.size() );
+        assertEquals( 1, delegate.nameCount( "a" ) );
+        assertEquals( 2, delegate.nameCount( "b" ) );
+        assertEquals( 1, delegate.nameCount( "c" ) );
+    }
+
+    @Test
+    public void shouldInvalidateChangedItems() throws Exception {
+        final TestModel delegate = new TestModel();
+        final CachingModel model = new CachingModel( delegate );
+        model.children( "root" );
+        model.children( "b" );
+        model.name( "b" );
+        model.name( "b1" );
+        delegate.childrenByItem.put( "root", new Object[] { "a", "c" } );
+        delegate.fireItemChanged( "root", 1, "c" );
+        assertArrayEquals( new Object[] { "a", "c" }, model.children( "root" ) );
+        model.name( "b" );
+        model.name( "b1" );
+        assertEquals( 2, delegate.childrenCount( "root" ) );
+        assertEquals( 2, delegate.nameCount( "b" ) );
+        assertEquals( 2, delegate.nameCount( "b1" ) );
+    }
+
+    @Test
+    public void shouldInvalidateRemovedItemsAndTheirDescendants() throws Exception {
+        final TestModel delegate = new TestModel();
+        final CachingModel model = new CachingModel( delegate );
+        model.children( "root" );
+        model.children( "a" );
+        model.name( "a1" );
+        model.name( "b" );
+        delegate.childrenByItem.put( "root", new Object[] { "b" } );
+        delegate.fireItemsRemoved( "root", 0, 1 );
+        assertArrayEquals( new Object[] { "b" }, model.children( "root" ) );
+        model.name( "a1" );
+        model.name( "b" );
+        assertEquals( 2, delegate.childrenCount( "root" ) );
+        assertEquals( 2, delegate.nameCount( "a1" ) );
+        assertEquals( 1, delegate.nameCount( "b" ) );
+    }
+
+    @Test
+    public void shouldInvalidateSubtrees() throws Exception {
+        final TestModel delegate = new TestModel();
+        final CachingModel model = new CachingModel( delegate );
+        model.children( "root" );
+        model.children( "a" );
+        model.name( "a1" );
+        model.name( "root" );
+        model.invalidateSubtree( "a" );
+        model.children( "root" );
+        model.children( "a" );
+        model.name( "a1" );
+        model.name( "root" );
+        assertEquals( 1, delegate.childrenCount( "root" ) );
+        assertEquals( 2, delegate.childrenCount( "a" ) );
+        assertEquals( 2, delegate.nameCount( "a1" ) );
+        assertEquals( 1, delegate.nameCount( "root" ) );
+    }
+
+    @Test
+    public void shouldLoadConcurrentRequestsForSameChildrenOnce() throws Exception {
+        final CountDownLatch released = new CountDownLatch( 1 );
+        final TestModel delegate = new TestModel() {
+
+            @Override
+            public Object[] children( final Object item ) throws PolyglotterException {
+                try {
+                    released.await( 10, TimeUnit.SECONDS );
+                } catch ( final InterruptedException e ) {
+                    throw new PolyglotterException( e );
+                }
+                return super.children( item );
+            }
+        };
+        final CachingModel model = new CachingModel( delegate );
+        final int threadCount = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool( threadCount );
+        try {
+            final List< Future< Object[] > > futures = new ArrayList<>();
+            for ( int ndx = 0; ndx < threadCount; ndx++ )
+                futures.add( executor.submit( new Callable< Object[] >() {
+
+                    @Override
+                    public Object[] call() throws PolyglotterException {
+                        return model.children( "root" );
+                    }
+                } ) );
+            // Release the delegate once all but the loading thread are waiting on its load
+            final long timeout = System.currentTimeMillis() + 10000;
+            while ( model.hitCount() < threadCount - 1 && System.currentTimeMillis() < timeout )
+                Thread.sleep( 10 );
+            released.countDown();
+            final Object[] children = futures.get( 0 ).get( 10, TimeUnit.SECONDS );
+            for ( final Future< Object[] > future : futures )
+                assertSame( children, future.get( 10, TimeUnit.SECONDS ) );
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals( 1, delegate.childrenCount( "root" ) );
+        assertEquals( 1, model.missCount() );
+        assertEquals( threadCount - 1, model.hitCount() );
+    }
+
+    static class TestModel extends Model {
+
+        final Map< Object, Object[] > childrenByItem = new HashMap<>();
+        final Map< Object, AtomicInteger > childrenCountsByItem = new HashMap<>();
+        final Map< Object, AtomicInteger > nameCountsByItem = new HashMap<>();
+
+        TestModel() {
+            childrenByItem.put( "root", new Object[] { "a", "b" } );
+            childrenByItem.put( "a", new Object[] { "a1" } );
+            childrenByItem.put( "b", new Object[] { "b1" } );
+        }
+
+        @Override
+        public Object[] children( final Object item ) throws PolyglotterException {
+            increment( childrenCountsByItem, item );
+            final Object[] children = childrenByItem.get( item );
+            return children == null ? NO_CHILDREN : children;
+        }
+
+        int childrenCount( final Object item ) {
+            return count( childrenCountsByItem, item );
+        }
+
+        private int count( final Map< Object, AtomicInteger > countsByItem,
+                           final Object item ) {
+            synchronized ( countsByItem ) {
+                final AtomicInteger count = countsByItem.get( item );
+                return count == null ? 0 : count.get();
+            }
+        }
+
+        private void increment( final Map< Object, AtomicInteger > countsByItem,
+                                final Object item ) {
+            synchronized ( countsByItem ) {
+                AtomicInteger count = countsByItem.get( item );
+                if ( count == null ) {
+                    count = new AtomicInteger();
+                    countsByItem.put( item, count );
+                }
+                count.incrementAndGet();
+            }
+        }
+
+        @Override
+        public String name( final Object item ) throws PolyglotterException {
+            increment( nameCountsByItem, item );
+            return item.toString();
+        }
+
+        int nameCount( final Object item ) {
+            return count( nameCountsByItem, item );
+        }
+
+        @Override
+        public Object parent( final Object item ) {
+            for ( final Map.Entry< Object, Object[] > entry : childrenByItem.entrySet() )
+                if ( Arrays.asList( entry.getValue() ).contains( item ) ) return entry.getKey();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.polyglotter.eclipse.focustree.FocusTreeLayout.ColumnLayout;
+
+/**
+ * A test class for {@link FocusTreeLayout}.
+ */
+@SuppressWarnings( "javadoc" )
+public final class FocusTreeLayoutTest {
+
+    private ColumnLayout addColumn( final FocusTreeLayout layout,
+                                    final int cellWidth,
+                                    final int rowCount,
+                                    final int focusRow ) {
+        final ColumnLayout column = layout.addColumn();
+        column.cellHeight = 20;
+        column.addPanelHeight = 10;
+        column.rowCount = rowCount;
+        column.focusRow = focusRow;
+        layout.setCellWidth( column, cellWidth );
+        return column;
+    }
+
+    @Test
+    public void shouldAlignFocusCellsWithFocusLine() {
+        final FocusTreeLayout layout = new FocusTreeLayout();
+        layout.viewHeight = 500;
+        final ColumnLayout first = addColumn( layout, 100, 10, 0 );
+        final ColumnLayout second = addColumn( layout, 100, 50, 30 );
+        layout.alignWithFocusLine( first );
+        layout.alignWithFocusLine( second );
+        layout.update();
+        final int focusLineMiddle = layout.focusLineY + layout.focusLineHeight / 2;
+        assertEquals( focusLineMiddle, first.y + first.cellY( 0 ) + first.cellHeight / 2 );
+        assertEquals( focusLineMiddle, second.y + second.cellY( 30 ) + second.cellHeight / 2 );
+    }
+
+    @Test
+    public void shouldFindColumnsAtHorizontalLocations() {
+        final FocusTreeLayout layout = new FocusTreeLayout();
+        for ( int ndx = 0; ndx < 15; ndx++ )
+            addColumn( layout, 100, 1, 0 );
+        layout.setColumnWidth( layout.columns.get( 7 ), 0 );
+        final int width = 100 + 2 * FocusTreeLayout.CELL_COLUMN_MARGIN;
+        assertEquals( -1, layout.columnIndex( -1 ) );
+        assertEquals( 0, layout.columnIndex( 0 ) );
+        assertEquals( 0, layout.columnIndex( width - 1 ) );
+        assertEquals( 1, layout.columnIndex( width ) );
+        // Zero-width columns are never hit
+        assertEquals( 8, layout.columnIndex( 7 * width ) );
+        assertEquals( 14, layout.columnIndex( layout.width() - 1 ) );
+        assertEquals( -1, layout.columnIndex( layout.width() ) );
+    }
+
+    @Test
+    public void shouldLeaveRoomAroundFocusLineForFocusLineOffset() {
+        final FocusTreeLayout layout = new FocusTreeLayout();
+        layout.viewHeight = 500;
+        final ColumnLayout column = addColumn( layout, 100, 1, 0 );
+        layout.alignWithFocusLine( column );
+        layout.update();
+        // Focus line can be scrolled to its offset from the top of the view...
+        assertEquals( layout.focusLineOffset, layout.focusLineY );
+        // ...with the rest of the view below it
+        assertEquals( layout.viewHeight, layout.height );
+        assertEquals( layout.focusLineY + layout.focusLineHeight / 2, column.y + column.focusY() );
+    }
+
+    @Test
+    public void shouldMoveFollowingColumnsWhenColumnWidthChanges() {
+        final FocusTreeLayout layout = new FocusTreeLayout();
+        final ColumnLayout first = addColumn( layout, 100, 1, 0 );
+        final ColumnLayout second = addColumn( layout, 50, 1, 0 );
+        final ColumnLayout third = addColumn( layout, 50, 1, 0 );
+        final int margins = 2 * FocusTreeLayout.CELL_COLUMN_MARGIN;
+        assertEquals( 0, first.x );
+        assertEquals( 100 + margins, second.x );
+        assertEquals( 150 + 2 * margins, third.x );
+        layout.setColumnWidth( first, 10 );
+        assertEquals( 10, second.x );
+        assertEquals( 60 + margins, third.x );
+        assertEquals( 110 + 2 * margins, layout.width() );
+        layout.removeColumn( second );
+        assertEquals( 10, third.x );
+        assertEquals( 60 + margins, layout.width() );
+    }
+
+    @Test
+    public void shouldOnlyDirtyColumnsThatMove() {
+        final FocusTreeLayout layout = new FocusTreeLayout();
+        layout.viewHeight = 500;
+        final ColumnLayout first = addColumn( layout, 100, 10, 5 );
+        final ColumnLayout second = addColumn( layout, 100, 10, 5 );
+        final ColumnLayout third = addColumn( layout, 100, 10, 5 );
+        for ( final ColumnLayout column : layout.columns )
+            layout.alignWithFocusLine( column );
+        layout.update();
+        layout.applied();
+        for ( final ColumnLayout column : layout.columns )
+            column.applied();
+        // Focusing on a neighboring cell only moves its column
+        second.focusRow = 4;
+        layout.alignWithFocusLine( second );
+        layout.update();
+        assertFalse( layout.dirty );
+        assertFalse( first.dirty );
+        assertTrue( second.dirty );
+        assertFalse( third.dirty );
+        second.applied();
+        // Resizing a column moves those to its right
+        layout.setColumnWidth( second, 50 );
+        assertFalse( first.dirty );
+        assertTrue( second.dirty );
+        assertTrue( third.dirty );
+        assertTrue( layout.dirty );
+    }
+
+    @Test
+    public void shouldRestoreRemovedColumnsAfterLastColumn() {
+        final FocusTreeLayout layout = new FocusTreeLayout();
+        final ColumnLayout first = addColumn( layout, 100, 10, 5 );
+        final ColumnLayout second = addColumn( layout, 100, 10, 5 );
+        layout.removeColumn( second );
+        assertEquals( first.width, layout.width() );
+        second.applied();
+        assertEquals( second, layout.addColumn( second ) );
+        layout.setCellWidth( second, 50 );
+        assertEquals( first.width, second.x );
+        assertEquals( 5, second.focusRow );
+        assertTrue( second.dirty );
+        assertEquals( first.width + 50 + 2 * FocusTreeLayout.CELL_COLUMN_MARGIN, layout.width() );
+    }
+
+    @Test
+    public void shouldResolveRowsAtVerticalLocations() {
+        final ColumnLayout column = new FocusTreeLayout().addColumn();
+        column.cellHeight = 20;
+        column.addPanelHeight = 10;
+        final int rowHeight = column.rowHeight();
+        assertEquals( 0, column.row( 0 ) );
+        assertEquals( 0, column.row( rowHeight - 1 ) );
+        assertEquals( 1, column.row( rowHeight ) );
+        assertEquals( -1, column.row( -1 ) );
+        assertEquals( -1, column.row( -rowHeight ) );
+        assertEquals( -2, column.row( -rowHeight - 1 ) );
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.polyglotter.eclipse.focustree;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * A test class for {@link RowList}.
+ */
+@SuppressWarnings( "javadoc" )
+public final class RowListTest {
+
+    @Test
+    public void shouldFindIndexesOfDuplicateItems() {
+        final RowList rows = new RowList();
+        rows.add( "a" );
+        rows.add( "b" );
+        rows.add( "a" );
+        assertEquals( 0, rows.indexOf( "a" ) );
+        rows.remove( 0 );
+        assertEquals( 1, rows.indexOf( "a" ) );
+        rows.set( 1, "c" );
+        assertEquals( -1, rows.indexOf( "a" ) );
+    }
+
+    @Test
+    public void shouldFindIndexesOfNullItems() {
+        final RowList rows = new RowList();
+        rows.addAll( Collections.nCopies( 3, null ) );
+        rows.set( 0, "a" );
+        assertEquals( 1, rows.indexOf( null ) );
+        assertEquals( 3, rows.size() );
+    }
+
+    @Test
+    public void shouldMatchListAfterRandomInsertsAndRemoves() {
+        final Random random = new Random( 0 );
+        final List< Object > expected = new ArrayList<>();
+        final RowList rows = new RowList();
+        for ( int ndx = 0; ndx < 10000; ndx++ ) {
+            final int operation = random.nextInt( 4 );
+            if ( operation < 2 || expected.isEmpty() ) {
+                final int index = random.nextInt( expected.size() + 1 );
+                final Integer item = random.nextInt( 1000 );
+                expected.add( index, item );
+                rows.add( index, item );
+            } else if ( operation == 2 ) {
+                final int index = random.nextInt( expected.size() );
+                assertEquals( expected.remove( index ), rows.remove( index ) );
+            } else {
+                final int index = random.nextInt( expected.size() );
+                final Integer item = random.nextInt( 1000 );
+                assertEquals( expected.set( index, item ), rows.set( index, item ) );
+            }
+            final Integer item = random.nextInt( 1000 );
+            assertEquals( expected.indexOf( item ), rows.indexOf( item ) );
+        }
+        assertEquals( expected, rows );
+    }
+}